@@ -1,7 +1,10 @@
 package com.dm.debtease;
 
+import com.dm.debtease.exception.CsvUploadJobRejectedException;
 import com.dm.debtease.exception.InvalidFileException;
+import com.dm.debtease.exception.InvalidDebtCaseCursorException;
 import com.dm.debtease.exception.InvalidFileFormatException;
+import com.dm.debtease.exception.InvalidPaymentStrategySweepException;
 import com.dm.debtease.exception.LoginException;
 import com.dm.debtease.exception.LogoutException;
 import com.dm.debtease.model.APIError;
@@ -11,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -52,7 +56,8 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-    @ExceptionHandler({BadRequest.class, UsernameNotFoundException.class, NoSuchElementException.class})
+    @ExceptionHandler({BadRequest.class, UsernameNotFoundException.class, NoSuchElementException.class,
+            InvalidPaymentStrategySweepException.class, InvalidDebtCaseCursorException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<APIError> handleBadRequestException(Exception ex) {
         APIError error = APIError.builder()
@@ -65,6 +70,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(AccessDeniedException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public ResponseEntity<APIError> handleAccessDeniedException(AccessDeniedException ex) {
+        APIError error = APIError.builder()
+                .statusCode(HttpStatus.FORBIDDEN.value())
+                .time(LocalDateTime.now())
+                .message("Forbidden")
+                .description(ex.getMessage())
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<APIError> handleNotFoundException(EntityNotFoundException ex) {
@@ -104,4 +122,17 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY);
     }
+
+    @ExceptionHandler(CsvUploadJobRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<APIError> handleCsvUploadJobRejectedException(CsvUploadJobRejectedException ex) {
+        APIError error = APIError.builder()
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .time(LocalDateTime.now())
+                .message("Service Unavailable")
+                .description(ex.getMessage())
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
\ No newline at end of file
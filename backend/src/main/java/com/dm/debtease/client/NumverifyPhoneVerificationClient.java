@@ -0,0 +1,119 @@
+package com.dm.debtease.client;
+
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "spring.numverify.client", havingValue = "numverify", matchIfMissing = true)
+@Log4j2
+@SuppressWarnings("unused")
+public class NumverifyPhoneVerificationClient implements PhoneVerificationClient {
+    @Value("${spring.numverify.api.access-key}")
+    private String numverifyAccessKey;
+    @Value("${spring.numverify.api.url:http://apilayer.net/api/validate}")
+    private String numverifyUrl;
+    @Value("${spring.numverify.api.connect-timeout-ms:2000}")
+    private long connectTimeoutMillis;
+    @Value("${spring.numverify.api.request-timeout-ms:5000}")
+    private long requestTimeoutMillis;
+    @Value("${spring.numverify.api.max-concurrent-requests:16}")
+    private int maxConcurrentRequests;
+    @Value("${spring.numverify.api.max-response-bytes:16384}")
+    private int maxResponseBytes;
+
+    private HttpClient httpClient;
+    private Semaphore inFlightRequests;
+
+    private static final Map<String, String> PHONE_FORMAT_MAP = Map.of(
+            "mobile", "Mobile Phone",
+            "landline", "Landline",
+            "special_services", "Special Services",
+            "toll_free", "Toll-Free Numbers",
+            "premium_rate", "Premium Rate Numbers",
+            "satellite", "Satellite",
+            "paging", "Paging"
+    );
+
+    @PostConstruct
+    public void init() {
+        // a single client keeps connections alive and reuses them across lookups
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        inFlightRequests = new Semaphore(maxConcurrentRequests);
+    }
+
+    @Override
+    public CompletableFuture<VerifiedPhoneNumberInformation> verify(String phoneNumber) {
+        try {
+            if (!inFlightRequests.tryAcquire(requestTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(new IOException(
+                        String.format("Too many Numverify requests in flight to verify %s", phoneNumber)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(buildUri(phoneNumber))
+                .timeout(Duration.ofMillis(requestTimeoutMillis))
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> toVerifiedPhoneNumberInformation(phoneNumber, response))
+                .whenComplete((information, throwable) -> inFlightRequests.release());
+    }
+
+    private URI buildUri(String phoneNumber) {
+        return URI.create(numverifyUrl
+                + "?access_key=" + URLEncoder.encode(numverifyAccessKey, StandardCharsets.UTF_8)
+                + "&number=" + URLEncoder.encode(phoneNumber, StandardCharsets.UTF_8)
+                + "&format=1");
+    }
+
+    private VerifiedPhoneNumberInformation toVerifiedPhoneNumberInformation(String phoneNumber,
+                                                                            HttpResponse<InputStream> response) {
+        JSONObject jsonObject = new JSONObject(readBody(response));
+        if (response.statusCode() != 200 || !jsonObject.has("valid")) {
+            throw new IllegalStateException(String.format("Numverify rejected %s with status %d: %s",
+                    phoneNumber, response.statusCode(), jsonObject.optJSONObject("error")));
+        }
+        VerifiedPhoneNumberInformation verifiedPhoneNumberInformation = new VerifiedPhoneNumberInformation();
+        verifiedPhoneNumberInformation.setPhoneNumber(phoneNumber);
+        verifiedPhoneNumberInformation.setValid(jsonObject.getBoolean("valid") ? "Yes" : "No");
+        verifiedPhoneNumberInformation.setLocation(jsonObject.optString("location"));
+        verifiedPhoneNumberInformation.setCarrier(jsonObject.optString("carrier"));
+        verifiedPhoneNumberInformation.setLineType(PHONE_FORMAT_MAP.get(jsonObject.optString("line_type")));
+        return verifiedPhoneNumberInformation;
+    }
+
+    private String readBody(HttpResponse<InputStream> response) {
+        try (InputStream body = response.body()) {
+            byte[] bytes = body.readNBytes(maxResponseBytes + 1);
+            if (bytes.length > maxResponseBytes) {
+                throw new IllegalStateException(String.format("Numverify response exceeds %d bytes", maxResponseBytes));
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.dm.debtease.client;
+
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PhoneVerificationClient {
+    /**
+     * Verifies a normalised phone number (country code without the leading plus sign).
+     * The returned future completes exceptionally when the provider cannot be reached or rejects the request.
+     */
+    CompletableFuture<VerifiedPhoneNumberInformation> verify(String phoneNumber);
+}
@@ -0,0 +1,26 @@
+package com.dm.debtease.client;
+
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Answers every lookup locally so that environments without a Numverify key can run the enrichment pipeline.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.numverify.client", havingValue = "stub")
+@SuppressWarnings("unused")
+public class StubPhoneVerificationClient implements PhoneVerificationClient {
+    @Override
+    public CompletableFuture<VerifiedPhoneNumberInformation> verify(String phoneNumber) {
+        VerifiedPhoneNumberInformation verifiedPhoneNumberInformation = new VerifiedPhoneNumberInformation();
+        verifiedPhoneNumberInformation.setPhoneNumber(phoneNumber);
+        verifiedPhoneNumberInformation.setValid("Yes");
+        verifiedPhoneNumberInformation.setLocation("Unknown");
+        verifiedPhoneNumberInformation.setCarrier("Unknown");
+        verifiedPhoneNumberInformation.setLineType("Mobile Phone");
+        return CompletableFuture.completedFuture(verifiedPhoneNumberInformation);
+    }
+}
@@ -0,0 +1,71 @@
+package com.dm.debtease.config.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@SuppressWarnings("unused")
+public class AsyncConfig {
+    @Value("${spring.csv.upload.workers:2}")
+    private int csvUploadWorkers;
+    @Value("${spring.csv.upload.queue-capacity:20}")
+    private int csvUploadQueueCapacity;
+    @Value("${spring.interest-accrual.parallelism:4}")
+    private int interestAccrualParallelism;
+    @Value("${spring.mail.dispatch.workers:4}")
+    private int mailDispatchWorkers;
+    @Value("${spring.mail.dispatch.queue-capacity:200}")
+    private int mailDispatchQueueCapacity;
+    @Value("${spring.payment-strategy.sweep.parallelism:0}")
+    private int paymentStrategySweepParallelism;
+
+    @Bean
+    public ThreadPoolTaskExecutor csvUploadJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(csvUploadWorkers);
+        executor.setMaxPoolSize(csvUploadWorkers);
+        executor.setQueueCapacity(csvUploadQueueCapacity);
+        executor.setThreadNamePrefix("csv-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor interestAccrualExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(interestAccrualParallelism);
+        executor.setMaxPoolSize(interestAccrualParallelism);
+        executor.setQueueCapacity(interestAccrualParallelism);
+        executor.setThreadNamePrefix("interest-accrual-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mailDispatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailDispatchWorkers);
+        executor.setMaxPoolSize(mailDispatchWorkers);
+        executor.setQueueCapacity(mailDispatchQueueCapacity);
+        executor.setThreadNamePrefix("mail-dispatch-");
+        // a full queue makes the submitting job send the email itself, which throttles paging
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool paymentStrategySweepPool() {
+        // zero uses every core, sweeps are pure CPU work
+        return new ForkJoinPool(paymentStrategySweepParallelism > 0 ?
+                paymentStrategySweepParallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
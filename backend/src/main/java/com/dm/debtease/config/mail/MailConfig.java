@@ -19,6 +19,8 @@ public class MailConfig {
     private String mailUsername;
     @Value("${spring.mail.password}")
     private String mailPassword;
+    @Value("${spring.mail.timeout-ms:10000}")
+    private int mailTimeoutMs;
 
     @Bean
     public JavaMailSender getJavaMailSender() {
@@ -31,6 +33,10 @@ public class MailConfig {
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
         props.put("mail.smtp.starttls.enable", "true");
+        // a stalled server must not hold a mail dispatch worker and its whole batch forever
+        props.put("mail.smtp.connectiontimeout", String.valueOf(mailTimeoutMs));
+        props.put("mail.smtp.timeout", String.valueOf(mailTimeoutMs));
+        props.put("mail.smtp.writetimeout", String.valueOf(mailTimeoutMs));
         return mailSender;
     }
 }
@@ -0,0 +1,71 @@
+package com.dm.debtease.config.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Migrates databases created while debtors referenced verification rows one-to-one. Hibernate's schema update keeps
+ * the unique constraint it created for the old join column and leaves {@code phone_number} empty on old rows, so
+ * debtors sharing a verification would fail to save and old verifications would never be found by number.
+ * <p>
+ * Runs after the schema update and before the Kafka listeners start. Every step is a no-op once applied.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class VerifiedPhoneNumberInformationMigration implements SmartInitializingSingleton {
+    private static final String SELECT_DEBTOR_VERIFICATION_UNIQUE_CONSTRAINTS =
+            "SELECT con.conname FROM pg_constraint con JOIN pg_class t ON t.oid = con.conrelid " +
+                    "JOIN pg_namespace n ON n.oid = t.relnamespace " +
+                    "JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = ANY(con.conkey) " +
+                    "WHERE n.nspname = 'public' AND t.relname = 'debtor' AND con.contype = 'u' " +
+                    "AND a.attname = 'verified_phone_number_information_id' AND array_length(con.conkey, 1) = 1";
+    private static final String DROP_DEBTOR_CONSTRAINT = "ALTER TABLE public.debtor DROP CONSTRAINT \"%s\"";
+    // one row per normalised number: an already backfilled row if there is one, else the oldest legacy row
+    private static final String BACKFILL_PHONE_NUMBERS =
+            "WITH legacy AS (SELECT v.id, REGEXP_REPLACE(TRIM(d.phone_number), '^\\+', '') AS phone_number " +
+                    "FROM verified_phone_number_information v " +
+                    "JOIN debtor d ON d.verified_phone_number_information_id = v.id " +
+                    "WHERE v.phone_number IS NULL AND TRIM(d.phone_number) <> ''), " +
+                    "canonical AS (SELECT l.phone_number, COALESCE(MIN(e.id), MIN(l.id)) AS id FROM legacy l " +
+                    "LEFT JOIN verified_phone_number_information e ON e.phone_number = l.phone_number " +
+                    "GROUP BY l.phone_number), " +
+                    "repointed AS (UPDATE debtor d SET verified_phone_number_information_id = c.id " +
+                    "FROM legacy l JOIN canonical c ON c.phone_number = l.phone_number " +
+                    "WHERE d.verified_phone_number_information_id = l.id AND l.id <> c.id RETURNING d.id) " +
+                    "UPDATE verified_phone_number_information v SET phone_number = c.phone_number " +
+                    "FROM canonical c WHERE v.id = c.id AND v.phone_number IS NULL";
+    private static final String DELETE_UNREFERENCED_LEGACY_ROWS =
+            "DELETE FROM verified_phone_number_information v WHERE v.phone_number IS NULL " +
+                    "AND NOT EXISTS (SELECT 1 FROM debtor d WHERE d.verified_phone_number_information_id = v.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> migrate());
+    }
+
+    private void migrate() {
+        List<String> constraints = jdbcTemplate.queryForList(SELECT_DEBTOR_VERIFICATION_UNIQUE_CONSTRAINTS,
+                String.class);
+        for (String constraint : constraints) {
+            jdbcTemplate.execute(String.format(DROP_DEBTOR_CONSTRAINT, constraint.replace("\"", "\"\"")));
+            log.info(String.format("Dropped unique constraint %s on debtor.verified_phone_number_information_id",
+                    constraint));
+        }
+        int backfilled = jdbcTemplate.update(BACKFILL_PHONE_NUMBERS);
+        int deleted = jdbcTemplate.update(DELETE_UNREFERENCED_LEGACY_ROWS);
+        if (backfilled > 0 || deleted > 0) {
+            log.info(String.format("Backfilled phone numbers of %d verified phone number rows, deleted %d duplicates",
+                    backfilled, deleted));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.dm.debtease.config.resilience;
+
+import com.dm.debtease.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@SuppressWarnings("unused")
+public class CircuitBreakerConfig {
+    @Value("${spring.numverify.circuit-breaker.failure-threshold:5}")
+    private int numverifyFailureThreshold;
+    @Value("${spring.numverify.circuit-breaker.open-duration-seconds:30}")
+    private long numverifyOpenDurationSeconds;
+
+    @Bean
+    public CircuitBreaker numverifyCircuitBreaker(MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker =
+                new CircuitBreaker(numverifyFailureThreshold, Duration.ofSeconds(numverifyOpenDurationSeconds));
+        Gauge.builder("numverify.circuit-breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Numverify circuit breaker state: 0 closed, 1 open, 2 half open")
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+}
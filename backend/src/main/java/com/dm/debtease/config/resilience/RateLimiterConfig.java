@@ -0,0 +1,31 @@
+package com.dm.debtease.config.resilience;
+
+import com.dm.debtease.resilience.RateLimiter;
+import com.dm.debtease.resilience.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@SuppressWarnings("unused")
+public class RateLimiterConfig {
+    @Value("${spring.numverify.rate-limit.permits-per-second:1}")
+    private double numverifyPermitsPerSecond;
+    @Value("${spring.numverify.rate-limit.burst:1}")
+    private int numverifyBurst;
+    @Value("${spring.numverify.rate-limit.cluster-size:1}")
+    private int clusterSize;
+
+    @Bean
+    public RateLimiter numverifyRateLimiter(MeterRegistry meterRegistry) {
+        // the provider quota is per account, so every instance takes an equal share of it
+        int instances = Math.max(1, clusterSize);
+        Timer waitTimer = Timer.builder("numverify.rate-limiter.wait")
+                .description("Time enrichment threads spend waiting for a Numverify request permit")
+                .register(meterRegistry);
+        return new TokenBucketRateLimiter(numverifyPermitsPerSecond / instances,
+                Math.max(1, numverifyBurst / instances), waitTimer);
+    }
+}
@@ -1,6 +1,7 @@
 package com.dm.debtease.config.security;
 
 import com.dm.debtease.model.Role;
+import com.dm.debtease.utils.Constants;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -61,7 +62,8 @@ public class SecurityConfig implements WebMvcConfigurer {
 
     @Override
     public void addCorsMappings(CorsRegistry corsRegistry) {
-        corsRegistry.addMapping("/**").allowedOrigins("http://localhost:3000").allowedMethods("*");
+        corsRegistry.addMapping("/**").allowedOrigins("http://localhost:3000").allowedMethods("*")
+                .exposedHeaders(Constants.NEXT_CURSOR_HEADER);
     }
 
     @Bean
@@ -76,11 +78,16 @@ public class SecurityConfig implements WebMvcConfigurer {
                                 Role.ADMIN.name())
                         .requestMatchers(HttpMethod.GET, "/api/debt/cases/*")
                         .hasAnyAuthority(Role.CREDITOR.name(), Role.ADMIN.name())
+                        .requestMatchers(HttpMethod.GET, "/api/debt/cases/creditors/*/file/jobs/*")
+                        .hasAnyAuthority(Role.CREDITOR.name(), Role.ADMIN.name())
+                        .requestMatchers(HttpMethod.GET, "/api/debt/cases/creditor/*/export")
+                        .hasAnyAuthority(Role.CREDITOR.name(), Role.ADMIN.name())
                         .requestMatchers(HttpMethod.GET, "/api/debt/case/types")
                         .hasAnyAuthority(Role.CREDITOR.name(), Role.ADMIN.name())
                         .requestMatchers(HttpMethod.GET, "/api/debt/cases").hasAuthority(Role.ADMIN.name())
                         .requestMatchers(HttpMethod.GET, "/api/creditors").hasAuthority(Role.ADMIN.name())
                         .requestMatchers(HttpMethod.GET, "/api/debtors").hasAuthority(Role.ADMIN.name())
+                        .requestMatchers(HttpMethod.GET, "/api/scheduled/jobs/runs").hasAuthority(Role.ADMIN.name())
                         .requestMatchers(HttpMethod.GET, "/api/creditor/* /debt/cases")
                         .hasAnyAuthority(Role.CREDITOR.name(),
                                 Role.ADMIN.name())
@@ -105,6 +112,10 @@ public class SecurityConfig implements WebMvcConfigurer {
                                 (Role.CREDITOR.name(), Role.ADMIN.name())
                         .requestMatchers(HttpMethod.POST, "/api/debt/cases/debtor/* /payment/strategy").hasAuthority
                                 (Role.DEBTOR.name())
+                        .requestMatchers(HttpMethod.POST, "/api/debt/cases/debtor/*/payment/projection")
+                        .hasAuthority(Role.DEBTOR.name())
+                        .requestMatchers(HttpMethod.POST, "/api/debt/cases/debtor/*/payment/strategy/sweep")
+                        .hasAnyAuthority(Role.DEBTOR.name(), Role.ADMIN.name())
                         .requestMatchers(HttpMethod.POST, "/api/payments/* /pay").hasAuthority(Role.DEBTOR.name())
                         .requestMatchers(HttpMethod.POST, "/api/creditors/").hasAuthority(Role.ADMIN.name())
                         .requestMatchers(HttpMethod.POST, "/api/logout")
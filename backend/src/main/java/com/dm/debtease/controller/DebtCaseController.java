@@ -1,16 +1,26 @@
 package com.dm.debtease.controller;
 
 import com.dm.debtease.exception.InvalidFileFormatException;
+import com.dm.debtease.model.CsvUploadJob;
 import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseExportFormat;
+import com.dm.debtease.model.DebtPaymentProjection;
 import com.dm.debtease.model.DebtPaymentStrategy;
+import com.dm.debtease.model.DebtPaymentStrategySweep;
+import com.dm.debtease.model.Role;
 import com.dm.debtease.model.dto.DebtCaseDTO;
+import com.dm.debtease.model.dto.DebtCasePageRequestDTO;
 import com.dm.debtease.model.dto.DebtPaymentStrategyDTO;
-import com.dm.debtease.service.CSVService;
+import com.dm.debtease.model.dto.DebtPaymentStrategySweepDTO;
+import com.dm.debtease.model.view.DebtCaseView;
+import com.dm.debtease.model.view.DebtCaseViewPage;
+import com.dm.debtease.service.CsvUploadJobService;
+import com.dm.debtease.service.DebtCaseExportService;
 import com.dm.debtease.service.DebtCaseService;
 import com.dm.debtease.service.PDFService;
+import com.dm.debtease.service.PaymentStrategySweepService;
 import com.dm.debtease.utils.Constants;
 import com.itextpdf.text.DocumentException;
-import com.opencsv.exceptions.CsvValidationException;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
@@ -21,10 +31,14 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -40,13 +54,15 @@ import java.util.List;
 @SuppressWarnings("unused")
 public class DebtCaseController {
     private final DebtCaseService debtCaseService;
-    private final CSVService csvService;
+    private final CsvUploadJobService csvUploadJobService;
     private final PDFService pdfService;
+    private final PaymentStrategySweepService paymentStrategySweepService;
+    private final DebtCaseExportService debtCaseExportService;
 
     @GetMapping()
-    public ResponseEntity<List<DebtCase>> getAllDebtCases() {
-        List<DebtCase> debtCases = debtCaseService.getAllDebtCases();
-        return ResponseEntity.ok(debtCases);
+    public ResponseEntity<List<DebtCaseView>> getAllDebtCases(DebtCasePageRequestDTO debtCasePageRequestDTO) {
+        DebtCaseViewPage debtCaseViewPage = debtCaseService.getDebtCaseViews(debtCasePageRequestDTO);
+        return toPageResponse(debtCaseViewPage);
     }
 
     @GetMapping("/{id}")
@@ -58,18 +74,39 @@ public class DebtCaseController {
     }
 
     @GetMapping("/creditor/{username}")
-    public ResponseEntity<List<DebtCase>> getDebtCasesByCreditorUsername(@Valid
-                                                                         @NotBlank
-                                                                         @PathVariable(name = "username") String username) {
-        List<DebtCase> debtCases = debtCaseService.getDebtCasesByCreditorUsername(username);
-        return ResponseEntity.ok(debtCases);
+    public ResponseEntity<List<DebtCaseView>> getDebtCasesByCreditorUsername(@Valid
+                                                                             @NotBlank
+                                                                             @PathVariable(name = "username") String username,
+                                                                             DebtCasePageRequestDTO debtCasePageRequestDTO) {
+        DebtCaseViewPage debtCaseViewPage =
+                debtCaseService.getDebtCaseViewsByCreditorUsername(username, debtCasePageRequestDTO);
+        return toPageResponse(debtCaseViewPage);
+    }
+
+    @GetMapping("/creditor/{username}/export")
+    public ResponseEntity<StreamingResponseBody> exportDebtCasesByCreditorUsername(@Valid
+                                                                                   @NotBlank
+                                                                                   @PathVariable(name = "username") String username,
+                                                                                   @RequestParam(name = "format", defaultValue = "CSV") DebtCaseExportFormat format,
+                                                                                   Authentication authentication) {
+        if (!isOwnerOrAdmin(authentication, username)) {
+            throw new AccessDeniedException(String.format(Constants.DEBT_CASE_EXPORT_FORBIDDEN, username));
+        }
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.add("Content-Disposition", "attachment; filename=" + "debt_cases_" + LocalDateTime.now().format(Constants.DATE_TIME_FORMATTER_FOR_FILE) + "." + format.getFileExtension());
+        httpHeaders.setContentType(MediaType.parseMediaType(format.getContentType()));
+        StreamingResponseBody body =
+                outputStream -> debtCaseExportService.exportDebtCasesByCreditorUsername(username, format, outputStream);
+        return ResponseEntity.ok().headers(httpHeaders).body(body);
     }
 
     @GetMapping("/debtor/{username}")
-    public ResponseEntity<List<DebtCase>> getDebtCasesByDebtorUsername(@Valid
-                                                                       @PathVariable(name = "username") String username) {
-        List<DebtCase> debtCases = debtCaseService.getDebtCasesByDebtorUsername(username);
-        return ResponseEntity.ok(debtCases);
+    public ResponseEntity<List<DebtCaseView>> getDebtCasesByDebtorUsername(@Valid
+                                                                           @PathVariable(name = "username") String username,
+                                                                           DebtCasePageRequestDTO debtCasePageRequestDTO) {
+        DebtCaseViewPage debtCaseViewPage =
+                debtCaseService.getDebtCaseViewsByDebtorUsername(username, debtCasePageRequestDTO);
+        return toPageResponse(debtCaseViewPage);
     }
 
     @PostMapping("/debtor/{username}/payment/strategy")
@@ -79,6 +116,21 @@ public class DebtCaseController {
         return ResponseEntity.ok(debtPaymentStrategy);
     }
 
+    @PostMapping("/debtor/{username}/payment/projection")
+    public ResponseEntity<DebtPaymentProjection> calculateDebtCasesPaymentProjectionsByDebtorUsername(@Valid @RequestBody DebtPaymentStrategyDTO debtPaymentStrategyDTO, BindingResult result,
+                                                                                                 @Valid @PathVariable(name = "username") String username) {
+        DebtPaymentProjection debtPaymentProjection = debtCaseService.calculateDebtPaymentProjections(debtPaymentStrategyDTO, username);
+        return ResponseEntity.ok(debtPaymentProjection);
+    }
+
+    @PostMapping("/debtor/{username}/payment/strategy/sweep")
+    public ResponseEntity<DebtPaymentStrategySweep> calculateDebtCasesPaymentStrategySweepByDebtorUsername(@Valid @RequestBody DebtPaymentStrategySweepDTO debtPaymentStrategySweepDTO, BindingResult result,
+                                                                                                      @Valid @PathVariable(name = "username") String username) {
+        DebtPaymentStrategySweep debtPaymentStrategySweep =
+                paymentStrategySweepService.calculateDebtPaymentStrategySweep(debtPaymentStrategySweepDTO, username);
+        return ResponseEntity.ok(debtPaymentStrategySweep);
+    }
+
     @GetMapping("/generate/report/debtor/{username}")
     public ResponseEntity<InputStreamResource> getDebtCasesReportByDebtorUsername(@Valid
                                                                            @PathVariable(name = "username") String username) throws IOException, DocumentException {
@@ -102,12 +154,23 @@ public class DebtCaseController {
     }
 
     @PostMapping(value = "/creditors/{username}/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<String> createDebtCaseByCreditorUsername(@Valid
-                                                 @NotBlank
-                                                 @PathVariable(name = "username") String username,
-                                                 @RequestParam(name = "file") MultipartFile file) throws CsvValidationException, IOException, InvalidFileFormatException {
-        csvService.readCsvDataAndSendToKafka(file, username);
-        return ResponseEntity.status(HttpStatus.CREATED).body("CSV uploaded successfully and debt cases are being enriched");
+    public ResponseEntity<CsvUploadJob> createDebtCaseByCreditorUsername(@Valid
+                                                                         @NotBlank
+                                                                         @PathVariable(name = "username") String username,
+                                                                         @RequestParam(name = "file") MultipartFile file) throws IOException, InvalidFileFormatException {
+        CsvUploadJob csvUploadJob = csvUploadJobService.submitCsvUploadJob(file, username);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(csvUploadJob);
+    }
+
+    @GetMapping("/creditors/{username}/file/jobs/{id}")
+    public ResponseEntity<CsvUploadJob> getCsvUploadJobById(@Valid
+                                                            @NotBlank
+                                                            @PathVariable(name = "username") String username,
+                                                            @Valid
+                                                            @Min(value = 1, message = "ID must be a non-negative integer and greater than 0")
+                                                            @PathVariable(name = "id") int id) {
+        CsvUploadJob csvUploadJob = csvUploadJobService.getCsvUploadJobByIdAndUsername(id, username);
+        return ResponseEntity.ok(csvUploadJob);
     }
 
     @DeleteMapping("/{id}/creditors/{creditorId}")
@@ -122,4 +185,21 @@ public class DebtCaseController {
         }
         return ResponseEntity.badRequest().build();
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<List<DebtCaseView>> toPageResponse(DebtCaseViewPage debtCaseViewPage) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (debtCaseViewPage.getNextCursor() != null) {
+            response.header(Constants.NEXT_CURSOR_HEADER, debtCaseViewPage.getNextCursor());
+        }
+        return response.body(debtCaseViewPage.getDebtCases());
+    }
+
+    private static boolean isOwnerOrAdmin(Authentication authentication, String username) {
+        if (authentication == null) {
+            return false;
+        }
+        return authentication.getName().equals(username) || authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(Role.ADMIN.name()::equals);
+    }
+}
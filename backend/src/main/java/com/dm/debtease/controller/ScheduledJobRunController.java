@@ -0,0 +1,30 @@
+package com.dm.debtease.controller;
+
+import com.dm.debtease.model.ScheduledJobRun;
+import com.dm.debtease.service.ScheduledJobRunService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@Validated
+@CrossOrigin
+@RequiredArgsConstructor
+@SecurityRequirement(name = "dmapi")
+@RequestMapping(value = "/api/scheduled/jobs")
+@SuppressWarnings("unused")
+public class ScheduledJobRunController {
+    private final ScheduledJobRunService scheduledJobRunService;
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<ScheduledJobRun>> getRecentScheduledJobRuns(
+            @RequestParam(name = "jobName", required = false) String jobName,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        List<ScheduledJobRun> scheduledJobRuns = scheduledJobRunService.getRecentRuns(jobName, limit);
+        return ResponseEntity.ok(scheduledJobRuns);
+    }
+}
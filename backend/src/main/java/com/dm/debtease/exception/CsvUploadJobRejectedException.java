@@ -0,0 +1,7 @@
+package com.dm.debtease.exception;
+
+public class CsvUploadJobRejectedException extends RuntimeException {
+    public CsvUploadJobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.dm.debtease.exception;
+
+public class InvalidDebtCaseCursorException extends RuntimeException {
+    public InvalidDebtCaseCursorException(String message) {
+        super(message);
+    }
+}
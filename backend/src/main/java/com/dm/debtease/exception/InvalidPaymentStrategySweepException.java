@@ -0,0 +1,7 @@
+package com.dm.debtease.exception;
+
+public class InvalidPaymentStrategySweepException extends RuntimeException {
+    public InvalidPaymentStrategySweepException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.dm.debtease.model;
+
+/**
+ * Summary of the company table used to decide whether the in-memory company name index is stale. The checksum
+ * covers every id and name, so renames and delete+insert pairs change it even when the row count and the highest id
+ * stay the same.
+ */
+public interface CompanyIndexSignature {
+    long getCompanyCount();
+
+    int getMaxCompanyId();
+
+    long getNameChecksum();
+}
@@ -0,0 +1,51 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CsvIngestionSummary {
+    @JsonProperty("rowsRead")
+    long rowsRead;
+
+    @JsonProperty("rowsPublished")
+    long rowsPublished;
+
+    @JsonProperty("rowsFailed")
+    long rowsFailed;
+
+    @JsonProperty("chunks")
+    int chunks;
+
+    @JsonProperty("elapsedMillis")
+    long elapsedMillis;
+
+    @JsonProperty("maxChunkLatencyMillis")
+    long maxChunkLatencyMillis;
+
+    @JsonProperty("totalChunkLatencyMillis")
+    long totalChunkLatencyMillis;
+
+    public void addChunk(int rows, int rowsFailed, long latencyMillis) {
+        this.chunks++;
+        this.rowsRead += rows;
+        this.rowsPublished += rows - rowsFailed;
+        this.rowsFailed += rowsFailed;
+        this.totalChunkLatencyMillis += latencyMillis;
+        this.maxChunkLatencyMillis = Math.max(this.maxChunkLatencyMillis, latencyMillis);
+    }
+
+    @JsonProperty("rowsPerSecond")
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? rowsPublished * 1000.0 / elapsedMillis : 0;
+    }
+
+    @JsonProperty("averageChunkLatencyMillis")
+    public double getAverageChunkLatencyMillis() {
+        return chunks > 0 ? (double) totalChunkLatencyMillis / chunks : 0;
+    }
+}
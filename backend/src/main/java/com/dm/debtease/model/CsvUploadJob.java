@@ -0,0 +1,80 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.dialect.PostgreSQLEnumJdbcType;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity(name = "csv_upload_job")
+@Table(name = "csv_upload_job", schema = "public")
+public class CsvUploadJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    int id;
+
+    @Column(name = "creditor_username", nullable = false)
+    String creditorUsername;
+
+    @Column(name = "file_name", nullable = false)
+    String fileName;
+
+    @Column(name = "spool_path", nullable = false)
+    @JsonIgnore
+    String spoolPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    @JdbcType(PostgreSQLEnumJdbcType.class)
+    CsvUploadJobStatus status;
+
+    @Column(name = "rows_parsed", nullable = false)
+    long rowsParsed;
+
+    @Column(name = "rows_published", nullable = false)
+    long rowsPublished;
+
+    @Column(name = "rows_failed", nullable = false)
+    long rowsFailed;
+
+    @Column(name = "committed_row_offset", nullable = false)
+    long committedRowOffset;
+
+    @Column(name = "rows_per_second", nullable = false)
+    double rowsPerSecond;
+
+    @Column(name = "error_message")
+    String errorMessage;
+
+    @Column(name = "created_date", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime createdDate;
+
+    @Column(name = "modified_date")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime modifiedDate;
+
+    public CsvUploadJob(CsvUploadJob original) {
+        this.id = original.getId();
+        this.creditorUsername = original.getCreditorUsername();
+        this.fileName = original.getFileName();
+        this.spoolPath = original.getSpoolPath();
+        this.status = original.getStatus();
+        this.rowsParsed = original.getRowsParsed();
+        this.rowsPublished = original.getRowsPublished();
+        this.rowsFailed = original.getRowsFailed();
+        this.committedRowOffset = original.getCommittedRowOffset();
+        this.rowsPerSecond = original.getRowsPerSecond();
+        this.errorMessage = original.getErrorMessage();
+        this.createdDate = original.getCreatedDate();
+        this.modifiedDate = original.getModifiedDate();
+    }
+}
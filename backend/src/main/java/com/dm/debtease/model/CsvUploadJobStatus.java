@@ -0,0 +1,11 @@
+package com.dm.debtease.model;
+
+import lombok.Getter;
+
+@Getter
+public enum CsvUploadJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -1,6 +1,7 @@
 package com.dm.debtease.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,13 +10,24 @@ import org.hibernate.annotations.JdbcType;
 import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity(name = "debt_case")
-@Table(name = "debt_case", schema = "public")
+@Table(name = "debt_case", schema = "public",
+        indexes = {
+                @Index(name = "idx_debt_case_enrichment_status", columnList = "enrichment_status"),
+                @Index(name = "idx_debt_case_due_date", columnList = "due_date"),
+                @Index(name = "idx_debt_case_debtor_id", columnList = "debtor_id"),
+                @Index(name = "idx_debt_case_amount_owed_id", columnList = "amount_owed, id"),
+                @Index(name = "idx_debt_case_creditor_id_id", columnList = "creditor_id, id"),
+                @Index(name = "idx_debt_case_creditor_id_case_status_id", columnList = "creditor_id, case_status, id"),
+                @Index(name = "idx_debt_case_creditor_id_due_date_id", columnList = "creditor_id, due_date, id"),
+                @Index(name = "idx_debt_case_creditor_id_amount_owed_id", columnList = "creditor_id, amount_owed, id")
+        })
 public class DebtCase {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -43,6 +55,10 @@ public class DebtCase {
     @JdbcType(PostgreSQLEnumJdbcType.class)
     DebtCaseStatus debtCaseStatus;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "enrichment_status")
+    EnrichmentStatus enrichmentStatus;
+
     @ManyToOne()
     @JoinColumn(name = "creditor_id", nullable = false)
     Creditor creditor;
@@ -59,6 +75,14 @@ public class DebtCase {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     LocalDateTime modifiedDate;
 
+    @Column(name = "last_interest_accrual_date")
+    @JsonIgnore
+    LocalDate lastInterestAccrualDate;
+
+    @Column(name = "last_late_interest_date")
+    @JsonIgnore
+    LocalDate lastLateInterestDate;
+
     public DebtCase(DebtCase original) {
         this.id = original.getId();
         this.amountOwed = original.getAmountOwed();
@@ -67,9 +91,12 @@ public class DebtCase {
         this.dueDate = original.getDueDate();
         this.debtCaseType = original.getDebtCaseType();
         this.debtCaseStatus = original.getDebtCaseStatus();
+        this.enrichmentStatus = original.getEnrichmentStatus();
         this.creditor = original.getCreditor();
         this.debtor = original.getDebtor();
         this.createdDate = original.getCreatedDate();
         this.modifiedDate = original.getModifiedDate();
+        this.lastInterestAccrualDate = original.getLastInterestAccrualDate();
+        this.lastLateInterestDate = original.getLastLateInterestDate();
     }
 }
@@ -0,0 +1,51 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class DebtCaseExportRow {
+    @JsonProperty("id")
+    int id;
+
+    @JsonProperty("debtCaseStatus")
+    String debtCaseStatus;
+
+    @JsonProperty("name")
+    String name;
+
+    @JsonProperty("surname")
+    String surname;
+
+    @JsonProperty("email")
+    String email;
+
+    @JsonProperty("phoneNumber")
+    String phoneNumber;
+
+    @JsonProperty("debtType")
+    String debtType;
+
+    @JsonProperty("amountOwed")
+    BigDecimal amountOwed;
+
+    @JsonProperty("lateInterestRate")
+    double lateInterestRate;
+
+    @JsonProperty("debtInterestRate")
+    double debtInterestRate;
+
+    @JsonProperty("dueDate")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime dueDate;
+}
@@ -0,0 +1,7 @@
+package com.dm.debtease.model;
+
+public enum DebtCaseSortField {
+    ID,
+    DUE_DATE,
+    AMOUNT_OWED
+}
@@ -0,0 +1,19 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class DebtPaymentProjection {
+    @JsonProperty("snowball")
+    PayoffProjection snowball;
+
+    @JsonProperty("avalanche")
+    PayoffProjection avalanche;
+}
@@ -0,0 +1,39 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Payoff of every (minimal, extra) monthly payment pair of a sweep. Matrices are indexed
+ * {@code [minimalIndex][extraIndex]}; months to payoff are null when the debts are not paid off within the
+ * simulated horizon.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class DebtPaymentStrategySweep {
+    @JsonProperty("minimalMonthlyPayments")
+    List<BigDecimal> minimalMonthlyPayments;
+
+    @JsonProperty("extraMonthlyPayments")
+    List<BigDecimal> extraMonthlyPayments;
+
+    @JsonProperty("snowballMonthsToPayoff")
+    Integer[][] snowballMonthsToPayoff;
+
+    @JsonProperty("snowballTotalInterest")
+    BigDecimal[][] snowballTotalInterest;
+
+    @JsonProperty("avalancheMonthsToPayoff")
+    Integer[][] avalancheMonthsToPayoff;
+
+    @JsonProperty("avalancheTotalInterest")
+    BigDecimal[][] avalancheTotalInterest;
+}
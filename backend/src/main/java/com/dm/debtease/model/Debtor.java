@@ -1,5 +1,6 @@
 package com.dm.debtease.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -27,10 +28,16 @@ public class Debtor {
     @Column(name = "phone_number")
     String phoneNumber;
 
-    @OneToOne(cascade = CascadeType.REMOVE)
+    @ManyToOne
     @JoinColumn(name = "verified_phone_number_information_id")
     VerifiedPhoneNumberInformation verifiedPhoneNumberInformation;
 
+    // bumped by SQL whenever the debtor's debt cases change, never written through the entity
+    @JsonIgnore
+    @Column(name = "debt_version", insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    long debtVersion;
+
     @OneToOne(cascade = CascadeType.REMOVE)
     @JoinColumn(name = "user_id", unique = true)
     CustomUser user;
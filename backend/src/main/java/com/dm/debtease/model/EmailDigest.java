@@ -0,0 +1,14 @@
+package com.dm.debtease.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class EmailDigest {
+    Debtor debtor;
+
+    List<DebtCase> debtCases;
+}
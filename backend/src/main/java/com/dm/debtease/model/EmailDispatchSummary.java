@@ -0,0 +1,39 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmailDispatchSummary {
+    @JsonProperty("sent")
+    long sent;
+
+    @JsonProperty("failed")
+    long failed;
+
+    @JsonProperty("elapsedMillis")
+    long elapsedMillis;
+
+    public void addResult(boolean sent) {
+        if (sent) {
+            this.sent++;
+        } else {
+            this.failed++;
+        }
+    }
+
+    @JsonProperty("emailsPerSecond")
+    public double getEmailsPerSecond() {
+        return elapsedMillis > 0 ? sent * 1000.0 / elapsedMillis : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d sent, %d failed in %d ms (%.1f emails/s)", sent, failed, elapsedMillis,
+                getEmailsPerSecond());
+    }
+}
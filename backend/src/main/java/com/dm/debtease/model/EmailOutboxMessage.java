@@ -0,0 +1,64 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity(name = "email_outbox")
+@Table(name = "email_outbox", schema = "public",
+        indexes = {
+                @Index(name = "idx_email_outbox_status_next_attempt_at", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_email_outbox_debtor_id", columnList = "debtor_id")
+        })
+public class EmailOutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    int id;
+
+    // null for a debtor digest, which covers every open case of the debtor at sending time
+    @Column(name = "debt_case_id")
+    Integer debtCaseId;
+
+    @Column(name = "debtor_id", nullable = false)
+    int debtorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", nullable = false)
+    NotificationType notificationType;
+
+    @Column(name = "dedup_key", nullable = false, unique = true)
+    String dedupKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    EmailOutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_at")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime claimedAt;
+
+    @Column(name = "last_error")
+    String lastError;
+
+    @Column(name = "created_date", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime createdDate;
+
+    @Column(name = "sent_date")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime sentDate;
+}
@@ -0,0 +1,11 @@
+package com.dm.debtease.model;
+
+import lombok.Getter;
+
+@Getter
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
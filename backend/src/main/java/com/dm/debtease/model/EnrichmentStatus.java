@@ -0,0 +1,9 @@
+package com.dm.debtease.model;
+
+import lombok.Getter;
+
+@Getter
+public enum EnrichmentStatus {
+    PENDING,
+    ENRICHED
+}
@@ -0,0 +1,54 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class InterestAccrualSummary {
+    @JsonProperty("accrualDate")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    LocalDate accrualDate;
+
+    @JsonProperty("idsScanned")
+    long idsScanned;
+
+    @JsonProperty("rowsUpdated")
+    long rowsUpdated;
+
+    @JsonProperty("chunks")
+    int chunks;
+
+    @JsonProperty("elapsedMillis")
+    long elapsedMillis;
+
+    @JsonProperty("slices")
+    List<InterestAccrualSummary> slices = new ArrayList<>();
+
+    public void addChunk(int rowsUpdated, int idsScanned) {
+        this.chunks++;
+        this.rowsUpdated += rowsUpdated;
+        this.idsScanned += idsScanned;
+    }
+
+    public void addSlice(InterestAccrualSummary slice) {
+        this.slices.add(slice);
+        this.chunks += slice.getChunks();
+        this.rowsUpdated += slice.getRowsUpdated();
+        this.idsScanned += slice.getIdsScanned();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows updated for %s in %d chunks covering %d ids, %d ms", rowsUpdated, accrualDate,
+                chunks, idsScanned, elapsedMillis);
+    }
+}
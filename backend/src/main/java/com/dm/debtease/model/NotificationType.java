@@ -0,0 +1,10 @@
+package com.dm.debtease.model;
+
+import lombok.Getter;
+
+@Getter
+public enum NotificationType {
+    NEW_DEBT_CASE,
+    UPCOMING_DUE_DATE,
+    MONTHLY_REMINDER
+}
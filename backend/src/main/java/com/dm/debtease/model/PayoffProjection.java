@@ -0,0 +1,29 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Payoff projection of one strategy. The balance series holds the start, every month a debt is paid off and the
+ * end of the projection; months to payoff is null when the debts are not paid off within the horizon.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PayoffProjection {
+    @JsonProperty("monthsToPayoff")
+    Integer monthsToPayoff;
+
+    @JsonProperty("totalInterest")
+    BigDecimal totalInterest;
+
+    @JsonProperty("balanceSeries")
+    List<PayoffProjectionPoint> balanceSeries;
+}
@@ -0,0 +1,21 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PayoffProjectionPoint {
+    @JsonProperty("month")
+    int month;
+
+    @JsonProperty("totalBalance")
+    BigDecimal totalBalance;
+}
@@ -0,0 +1,31 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity(name = "scheduled_job_lock")
+@Table(name = "scheduled_job_lock", schema = "public")
+public class ScheduledJobLock {
+    @Id
+    @Column(name = "job_name", nullable = false)
+    String jobName;
+
+    @Column(name = "locked_until", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    String lockedBy;
+}
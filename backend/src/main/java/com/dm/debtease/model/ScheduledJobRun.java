@@ -0,0 +1,64 @@
+package com.dm.debtease.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity(name = "scheduled_job_run")
+@Table(name = "scheduled_job_run", schema = "public",
+        indexes = {
+                @Index(name = "idx_scheduled_job_run_job_name_started_at", columnList = "job_name, started_at"),
+                @Index(name = "idx_scheduled_job_run_started_at", columnList = "started_at")
+        })
+public class ScheduledJobRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    int id;
+
+    @Column(name = "job_name", nullable = false)
+    String jobName;
+
+    @Column(name = "node_id", nullable = false)
+    String nodeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    ScheduledJobRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime finishedAt;
+
+    @Column(name = "duration_millis", nullable = false)
+    long durationMillis;
+
+    @Column(name = "rows_scanned", nullable = false)
+    long rowsScanned;
+
+    @Column(name = "rows_updated", nullable = false)
+    long rowsUpdated;
+
+    @Column(name = "emails_sent", nullable = false)
+    long emailsSent;
+
+    @Column(name = "failures", nullable = false)
+    long failures;
+
+    @Column(name = "error_message", length = 1000)
+    String errorMessage;
+
+    public boolean isIdle() {
+        return rowsScanned == 0 && rowsUpdated == 0 && emailsSent == 0 && failures == 0;
+    }
+}
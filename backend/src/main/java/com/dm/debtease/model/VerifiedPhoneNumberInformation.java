@@ -9,12 +9,17 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity(name = "verified_phone_number_information")
-@Table(name = "verified_phone_number_information", schema = "public")
+@Table(name = "verified_phone_number_information", schema = "public",
+        indexes = @Index(name = "idx_verified_phone_number_information_phone_number", columnList = "phone_number",
+                unique = true))
 public class VerifiedPhoneNumberInformation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     int id;
 
+    @Column(name = "phone_number")
+    String phoneNumber;
+
     @Column(name = "valid", nullable = false)
     String valid;
 
@@ -0,0 +1,37 @@
+package com.dm.debtease.model.dto;
+
+import com.dm.debtease.model.DebtCaseSortField;
+import com.dm.debtease.model.DebtCaseStatus;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class DebtCasePageRequestDTO {
+    DebtCaseStatus status;
+
+    String type;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime dueDateFrom;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime dueDateTo;
+
+    BigDecimal amountFrom;
+
+    BigDecimal amountTo;
+
+    DebtCaseSortField sort = DebtCaseSortField.ID;
+
+    Sort.Direction direction = Sort.Direction.ASC;
+
+    String cursor;
+
+    Integer limit;
+}
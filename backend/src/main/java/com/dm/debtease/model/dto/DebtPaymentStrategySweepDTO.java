@@ -0,0 +1,36 @@
+package com.dm.debtease.model.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class DebtPaymentStrategySweepDTO {
+    @Positive(message = "Minimal monthly payment range start should be positive")
+    @NotNull(message = "Minimal monthly payment range start should be not empty")
+    BigDecimal minimalMonthlyPaymentFrom;
+
+    @Positive(message = "Minimal monthly payment range end should be positive")
+    @NotNull(message = "Minimal monthly payment range end should be not empty")
+    BigDecimal minimalMonthlyPaymentTo;
+
+    @Positive(message = "Minimal monthly payment range step should be positive")
+    @NotNull(message = "Minimal monthly payment range step should be not empty")
+    BigDecimal minimalMonthlyPaymentStep;
+
+    @Positive(message = "Extra monthly payment range start should be positive")
+    @NotNull(message = "Extra monthly payment range start should be not empty")
+    BigDecimal extraMonthlyPaymentFrom;
+
+    @Positive(message = "Extra monthly payment range end should be positive")
+    @NotNull(message = "Extra monthly payment range end should be not empty")
+    BigDecimal extraMonthlyPaymentTo;
+
+    @Positive(message = "Extra monthly payment range step should be positive")
+    @NotNull(message = "Extra monthly payment range step should be not empty")
+    BigDecimal extraMonthlyPaymentStep;
+}
@@ -0,0 +1,14 @@
+package com.dm.debtease.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CompanyView {
+    int id;
+    String name;
+    String industry;
+    String domain;
+    String locality;
+}
@@ -0,0 +1,17 @@
+package com.dm.debtease.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CreditorView {
+    int id;
+    String name;
+    String address;
+    String phoneNumber;
+    String email;
+    String accountNumber;
+    UserView user;
+    CompanyView company;
+}
@@ -0,0 +1,67 @@
+package com.dm.debtease.model.view;
+
+import com.dm.debtease.exception.InvalidDebtCaseCursorException;
+import com.dm.debtease.model.DebtCaseSortField;
+import com.dm.debtease.utils.Constants;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position after the last debt case of a page: the sort key and id of that row. The opaque form also records the
+ * sort it was issued for, so a cursor cannot be replayed against a different ordering.
+ */
+@Getter
+@AllArgsConstructor
+public class DebtCaseCursor {
+    private static final String SEPARATOR = ":";
+
+    DebtCaseSortField sort;
+    Sort.Direction direction;
+    Object sortValue;
+    int id;
+
+    public static DebtCaseCursor after(DebtCaseView debtCaseView, DebtCaseSortField sort, Sort.Direction direction) {
+        Object sortValue = switch (sort) {
+            case ID -> null;
+            case DUE_DATE -> debtCaseView.getDueDate();
+            case AMOUNT_OWED -> debtCaseView.getAmountOwed();
+        };
+        return new DebtCaseCursor(sort, direction, sortValue, debtCaseView.getId());
+    }
+
+    public static DebtCaseCursor decode(String cursor, DebtCaseSortField sort, Sort.Direction direction) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 4);
+            if (parts.length != 4 || DebtCaseSortField.valueOf(parts[0]) != sort
+                    || Sort.Direction.valueOf(parts[1]) != direction) {
+                throw new IllegalArgumentException(cursor);
+            }
+            Object sortValue = switch (sort) {
+                case ID -> null;
+                case DUE_DATE -> LocalDateTime.parse(parts[3]);
+                case AMOUNT_OWED -> new BigDecimal(parts[3]);
+            };
+            return new DebtCaseCursor(sort, direction, sortValue, Integer.parseInt(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidDebtCaseCursorException(String.format(Constants.DEBT_CASE_CURSOR_INVALID, cursor, sort,
+                    direction));
+        }
+    }
+
+    public String encode() {
+        String value = switch (sort) {
+            case ID -> "";
+            case DUE_DATE -> sortValue.toString();
+            case AMOUNT_OWED -> ((BigDecimal) sortValue).toPlainString();
+        };
+        String cursor = String.join(SEPARATOR, sort.name(), direction.name(), String.valueOf(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,11 @@
+package com.dm.debtease.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class DebtCaseTypeView {
+    int id;
+    String type;
+}
@@ -0,0 +1,64 @@
+package com.dm.debtease.model.view;
+
+import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.EnrichmentStatus;
+import com.dm.debtease.model.Role;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a debt case for list endpoints. Serialises like {@link com.dm.debtease.model.DebtCase} but holds
+ * only the columns the listings show, and is built from one joined row by the flat constructor that the
+ * repository's constructor expressions call.
+ */
+@Getter
+@AllArgsConstructor
+public class DebtCaseView {
+    int id;
+    BigDecimal amountOwed;
+    double lateInterestRate;
+    double debtInterestRate;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime dueDate;
+    DebtCaseTypeView debtCaseType;
+    DebtCaseStatus debtCaseStatus;
+    EnrichmentStatus enrichmentStatus;
+    CreditorView creditor;
+    DebtorView debtor;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime createdDate;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    LocalDateTime modifiedDate;
+
+    @SuppressWarnings("unused")
+    public DebtCaseView(Integer id, BigDecimal amountOwed, Double lateInterestRate, Double debtInterestRate,
+                        LocalDateTime dueDate, DebtCaseStatus debtCaseStatus, EnrichmentStatus enrichmentStatus,
+                        LocalDateTime createdDate, LocalDateTime modifiedDate,
+                        Integer typeId, String type,
+                        Integer creditorId, String creditorName, String creditorAddress, String creditorPhoneNumber,
+                        String creditorEmail, String creditorAccountNumber, String creditorUsername,
+                        Role creditorRole,
+                        Integer companyId, String companyName, String companyIndustry, String companyDomain,
+                        String companyLocality,
+                        Integer debtorId, String debtorName, String debtorSurname, String debtorEmail,
+                        String debtorPhoneNumber, String debtorUsername, Role debtorRole,
+                        Integer verifiedPhoneNumberInformationId, String verifiedPhoneNumber, String valid,
+                        String location, String carrier, String lineType) {
+        this(id, amountOwed, lateInterestRate, debtInterestRate, dueDate,
+                new DebtCaseTypeView(typeId, type), debtCaseStatus, enrichmentStatus,
+                new CreditorView(creditorId, creditorName, creditorAddress, creditorPhoneNumber, creditorEmail,
+                        creditorAccountNumber, new UserView(creditorUsername, creditorRole),
+                        companyId == null ? null : new CompanyView(companyId, companyName, companyIndustry,
+                                companyDomain, companyLocality)),
+                new DebtorView(debtorId, debtorName, debtorSurname, debtorEmail, debtorPhoneNumber,
+                        verifiedPhoneNumberInformationId == null ? null : new VerifiedPhoneNumberInformationView(
+                                verifiedPhoneNumberInformationId, verifiedPhoneNumber, valid, location, carrier,
+                                lineType),
+                        debtorUsername == null ? null : new UserView(debtorUsername, debtorRole)),
+                createdDate, modifiedDate);
+    }
+}
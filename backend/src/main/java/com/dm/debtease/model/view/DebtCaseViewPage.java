@@ -0,0 +1,13 @@
+package com.dm.debtease.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class DebtCaseViewPage {
+    List<DebtCaseView> debtCases;
+    String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.dm.debtease.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class DebtorView {
+    int id;
+    String name;
+    String surname;
+    String email;
+    String phoneNumber;
+    VerifiedPhoneNumberInformationView verifiedPhoneNumberInformation;
+    UserView user;
+}
@@ -0,0 +1,12 @@
+package com.dm.debtease.model.view;
+
+import com.dm.debtease.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserView {
+    String username;
+    Role role;
+}
@@ -0,0 +1,15 @@
+package com.dm.debtease.model.view;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class VerifiedPhoneNumberInformationView {
+    int id;
+    String phoneNumber;
+    String valid;
+    String location;
+    String carrier;
+    String lineType;
+}
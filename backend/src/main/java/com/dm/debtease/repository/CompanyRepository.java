@@ -1,10 +1,23 @@
 package com.dm.debtease.repository;
 
 import com.dm.debtease.model.Company;
+import com.dm.debtease.model.CompanyIndexSignature;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Integer> {
     Company findByNameContainingIgnoreCase(String substring);
+
+    @Query("SELECT c.id, c.name FROM company c")
+    List<Object[]> findAllIdsAndNames();
+
+    // companies are loaded outside the application, so changes are detected from the rows themselves
+    @Query(value = "SELECT COUNT(*) AS companyCount, COALESCE(MAX(id), 0) AS maxCompanyId, " +
+            "COALESCE(SUM(CAST(CAST('x' || LEFT(MD5(id || '|' || name), 8) AS bit(32)) AS integer)), 0) " +
+            "AS nameChecksum FROM company", nativeQuery = true)
+    CompanyIndexSignature findIndexSignature();
 }
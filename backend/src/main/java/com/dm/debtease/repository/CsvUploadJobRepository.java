@@ -0,0 +1,17 @@
+package com.dm.debtease.repository;
+
+import com.dm.debtease.model.CsvUploadJob;
+import com.dm.debtease.model.CsvUploadJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CsvUploadJobRepository extends JpaRepository<CsvUploadJob, Integer> {
+    Optional<CsvUploadJob> findByIdAndCreditorUsername(int id, String creditorUsername);
+
+    List<CsvUploadJob> findByStatusIn(Collection<CsvUploadJobStatus> statuses);
+}
@@ -0,0 +1,417 @@
+package com.dm.debtease.repository;
+
+import com.dm.debtease.model.Creditor;
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseExportRow;
+import com.dm.debtease.model.Debtor;
+import com.dm.debtease.model.EnrichmentStatus;
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class DebtCaseJdbcRepository {
+    private static final String INSERT_VERIFIED_PHONE_NUMBER_INFORMATION =
+            "INSERT INTO verified_phone_number_information (phone_number, valid, location, carrier, line_type) " +
+                    "VALUES (?, ?, ?, ?, ?) ON CONFLICT (phone_number) DO UPDATE SET valid = EXCLUDED.valid, " +
+                    "location = EXCLUDED.location, carrier = EXCLUDED.carrier, line_type = EXCLUDED.line_type";
+    private static final String UPDATE_DEBTOR_VERIFIED_PHONE_NUMBER_INFORMATION =
+            "UPDATE debtor SET verified_phone_number_information_id = ? WHERE id = ?";
+    private static final String UPDATE_CREDITOR_COMPANY = "UPDATE creditor SET company_id = ? WHERE id = ?";
+    private static final String INSERT_DEBT_CASE =
+            "INSERT INTO debt_case (amount_owed, late_interest_rate, debt_interest_rate, due_date, type_id, " +
+                    "case_status, creditor_id, debtor_id, created_date, modified_date, enrichment_status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_DEBT_CASE =
+            "UPDATE debt_case SET amount_owed = ?, late_interest_rate = ?, debt_interest_rate = ?, due_date = ?, " +
+                    "type_id = ?, case_status = ?, creditor_id = ?, debtor_id = ?, created_date = ?, " +
+                    "modified_date = ?, enrichment_status = ? WHERE id = ?";
+    // only pending cases are marked, so a case enriched or edited meanwhile keeps its state
+    private static final String MARK_PENDING_DEBT_CASES_ENRICHED =
+            "UPDATE debt_case SET enrichment_status = 'ENRICHED' WHERE id = ANY(?) AND enrichment_status = 'PENDING' " +
+                    "RETURNING id";
+    // serialises batches of the same creditors so a redelivered batch cannot race its first delivery
+    private static final String LOCK_CREDITORS = "SELECT id FROM creditor WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+    private static final String SELECT_STORED_DEBT_CASES =
+            "SELECT id, creditor_id, debtor_id, type_id, amount_owed, due_date FROM debt_case " +
+                    "WHERE creditor_id = ANY(?) AND debtor_id = ANY(?)";
+
+    private static final String ACCRUABLE_DEBT_CASE_CONDITION =
+            "(case_status IS NULL OR case_status <> 'CLOSED') " +
+                    "AND (last_interest_accrual_date IS NULL OR last_interest_accrual_date < ?)";
+    private static final String SELECT_ACCRUABLE_DEBT_CASE_ID_RANGE =
+            "SELECT MIN(id), MAX(id) FROM debt_case WHERE " + ACCRUABLE_DEBT_CASE_CONDITION;
+    // locks debtors in id order so parallel accrual slices sharing a debtor cannot deadlock
+    private static final String BUMP_ACCRUED_DEBT_VERSIONS =
+            "locked AS (SELECT id FROM debtor WHERE id IN (SELECT debtor_id FROM accrued) ORDER BY id FOR UPDATE), " +
+                    "bumped AS (UPDATE debtor b SET debt_version = b.debt_version + 1 FROM locked " +
+                    "WHERE b.id = locked.id) ";
+    private static final String BUMP_DEBT_VERSIONS =
+            "UPDATE debtor b SET debt_version = b.debt_version + 1 " +
+                    "FROM (SELECT id FROM debtor WHERE id = ANY(?) ORDER BY id FOR UPDATE) locked " +
+                    "WHERE b.id = locked.id";
+    private static final String ACCRUE_MONTHLY_INTEREST =
+            "WITH accrued AS (UPDATE debt_case SET amount_owed = ROUND(amount_owed + amount_owed * " +
+                    "CAST((debt_interest_rate / 12) / 100 AS numeric), 2), last_interest_accrual_date = ? " +
+                    "WHERE id >= ? AND id <= ? AND " + ACCRUABLE_DEBT_CASE_CONDITION + " RETURNING debtor_id), " +
+                    BUMP_ACCRUED_DEBT_VERSIONS + "SELECT COUNT(*) FROM accrued";
+    private static final String SELECT_DEBT_CASE_ID_RANGE = "SELECT MIN(id), MAX(id) FROM debt_case";
+    private static final String ACCRUE_LATE_INTEREST_PAGE =
+            "WITH page AS (SELECT id FROM debt_case WHERE due_date <= ? " +
+                    "AND (case_status IS NULL OR case_status <> 'CLOSED') " +
+                    "AND (last_late_interest_date IS NULL OR last_late_interest_date < ?) " +
+                    "AND id > ? AND id <= ? ORDER BY id LIMIT ?), " +
+                    "accrued AS (UPDATE debt_case d SET amount_owed = ROUND(d.amount_owed + d.amount_owed * " +
+                    "CAST(d.late_interest_rate / 100 AS numeric), 2), last_late_interest_date = ? " +
+                    "FROM page WHERE d.id = page.id RETURNING d.id, d.debtor_id), " +
+                    BUMP_ACCRUED_DEBT_VERSIONS + "SELECT id FROM accrued";
+    private static final String SELECT_DEBT_CASE_EXPORT_ROWS_BY_CREDITOR_USERNAME =
+            "SELECT dc.id, dc.case_status, d.name, d.surname, d.email, d.phone_number, t.type, dc.amount_owed, " +
+                    "dc.late_interest_rate, dc.debt_interest_rate, dc.due_date FROM debt_case dc " +
+                    "JOIN creditor c ON c.id = dc.creditor_id JOIN custom_user u ON u.id = c.user_id " +
+                    "JOIN debtor d ON d.id = dc.debtor_id JOIN debt_case_type t ON t.id = dc.type_id " +
+                    "WHERE u.username = ? ORDER BY dc.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void saveEnrichedDebtCases(List<DebtCase> debtCases) {
+        Map<Integer, Creditor> creditors = new LinkedHashMap<>();
+        Map<Integer, Debtor> debtors = new LinkedHashMap<>();
+        Set<VerifiedPhoneNumberInformation> newVerifiedPhoneNumberInformation =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+        List<DebtCase> newDebtCases = new ArrayList<>();
+        List<DebtCase> existingDebtCases = new ArrayList<>();
+        for (DebtCase debtCase : debtCases) {
+            creditors.put(debtCase.getCreditor().getId(), debtCase.getCreditor());
+            Debtor debtor = debtCase.getDebtor();
+            VerifiedPhoneNumberInformation verifiedPhoneNumberInformation = debtor.getVerifiedPhoneNumberInformation();
+            if (verifiedPhoneNumberInformation != null) {
+                debtors.put(debtor.getId(), debtor);
+                if (verifiedPhoneNumberInformation.getId() == 0) {
+                    newVerifiedPhoneNumberInformation.add(verifiedPhoneNumberInformation);
+                }
+            }
+            if (debtCase.getId() == 0) {
+                newDebtCases.add(debtCase);
+            } else {
+                existingDebtCases.add(debtCase);
+            }
+        }
+        lockCreditors(creditors.keySet());
+        insertVerifiedPhoneNumberInformation(new ArrayList<>(newVerifiedPhoneNumberInformation));
+        updateDebtorsVerifiedPhoneNumberInformation(new ArrayList<>(debtors.values()));
+        updateCreditorsCompany(new ArrayList<>(creditors.values()));
+        insertDebtCases(excludeStoredDebtCases(newDebtCases));
+        updateDebtCases(existingDebtCases);
+        bumpDebtVersions(debtCases.stream().map(debtCase -> debtCase.getDebtor().getId()).toList());
+    }
+
+    /**
+     * Persists the result of re-enriching pending debt cases. Only the columns enrichment owns are written: the
+     * verified phone number information of the debtors and the enrichment status of cases that are still pending,
+     * so amounts, statuses and dates changed since the cases were read are kept.
+     *
+     * @return ids of the debt cases that were marked as enriched
+     */
+    @Transactional
+    public Set<Integer> saveReEnrichedDebtCases(List<DebtCase> debtCases) {
+        Map<Integer, Debtor> debtors = new LinkedHashMap<>();
+        Set<VerifiedPhoneNumberInformation> newVerifiedPhoneNumberInformation =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Integer> enrichedDebtCaseIds = new ArrayList<>();
+        for (DebtCase debtCase : debtCases) {
+            if (!EnrichmentStatus.ENRICHED.equals(debtCase.getEnrichmentStatus())) {
+                continue;
+            }
+            enrichedDebtCaseIds.add(debtCase.getId());
+            Debtor debtor = debtCase.getDebtor();
+            VerifiedPhoneNumberInformation verifiedPhoneNumberInformation = debtor.getVerifiedPhoneNumberInformation();
+            if (verifiedPhoneNumberInformation != null) {
+                debtors.put(debtor.getId(), debtor);
+                if (verifiedPhoneNumberInformation.getId() == 0) {
+                    newVerifiedPhoneNumberInformation.add(verifiedPhoneNumberInformation);
+                }
+            }
+        }
+        if (enrichedDebtCaseIds.isEmpty()) {
+            return Set.of();
+        }
+        insertVerifiedPhoneNumberInformation(new ArrayList<>(newVerifiedPhoneNumberInformation));
+        updateDebtorsVerifiedPhoneNumberInformation(new ArrayList<>(debtors.values()));
+        Integer[] ids = enrichedDebtCaseIds.toArray(Integer[]::new);
+        return new HashSet<>(jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(MARK_PENDING_DEBT_CASES_ENRICHED);
+            ps.setArray(1, connection.createArrayOf("integer", ids));
+            return ps;
+        }, (resultSet, rowNum) -> resultSet.getInt(1)));
+    }
+
+    /**
+     * Returns the lowest and highest id of open debt cases not yet charged for {@code accrualDate},
+     * or an empty array when there are none.
+     */
+    public int[] findAccruableDebtCaseIdRange(LocalDate accrualDate) {
+        return jdbcTemplate.query(SELECT_ACCRUABLE_DEBT_CASE_ID_RANGE, this::extractIdRange,
+                Date.valueOf(accrualDate));
+    }
+
+    /**
+     * Returns the lowest and highest debt case id, or an empty array when there are no debt cases.
+     */
+    public int[] findDebtCaseIdRange() {
+        return jdbcTemplate.query(SELECT_DEBT_CASE_ID_RANGE, this::extractIdRange);
+    }
+
+    /**
+     * Charges monthly interest to open cases with ids from {@code fromId} to {@code toId} that were not yet
+     * charged for {@code accrualDate}, and bumps the debt version of their debtors.
+     *
+     * @return number of charged cases
+     */
+    public int accrueMonthlyInterest(int fromId, int toId, LocalDate accrualDate) {
+        Integer accrued = jdbcTemplate.queryForObject(ACCRUE_MONTHLY_INTEREST, Integer.class,
+                Date.valueOf(accrualDate), fromId, toId, Date.valueOf(accrualDate));
+        return accrued != null ? accrued : 0;
+    }
+
+    /**
+     * Charges late interest to the next page of open cases due on or before {@code accrualDate}, after
+     * {@code afterId} and up to {@code toId} in id order, that were not yet charged for that date, and bumps the
+     * debt version of their debtors.
+     *
+     * @return ids of the charged cases
+     */
+    public List<Integer> accrueLateInterestPage(LocalDate accrualDate, int afterId, int toId, int pageSize) {
+        return jdbcTemplate.queryForList(ACCRUE_LATE_INTEREST_PAGE, Integer.class,
+                Timestamp.valueOf(accrualDate.atStartOfDay()), Date.valueOf(accrualDate), afterId, toId, pageSize,
+                Date.valueOf(accrualDate));
+    }
+
+    /**
+     * Passes the export rows of a creditor's debt cases to {@code rowHandler} in id order as they are read. Inside a
+     * transaction PostgreSQL reads them through a forward-only cursor {@code fetchSize} rows at a time, otherwise
+     * the driver buffers the whole result.
+     */
+    public void streamDebtCaseExportRowsByCreditorUsername(String username, int fetchSize,
+                                                           Consumer<DebtCaseExportRow> rowHandler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_DEBT_CASE_EXPORT_ROWS_BY_CREDITOR_USERNAME,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setString(1, username);
+            return ps;
+        }, (RowCallbackHandler) resultSet -> rowHandler.accept(new DebtCaseExportRow(resultSet.getInt(1),
+                resultSet.getString(2), resultSet.getString(3), resultSet.getString(4), resultSet.getString(5),
+                resultSet.getString(6), resultSet.getString(7), resultSet.getBigDecimal(8), resultSet.getDouble(9),
+                resultSet.getDouble(10), resultSet.getTimestamp(11).toLocalDateTime())));
+    }
+
+    private int[] extractIdRange(ResultSet resultSet) throws SQLException {
+        resultSet.next();
+        int minId = resultSet.getInt(1);
+        return resultSet.wasNull() ? new int[0] : new int[]{minId, resultSet.getInt(2)};
+    }
+
+    private void bumpDebtVersions(Collection<Integer> debtorIds) {
+        Integer[] sortedDebtorIds = debtorIds.stream().distinct().sorted().toArray(Integer[]::new);
+        if (sortedDebtorIds.length == 0) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(BUMP_DEBT_VERSIONS);
+            ps.setArray(1, connection.createArrayOf("integer", sortedDebtorIds));
+            return ps;
+        });
+    }
+
+    private void lockCreditors(Collection<Integer> creditorIds) {
+        Integer[] sortedCreditorIds = creditorIds.stream().sorted().toArray(Integer[]::new);
+        if (sortedCreditorIds.length == 0) {
+            return;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOCK_CREDITORS);
+            ps.setArray(1, connection.createArrayOf("integer", sortedCreditorIds));
+            return ps;
+        }, (RowCallbackHandler) resultSet -> {
+        });
+    }
+
+    /**
+     * A batch redelivered after its first delivery committed carries new debt cases that are already stored. Gives
+     * them the id of the stored row, matched on creditor, debtor, type, amount and due date like the csv upload
+     * does, and returns only the debt cases that still have to be inserted.
+     */
+    private List<DebtCase> excludeStoredDebtCases(List<DebtCase> newDebtCases) {
+        if (newDebtCases.isEmpty()) {
+            return newDebtCases;
+        }
+        Integer[] creditorIds = newDebtCases.stream().map(debtCase -> debtCase.getCreditor().getId()).distinct()
+                .toArray(Integer[]::new);
+        Integer[] debtorIds = newDebtCases.stream().map(debtCase -> debtCase.getDebtor().getId()).distinct()
+                .toArray(Integer[]::new);
+        Map<DebtCaseKey, Integer> storedIds = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_STORED_DEBT_CASES);
+            ps.setArray(1, connection.createArrayOf("integer", creditorIds));
+            ps.setArray(2, connection.createArrayOf("integer", debtorIds));
+            return ps;
+        }, (RowCallbackHandler) resultSet -> storedIds.putIfAbsent(new DebtCaseKey(resultSet.getInt(2),
+                resultSet.getInt(3), resultSet.getInt(4), resultSet.getBigDecimal(5).stripTrailingZeros(),
+                resultSet.getTimestamp(6).toLocalDateTime()), resultSet.getInt(1)));
+        if (storedIds.isEmpty()) {
+            return newDebtCases;
+        }
+        List<DebtCase> unstoredDebtCases = new ArrayList<>();
+        for (DebtCase debtCase : newDebtCases) {
+            Integer storedId = storedIds.get(new DebtCaseKey(debtCase.getCreditor().getId(),
+                    debtCase.getDebtor().getId(), debtCase.getDebtCaseType().getId(),
+                    debtCase.getAmountOwed().stripTrailingZeros(), debtCase.getDueDate()));
+            if (storedId != null) {
+                debtCase.setId(storedId);
+            } else {
+                unstoredDebtCases.add(debtCase);
+            }
+        }
+        return unstoredDebtCases;
+    }
+
+    private void insertVerifiedPhoneNumberInformation(List<VerifiedPhoneNumberInformation> informationList) {
+        if (informationList.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_VERIFIED_PHONE_NUMBER_INFORMATION,
+                        new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        VerifiedPhoneNumberInformation information = informationList.get(i);
+                        ps.setString(1, information.getPhoneNumber());
+                        ps.setString(2, information.getValid());
+                        ps.setString(3, information.getLocation());
+                        ps.setString(4, information.getCarrier());
+                        ps.setString(5, information.getLineType());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return informationList.size();
+                    }
+                },
+                keyHolder);
+        assignGeneratedIds(keyHolder, informationList.size(),
+                (i, id) -> informationList.get(i).setId(id));
+    }
+
+    private void updateDebtorsVerifiedPhoneNumberInformation(List<Debtor> debtors) {
+        if (debtors.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_DEBTOR_VERIFIED_PHONE_NUMBER_INFORMATION, debtors, debtors.size(),
+                (ps, debtor) -> {
+                    ps.setInt(1, debtor.getVerifiedPhoneNumberInformation().getId());
+                    ps.setInt(2, debtor.getId());
+                });
+    }
+
+    private void updateCreditorsCompany(List<Creditor> creditors) {
+        if (creditors.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_CREDITOR_COMPANY, creditors, creditors.size(),
+                (ps, creditor) -> {
+                    if (creditor.getCompany() != null) {
+                        ps.setInt(1, creditor.getCompany().getId());
+                    } else {
+                        ps.setNull(1, Types.INTEGER);
+                    }
+                    ps.setInt(2, creditor.getId());
+                });
+    }
+
+    private void insertDebtCases(List<DebtCase> debtCases) {
+        if (debtCases.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_DEBT_CASE, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setDebtCaseValues(ps, debtCases.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return debtCases.size();
+                    }
+                },
+                keyHolder);
+        assignGeneratedIds(keyHolder, debtCases.size(), (i, id) -> debtCases.get(i).setId(id));
+    }
+
+    private void updateDebtCases(List<DebtCase> debtCases) {
+        if (debtCases.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_DEBT_CASE, debtCases, debtCases.size(),
+                (ps, debtCase) -> {
+                    setDebtCaseValues(ps, debtCase);
+                    ps.setInt(12, debtCase.getId());
+                });
+    }
+
+    private void setDebtCaseValues(PreparedStatement ps, DebtCase debtCase) throws SQLException {
+        ps.setBigDecimal(1, debtCase.getAmountOwed());
+        ps.setDouble(2, debtCase.getLateInterestRate());
+        ps.setDouble(3, debtCase.getDebtInterestRate());
+        ps.setTimestamp(4, Timestamp.valueOf(debtCase.getDueDate()));
+        ps.setInt(5, debtCase.getDebtCaseType().getId());
+        ps.setObject(6, debtCase.getDebtCaseStatus() != null ? debtCase.getDebtCaseStatus().name() : null,
+                Types.OTHER);
+        ps.setInt(7, debtCase.getCreditor().getId());
+        ps.setInt(8, debtCase.getDebtor().getId());
+        ps.setTimestamp(9, Timestamp.valueOf(debtCase.getCreatedDate()));
+        ps.setTimestamp(10, debtCase.getModifiedDate() != null ? Timestamp.valueOf(debtCase.getModifiedDate()) : null);
+        ps.setString(11, debtCase.getEnrichmentStatus() != null ? debtCase.getEnrichmentStatus().name() : null);
+    }
+
+    private void assignGeneratedIds(KeyHolder keyHolder, int expectedKeys, GeneratedIdConsumer consumer) {
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < Math.min(expectedKeys, keys.size()); i++) {
+            consumer.accept(i, ((Number) keys.get(i).get("id")).intValue());
+        }
+    }
+
+    private record DebtCaseKey(int creditorId, int debtorId, int typeId, BigDecimal amountOwed,
+                               LocalDateTime dueDate) {
+    }
+
+    @FunctionalInterface
+    private interface GeneratedIdConsumer {
+        void accept(int index, int id);
+    }
+}
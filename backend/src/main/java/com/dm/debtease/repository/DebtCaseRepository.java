@@ -1,11 +1,18 @@
 package com.dm.debtease.repository;
 
 import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.EnrichmentStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +23,29 @@ public interface DebtCaseRepository extends JpaRepository<DebtCase, Integer> {
 
     Optional<DebtCase> findByIdAndCreditor_Id(int id, int creditorId);
 
-    Optional<List<DebtCase>> findByDueDateLessThanEqual(LocalDateTime dueDate);
-
     List<DebtCase> findByDebtor_User_Username(String username);
 
     List<DebtCase> findByCreditor_User_Username(String username);
+
+    List<DebtCase> findByCreditor_User_UsernameAndDebtor_IdIn(String username, Collection<Integer> debtorIds);
+
+    List<DebtCase> findByEnrichmentStatusAndIdGreaterThanOrderByIdAsc(EnrichmentStatus enrichmentStatus, int id,
+                                                                     Limit limit);
+
+    @EntityGraph(attributePaths = {"creditor", "debtor", "debtCaseType"})
+    List<DebtCase> findByIdIn(Collection<Integer> ids);
+
+    @EntityGraph(attributePaths = {"creditor", "debtor", "debtCaseType"})
+    @Query("SELECT d FROM debt_case d WHERE d.dueDate > :startDate AND d.dueDate < :endDate " +
+            "AND (d.debtCaseStatus IS NULL OR d.debtCaseStatus <> com.dm.debtease.model.DebtCaseStatus.CLOSED) " +
+            "AND d.id > :afterId ORDER BY d.id")
+    List<DebtCase> findOpenDebtCasesDueBetween(@Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate,
+                                               @Param("afterId") int afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"creditor", "debtor", "debtCaseType"})
+    @Query("SELECT d FROM debt_case d " +
+            "WHERE (d.debtCaseStatus IS NULL OR d.debtCaseStatus <> com.dm.debtease.model.DebtCaseStatus.CLOSED) " +
+            "AND d.debtor.id IN :debtorIds ORDER BY d.debtor.id, d.dueDate")
+    List<DebtCase> findOpenDebtCasesByDebtorIds(@Param("debtorIds") Collection<Integer> debtorIds);
 }
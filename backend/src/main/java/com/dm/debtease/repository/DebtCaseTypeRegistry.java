@@ -0,0 +1,104 @@
+package com.dm.debtease.repository;
+
+import com.dm.debtease.model.DebtCaseType;
+import com.dm.debtease.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Read-through, in-memory view of the debt case types. The table is loaded once and kept until
+ * {@link #invalidate()} is called; match results and formatted names are memoized per snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class DebtCaseTypeRegistry {
+    private final DebtCaseTypeRepository debtCaseTypeRepository;
+    private final ConcurrentMap<String, String> formattedTypes = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot;
+
+    public List<DebtCaseType> getAll() {
+        return snapshot().debtCaseTypes();
+    }
+
+    public Optional<DebtCaseType> getById(int id) {
+        DebtCaseType debtCaseType = snapshot().byId().get(id);
+        if (debtCaseType != null) {
+            return Optional.of(debtCaseType);
+        }
+        Optional<DebtCaseType> storedDebtCaseType = debtCaseTypeRepository.findById(id);
+        storedDebtCaseType.ifPresent(ignored -> invalidate());
+        return storedDebtCaseType;
+    }
+
+    public Optional<DebtCaseType> getByType(String type) {
+        return Optional.ofNullable(snapshot().byType().get(type));
+    }
+
+    /**
+     * Returns the first type, in id order, whose name contains {@code typeToMatch}.
+     */
+    public Optional<DebtCaseType> findFirstContaining(String typeToMatch) {
+        return Optional.ofNullable(snapshot().firstContaining(typeToMatch));
+    }
+
+    public DebtCaseType getDefault() {
+        return snapshot().byId().get(Constants.DEFAULT_DEBT_CASE_TYPE_ID);
+    }
+
+    public String getFormattedType(String type) {
+        return formattedTypes.computeIfAbsent(type, DebtCaseTypeRegistry::format);
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot currentSnapshot = snapshot;
+        if (currentSnapshot == null) {
+            synchronized (this) {
+                currentSnapshot = snapshot;
+                if (currentSnapshot == null) {
+                    currentSnapshot = Snapshot.of(debtCaseTypeRepository.findAll());
+                    snapshot = currentSnapshot;
+                }
+            }
+        }
+        return currentSnapshot;
+    }
+
+    private static String format(String type) {
+        String[] parts = type.split("_");
+        StringBuilder formattedName = new StringBuilder();
+        for (String part : parts) {
+            formattedName.append(part.charAt(0)).append(part.substring(1).toLowerCase()).append(" ");
+        }
+        return formattedName.toString().trim();
+    }
+
+    private record Snapshot(List<DebtCaseType> debtCaseTypes, Map<Integer, DebtCaseType> byId,
+                            Map<String, DebtCaseType> byType, ConcurrentMap<String, Optional<DebtCaseType>> matches) {
+        static Snapshot of(List<DebtCaseType> debtCaseTypes) {
+            List<DebtCaseType> orderedTypes = debtCaseTypes.stream()
+                    .sorted(Comparator.comparingInt(DebtCaseType::getId))
+                    .toList();
+            Map<Integer, DebtCaseType> byId = new HashMap<>();
+            Map<String, DebtCaseType> byType = new HashMap<>();
+            for (DebtCaseType debtCaseType : orderedTypes) {
+                byId.putIfAbsent(debtCaseType.getId(), debtCaseType);
+                byType.putIfAbsent(debtCaseType.getType(), debtCaseType);
+            }
+            return new Snapshot(orderedTypes, byId, byType, new ConcurrentHashMap<>());
+        }
+
+        DebtCaseType firstContaining(String typeToMatch) {
+            return matches.computeIfAbsent(typeToMatch, key -> debtCaseTypes.stream()
+                    .filter(debtCaseType -> debtCaseType.getType().contains(key))
+                    .findFirst()).orElse(null);
+        }
+    }
+}
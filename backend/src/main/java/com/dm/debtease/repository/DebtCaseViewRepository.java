@@ -0,0 +1,103 @@
+package com.dm.debtease.repository;
+
+import com.dm.debtease.model.DebtCaseSortField;
+import com.dm.debtease.model.dto.DebtCasePageRequestDTO;
+import com.dm.debtease.model.view.DebtCaseCursor;
+import com.dm.debtease.model.view.DebtCaseView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset-paginated debt case listings. Rows are ordered by the sort key with the id as tie-breaker, and a page
+ * starts strictly after the cursor row, so each page is an index range scan regardless of how deep it is.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DebtCaseViewRepository {
+    private static final String SELECT_DEBT_CASE_VIEWS = "SELECT new com.dm.debtease.model.view.DebtCaseView(" +
+            "d.id, d.amountOwed, d.lateInterestRate, d.debtInterestRate, d.dueDate, d.debtCaseStatus, " +
+            "d.enrichmentStatus, d.createdDate, d.modifiedDate, t.id, t.type, " +
+            "c.id, c.name, c.address, c.phoneNumber, c.email, c.accountNumber, cu.username, cu.role, " +
+            "co.id, co.name, co.industry, co.domain, co.locality, " +
+            "r.id, r.name, r.surname, r.email, r.phoneNumber, ru.username, ru.role, " +
+            "v.id, v.phoneNumber, v.valid, v.location, v.carrier, v.lineType) " +
+            "FROM debt_case d JOIN d.debtCaseType t JOIN d.creditor c JOIN c.user cu LEFT JOIN c.company co " +
+            "JOIN d.debtor r LEFT JOIN r.user ru LEFT JOIN r.verifiedPhoneNumberInformation v ";
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param creditorUsername restricts the listing to one creditor, or {@code null}
+     * @param debtorUsername   restricts the listing to one debtor, or {@code null}
+     * @param cursor           position after which the page starts, or {@code null} for the first page
+     * @param limit            maximum number of rows, or {@code null} for all matching rows
+     */
+    public List<DebtCaseView> findPage(String creditorUsername, String debtorUsername,
+                                       DebtCasePageRequestDTO pageRequest, DebtCaseCursor cursor, Integer limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        addCondition(conditions, parameters, "cu.username = :creditorUsername", "creditorUsername", creditorUsername);
+        addCondition(conditions, parameters, "ru.username = :debtorUsername", "debtorUsername", debtorUsername);
+        addCondition(conditions, parameters, "d.debtCaseStatus = :status", "status", pageRequest.getStatus());
+        addCondition(conditions, parameters, "t.type = :type", "type",
+                StringUtils.hasText(pageRequest.getType()) ? pageRequest.getType() : null);
+        addCondition(conditions, parameters, "d.dueDate >= :dueDateFrom", "dueDateFrom", pageRequest.getDueDateFrom());
+        addCondition(conditions, parameters, "d.dueDate <= :dueDateTo", "dueDateTo", pageRequest.getDueDateTo());
+        addCondition(conditions, parameters, "d.amountOwed >= :amountFrom", "amountFrom", pageRequest.getAmountFrom());
+        addCondition(conditions, parameters, "d.amountOwed <= :amountTo", "amountTo", pageRequest.getAmountTo());
+        DebtCaseSortField sort = pageRequest.getSort();
+        Sort.Direction direction = pageRequest.getDirection();
+        String sortProperty = getSortProperty(sort);
+        if (cursor != null) {
+            String comparison = direction.isAscending() ? ">" : "<";
+            if (sort == DebtCaseSortField.ID) {
+                conditions.add("d.id " + comparison + " :cursorId");
+            } else {
+                conditions.add(String.format("(%1$s %2$s :cursorValue OR (%1$s = :cursorValue AND d.id %2$s :cursorId))",
+                        sortProperty, comparison));
+                parameters.put("cursorValue", cursor.getSortValue());
+            }
+            parameters.put("cursorId", cursor.getId());
+        }
+        StringBuilder jpql = new StringBuilder(SELECT_DEBT_CASE_VIEWS);
+        if (!conditions.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", conditions)).append(' ');
+        }
+        jpql.append("ORDER BY ");
+        if (sort != DebtCaseSortField.ID) {
+            jpql.append(sortProperty).append(' ').append(direction).append(", ");
+        }
+        jpql.append("d.id ").append(direction);
+        TypedQuery<DebtCaseView> query = entityManager.createQuery(jpql.toString(), DebtCaseView.class);
+        parameters.forEach(query::setParameter);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    private static void addCondition(List<String> conditions, Map<String, Object> parameters, String condition,
+                                     String name, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+    }
+
+    private static String getSortProperty(DebtCaseSortField sort) {
+        return switch (sort) {
+            case ID -> "d.id";
+            case DUE_DATE -> "d.dueDate";
+            case AMOUNT_OWED -> "d.amountOwed";
+        };
+    }
+}
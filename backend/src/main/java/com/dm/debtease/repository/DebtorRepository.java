@@ -2,8 +2,14 @@ package com.dm.debtease.repository;
 
 import com.dm.debtease.model.Debtor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +17,14 @@ public interface DebtorRepository extends JpaRepository<Debtor, Integer> {
     Optional<Debtor> findByNameAndSurname(String name, String surname);
 
     Optional<Debtor> findByUserUsername(String username);
+
+    List<Debtor> findByNameInAndSurnameIn(Collection<String> names, Collection<String> surnames);
+
+    @Query("SELECT d.debtVersion FROM debtor d WHERE d.user.username = :username")
+    Optional<Long> findDebtVersionByUserUsername(@Param("username") String username);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE debtor SET debt_version = debt_version + 1 WHERE id = :id", nativeQuery = true)
+    int incrementDebtVersion(@Param("id") int id);
 }
@@ -0,0 +1,110 @@
+package com.dm.debtease.repository;
+
+import com.dm.debtease.model.EmailOutboxMessage;
+import com.dm.debtease.model.NotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class EmailOutboxJdbcRepository {
+    private static final String INSERT_MESSAGE =
+            "INSERT INTO email_outbox (debt_case_id, debtor_id, notification_type, dedup_key, status, attempts, " +
+                    "next_attempt_at, created_date) VALUES (?, ?, ?, ?, 'PENDING', 0, ?, ?) " +
+                    "ON CONFLICT (dedup_key) DO NOTHING";
+    private static final String INSERT_OPEN_DEBTOR_DIGESTS =
+            "INSERT INTO email_outbox (debtor_id, notification_type, dedup_key, status, attempts, next_attempt_at, " +
+                    "created_date) SELECT debtor_id, ?, CONCAT(?, debtor_id, ?), 'PENDING', 0, ?, ? FROM debt_case " +
+                    "WHERE case_status IS NULL OR case_status <> 'CLOSED' GROUP BY debtor_id " +
+                    "ON CONFLICT (dedup_key) DO NOTHING";
+    // claims every due message of the debtors owning the oldest due messages, so a debtor gets a single digest;
+    // SKIP LOCKED lets several instances drain the outbox without blocking each other
+    private static final String CLAIM_MESSAGES =
+            "UPDATE email_outbox SET status = 'SENDING', claimed_at = ? " +
+                    "WHERE status = 'PENDING' AND next_attempt_at <= ? AND debtor_id IN (" +
+                    "SELECT debtor_id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= ? " +
+                    "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                    "RETURNING id, debt_case_id, debtor_id, notification_type, attempts";
+    private static final String MARK_SENT =
+            "UPDATE email_outbox SET status = 'SENT', sent_date = ?, last_error = NULL WHERE id = ?";
+    private static final String MARK_FOR_RETRY =
+            "UPDATE email_outbox SET attempts = attempts + 1, last_error = ?, claimed_at = NULL, " +
+                    "status = CASE WHEN attempts + 1 >= ? THEN 'FAILED' ELSE 'PENDING' END, " +
+                    "next_attempt_at = ? + make_interval(secs => LEAST(? * power(2, attempts), ?)) WHERE id = ?";
+    private static final String RELEASE_STALE_CLAIMS =
+            "UPDATE email_outbox SET status = 'PENDING', claimed_at = NULL " +
+                    "WHERE status = 'SENDING' AND claimed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int enqueue(List<EmailOutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_MESSAGE, messages, messages.size(), (ps, message) -> {
+            ps.setObject(1, message.getDebtCaseId(), Types.INTEGER);
+            ps.setInt(2, message.getDebtorId());
+            ps.setString(3, message.getNotificationType().name());
+            ps.setString(4, message.getDedupKey());
+            ps.setTimestamp(5, Timestamp.valueOf(message.getNextAttemptAt()));
+            ps.setTimestamp(6, Timestamp.valueOf(message.getCreatedDate()));
+        });
+        return Arrays.stream(results).flatMapToInt(Arrays::stream).map(count -> Math.max(count, 0)).sum();
+    }
+
+    /**
+     * Queues one digest per debtor with open debt cases in a single statement; the dedup key of each row is
+     * {@code dedupKeyPrefix + debtorId + dedupKeySuffix}.
+     */
+    public int enqueueOpenDebtorDigests(NotificationType notificationType, String dedupKeyPrefix,
+                                        String dedupKeySuffix, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.update(INSERT_OPEN_DEBTOR_DIGESTS, notificationType.name(), dedupKeyPrefix,
+                dedupKeySuffix, timestamp, timestamp);
+    }
+
+    public List<EmailOutboxMessage> claimDueMessages(LocalDateTime now, int limit) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return jdbcTemplate.query(CLAIM_MESSAGES, (resultSet, rowNum) -> {
+            EmailOutboxMessage message = new EmailOutboxMessage();
+            message.setId(resultSet.getInt("id"));
+            message.setDebtCaseId(resultSet.getObject("debt_case_id", Integer.class));
+            message.setDebtorId(resultSet.getInt("debtor_id"));
+            message.setNotificationType(
+                    NotificationType.valueOf(resultSet.getString("notification_type")));
+            message.setAttempts(resultSet.getInt("attempts"));
+            return message;
+        }, timestamp, timestamp, timestamp, limit);
+    }
+
+    public void markSent(Collection<Integer> ids, LocalDateTime sentDate) {
+        jdbcTemplate.batchUpdate(MARK_SENT, ids, ids.size(), (ps, id) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(sentDate));
+            ps.setInt(2, id);
+        });
+    }
+
+    public void markForRetry(Collection<Integer> ids, String error, int maxAttempts, long baseDelaySeconds,
+                             long maxDelaySeconds, LocalDateTime now) {
+        jdbcTemplate.batchUpdate(MARK_FOR_RETRY, ids, ids.size(), (ps, id) -> {
+            ps.setString(1, error);
+            ps.setInt(2, maxAttempts);
+            ps.setTimestamp(3, Timestamp.valueOf(now));
+            ps.setLong(4, baseDelaySeconds);
+            ps.setLong(5, maxDelaySeconds);
+            ps.setInt(6, id);
+        });
+    }
+
+    public int releaseStaleClaims(LocalDateTime claimedBefore) {
+        return jdbcTemplate.update(RELEASE_STALE_CLAIMS, Timestamp.valueOf(claimedBefore));
+    }
+}
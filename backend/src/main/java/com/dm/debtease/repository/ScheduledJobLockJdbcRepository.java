@@ -0,0 +1,39 @@
+package com.dm.debtease.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class ScheduledJobLockJdbcRepository {
+    // timestamps come from the database clock, so replicas with skewed clocks agree on lock expiry
+    private static final String ACQUIRE_LOCK =
+            "INSERT INTO scheduled_job_lock (job_name, locked_until, locked_at, locked_by) " +
+                    "VALUES (?, now() + make_interval(secs => ?), now(), ?) " +
+                    "ON CONFLICT (job_name) DO UPDATE SET locked_until = EXCLUDED.locked_until, " +
+                    "locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by " +
+                    "WHERE scheduled_job_lock.locked_until <= now()";
+    private static final String RELEASE_LOCK =
+            "UPDATE scheduled_job_lock SET locked_until = GREATEST(locked_at + make_interval(secs => ?), now()) " +
+                    "WHERE job_name = ? AND locked_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the lock when it is free or its previous holder let it expire.
+     *
+     * @return whether {@code lockedBy} now holds the lock
+     */
+    public boolean tryAcquire(String jobName, long lockAtMostForSeconds, String lockedBy) {
+        return jdbcTemplate.update(ACQUIRE_LOCK, jobName, lockAtMostForSeconds, lockedBy) == 1;
+    }
+
+    /**
+     * Releases the lock, but keeps it for at least {@code lockAtLeastForSeconds} after it was taken so replicas
+     * whose trigger fires slightly later do not run the same job again.
+     */
+    public void release(String jobName, long lockAtLeastForSeconds, String lockedBy) {
+        jdbcTemplate.update(RELEASE_LOCK, lockAtLeastForSeconds, jobName, lockedBy);
+    }
+}
@@ -0,0 +1,25 @@
+package com.dm.debtease.repository;
+
+import com.dm.debtease.model.ScheduledJobRun;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, Integer> {
+    List<ScheduledJobRun> findAllByOrderByStartedAtDesc(Limit limit);
+
+    List<ScheduledJobRun> findByJobNameOrderByStartedAtDesc(String jobName, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM scheduled_job_run r WHERE r.startedAt < :startedBefore")
+    int deleteByStartedAtBefore(@Param("startedBefore") LocalDateTime startedBefore);
+}
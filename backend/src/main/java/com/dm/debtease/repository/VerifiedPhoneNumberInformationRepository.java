@@ -4,6 +4,10 @@ import com.dm.debtease.model.VerifiedPhoneNumberInformation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface VerifiedPhoneNumberInformationRepository extends JpaRepository<VerifiedPhoneNumberInformation, Integer> {
+    List<VerifiedPhoneNumberInformation> findByPhoneNumberIn(Collection<String> phoneNumbers);
 }
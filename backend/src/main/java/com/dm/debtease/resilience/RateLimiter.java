@@ -0,0 +1,10 @@
+package com.dm.debtease.resilience;
+
+public interface RateLimiter {
+    /**
+     * Blocks until a permit is available.
+     *
+     * @return time spent waiting for the permit in nanoseconds
+     */
+    long acquire() throws InterruptedException;
+}
@@ -0,0 +1,59 @@
+package com.dm.debtease.resilience;
+
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket shared by all callers of an external API. Tokens refill at a fixed rate up to {@code burst};
+ * a caller that finds the bucket empty reserves the next token and sleeps outside the lock, so waiting
+ * threads are served in arrival order at exactly the configured rate.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+    private final double permitsPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+    private final Timer waitTimer;
+    private double availableTokens;
+    private long lastRefillNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, Timer waitTimer) {
+        this(permitsPerSecond, burst, waitTimer, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, Timer waitTimer, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limiter requires a positive rate and a burst of at least 1");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.nanoClock = nanoClock;
+        this.waitTimer = waitTimer;
+        this.availableTokens = burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    @Override
+    public long acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        if (waitTimer != null) {
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+        return waitNanos;
+    }
+
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        availableTokens = Math.min(capacity, availableTokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        availableTokens -= 1;
+        if (availableTokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-availableTokens / permitsPerNano);
+    }
+}
@@ -1,91 +1,145 @@
 package com.dm.debtease.scheduler;
 
-import com.dm.debtease.model.DebtCase;
-import com.dm.debtease.model.DebtCaseStatus;
-import com.dm.debtease.repository.DebtCaseRepository;
-import com.dm.debtease.service.DebtCaseService;
-import com.dm.debtease.service.EmailService;
+import com.dm.debtease.model.EmailDispatchSummary;
+import com.dm.debtease.model.InterestAccrualSummary;
+import com.dm.debtease.service.CompanyMatchingService;
+import com.dm.debtease.service.DebtCaseEnrichmentService;
+import com.dm.debtease.service.EmailOutboxService;
+import com.dm.debtease.service.InterestAccrualService;
+import com.dm.debtease.service.JobLockService;
+import com.dm.debtease.service.ReminderService;
+import com.dm.debtease.service.ScheduledJobRunService;
+import com.dm.debtease.utils.Constants;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.List;
-import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 @Log4j2
 @SuppressWarnings("unused")
 public class Scheduler {
-    private final DebtCaseService debtCaseService;
-    private final DebtCaseRepository debtCaseRepository;
-    private final EmailService emailService;
+    private static final String UPCOMING_DUE_DATE_REMINDERS_JOB = "upcomingDueDateReminders";
+    private static final String MONTHLY_REMINDERS_JOB = "monthlyReminders";
+    private static final String LATE_INTEREST_JOB = "lateInterestAccrual";
+    private static final String MONTHLY_INTEREST_JOB = "monthlyInterestAccrual";
+    private static final String EMAIL_OUTBOX_JOB = "emailOutboxDrain";
+    private static final String RE_ENRICHMENT_JOB = "reEnrichPendingDebtCases";
+    private static final String COMPANY_INDEX_JOB = "companyIndexRefresh";
+    private static final String JOB_HISTORY_PURGE_JOB = "scheduledJobRunPurge";
+
+    private final ReminderService reminderService;
+    private final DebtCaseEnrichmentService debtCaseEnrichmentService;
+    private final CompanyMatchingService companyMatchingService;
+    private final InterestAccrualService interestAccrualService;
+    private final EmailOutboxService emailOutboxService;
+    private final JobLockService jobLockService;
+    private final ScheduledJobRunService scheduledJobRunService;
+    @Value("${spring.scheduler.monthly-interest.partitions:1}")
+    private int monthlyInterestPartitions;
+
+    @PostConstruct
+    public void init() {
+        if (monthlyInterestPartitions < 1) {
+            throw new IllegalStateException(String.format(Constants.JOB_PARTITIONS_INVALID,
+                    "spring.scheduler.monthly-interest.partitions", monthlyInterestPartitions));
+        }
+    }
 
     @Scheduled(cron = "0 0 12 * * *")
     public void emailNotificationForUpcomingDueDatePaymentScheduler() {
-        log.info("Starting cron job scheduler for email notification for upcoming due date payment!");
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime tenDaysLater = now.plusDays(10);
-        List<DebtCase> debtCases = debtCaseService.getAllDebtCases();
-        for (DebtCase debtCase : debtCases) {
-            if (debtCaseService.isDebtCasePending(debtCase, now, tenDaysLater)) {
-                emailService.sendNotificationEmail(debtCase);
-            }
-        }
-        log.info("Cron job scheduler for email notification for upcoming due date payment has finished!");
+        jobLockService.runExclusively(UPCOMING_DUE_DATE_REMINDERS_JOB, () ->
+                scheduledJobRunService.record(UPCOMING_DUE_DATE_REMINDERS_JOB, true, run -> {
+                    log.info("Starting cron job scheduler for email notification for upcoming due date payment!");
+                    LocalDateTime now = LocalDateTime.now();
+                    LocalDateTime tenDaysLater = now.plusDays(10);
+                    int enqueued = reminderService.enqueueUpcomingDueDateReminders(now, tenDaysLater);
+                    run.setRowsUpdated(enqueued);
+                    log.info(String.format("Cron job scheduler for email notification for upcoming due date " +
+                            "payment has finished: %d reminders queued", enqueued));
+                }));
     }
 
     @Scheduled(cron = "0 0 12 20 * *")
     public void emailNotificationEachMonth20DayScheduler() {
-        log.info("Starting cron job scheduler for email notification each month 20th day!");
-        List<DebtCase> debtCases = debtCaseService.getAllDebtCases();
-        for (DebtCase debtCase : debtCases) {
-            if (!DebtCaseStatus.CLOSED.equals(debtCase.getDebtCaseStatus())) {
-                emailService.sendNotificationEmail(debtCase);
-            }
-        }
-        log.info("Cron job scheduler for email notification each month 20th day has finished!");
+        jobLockService.runExclusively(MONTHLY_REMINDERS_JOB, () ->
+                scheduledJobRunService.record(MONTHLY_REMINDERS_JOB, true, run -> {
+                    log.info("Starting cron job scheduler for email notification each month 20th day!");
+                    int enqueued = reminderService.enqueueOpenDebtCaseReminders();
+                    run.setRowsUpdated(enqueued);
+                    log.info(String.format("Cron job scheduler for email notification each month 20th day has " +
+                            "finished: %d reminders queued", enqueued));
+                }));
     }
 
     @Scheduled(cron = "0 0 0 * * *")
     public void calculateOutstandingBalanceScheduler() {
-        log.info("Starting cron job scheduler for calculating outstanding balance!");
-        LocalDateTime currentDate = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
-        Optional<List<DebtCase>> optionalDebtCases = debtCaseRepository.findByDueDateLessThanEqual(currentDate);
-        if (optionalDebtCases.isPresent()) {
-            List<DebtCase> debtCases = optionalDebtCases.get();
-            for (DebtCase debtCase : debtCases) {
-                if (!DebtCaseStatus.CLOSED.equals(debtCase.getDebtCaseStatus())) {
-                    BigDecimal lateInterestRateAmount =
-                            debtCase.getAmountOwed()
-                                    .multiply(BigDecimal.valueOf(debtCase.getLateInterestRate() / 100.0));
-                    BigDecimal updatedAmountOwedBalance = debtCase.getAmountOwed().add(lateInterestRateAmount);
-                    debtCase.setAmountOwed(updatedAmountOwedBalance);
-                    debtCaseRepository.save(debtCase);
-                }
-            }
-        }
-        log.info("Cron job scheduler for calculating outstanding balance has finished!");
+        jobLockService.runExclusively(LATE_INTEREST_JOB, () ->
+                scheduledJobRunService.record(LATE_INTEREST_JOB, true, run -> {
+                    log.info("Starting cron job scheduler for calculating outstanding balance!");
+                    InterestAccrualSummary summary = interestAccrualService.accrueLateInterest(LocalDate.now());
+                    run.setRowsScanned(summary.getIdsScanned());
+                    run.setRowsUpdated(summary.getRowsUpdated());
+                    log.info(String.format("Cron job scheduler for calculating outstanding balance has finished: %s",
+                            summary));
+                }));
     }
 
     @Scheduled(cron = "0 0 0 1 * *")
     public void calculateOutstandingBalanceWithInterestRateScheduler() {
         log.info("Starting cron job scheduler for calculating outstanding balance with interest rate!");
-        List<DebtCase> debtCases = debtCaseRepository.findAll();
-            for (DebtCase debtCase : debtCases) {
-                if (!DebtCaseStatus.CLOSED.equals(debtCase.getDebtCaseStatus())) {
-                    BigDecimal interestRateAmount =
-                            debtCase.getAmountOwed()
-                                    .multiply(BigDecimal.valueOf((debtCase.getDebtInterestRate() / 12) / 100));
-                    BigDecimal updatedAmountOwed = debtCase.getAmountOwed().add(interestRateAmount);
-                    debtCase.setAmountOwed(updatedAmountOwed);
-                    debtCaseRepository.save(debtCase);
-                }
+        LocalDate accrualDate = LocalDate.now();
+        // every replica takes the partitions no other replica holds, so the id range is split between them
+        int partitionsRun = jobLockService.runPartitioned(MONTHLY_INTEREST_JOB, monthlyInterestPartitions,
+                partition -> scheduledJobRunService.record(MONTHLY_INTEREST_JOB, true, run -> {
+                    InterestAccrualSummary summary = interestAccrualService.accrueMonthlyInterest(accrualDate,
+                            partition, monthlyInterestPartitions);
+                    run.setRowsScanned(summary.getIdsScanned());
+                    run.setRowsUpdated(summary.getRowsUpdated());
+                    log.info(String.format("Partition %d/%d of monthly interest accrual has finished: %s", partition,
+                            monthlyInterestPartitions, summary));
+                }));
+        log.info(String.format("Cron job scheduler for calculating outstanding balance with interest rate has " +
+                "finished: %d of %d partitions run on this replica", partitionsRun, monthlyInterestPartitions));
+    }
+
+    // outbox messages are claimed with SKIP LOCKED, so every replica drains in parallel without a job lock
+    @Scheduled(fixedDelayString = "${spring.mail.outbox.poll-delay-ms:5000}")
+    public void drainEmailOutboxScheduler() {
+        scheduledJobRunService.record(EMAIL_OUTBOX_JOB, false, run -> {
+            EmailDispatchSummary summary = emailOutboxService.drainOutbox();
+            run.setEmailsSent(summary.getSent());
+            run.setFailures(summary.getFailed());
+            if (summary.getSent() + summary.getFailed() > 0) {
+                log.info(String.format("Email outbox drained: %s", summary));
             }
-        log.info("Cron job scheduler for calculating outstanding balance with interest rate has finished!");
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${spring.numverify.re-enrichment.delay-ms:60000}")
+    public void reEnrichPendingDebtCasesScheduler() {
+        jobLockService.runExclusively(RE_ENRICHMENT_JOB, () ->
+                scheduledJobRunService.record(RE_ENRICHMENT_JOB, false,
+                        run -> run.setRowsUpdated(debtCaseEnrichmentService.reEnrichPendingDebtCases())));
+    }
+
+    // the company index lives in memory, so each replica refreshes its own copy
+    @Scheduled(fixedDelayString = "${spring.company-index.refresh-delay-ms:900000}",
+            initialDelayString = "${spring.company-index.refresh-delay-ms:900000}")
+    public void refreshCompanyIndexScheduler() {
+        scheduledJobRunService.record(COMPANY_INDEX_JOB, true, run -> companyMatchingService.refreshCompanyIndex());
+    }
+
+    @Scheduled(cron = "0 30 0 * * *")
+    public void purgeScheduledJobRunsScheduler() {
+        jobLockService.runExclusively(JOB_HISTORY_PURGE_JOB, () ->
+                scheduledJobRunService.record(JOB_HISTORY_PURGE_JOB, true,
+                        run -> run.setRowsUpdated(scheduledJobRunService.purgeHistory())));
     }
-}
\ No newline at end of file
+}
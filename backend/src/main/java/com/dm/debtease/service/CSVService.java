@@ -1,12 +1,20 @@
 package com.dm.debtease.service;
 
 import com.dm.debtease.exception.InvalidFileFormatException;
+import com.dm.debtease.model.CsvIngestionSummary;
 import com.opencsv.exceptions.CsvValidationException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public interface CSVService {
-    void readCsvDataAndSendToKafka(MultipartFile file, String username)
+    CsvIngestionSummary readCsvDataAndSendToKafka(MultipartFile file, String username)
             throws IOException, CsvValidationException, InvalidFileFormatException;
+
+    CsvIngestionSummary readCsvDataAndSendToKafka(InputStream inputStream, String username, long rowOffset,
+                                                  CsvIngestionListener listener)
+            throws IOException, CsvValidationException;
+
+    void validateCsvFile(MultipartFile file) throws InvalidFileFormatException;
 }
@@ -0,0 +1,9 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.Company;
+
+public interface CompanyMatchingService {
+    Company findBestMatchingCompany(String creditorName);
+
+    void refreshCompanyIndex();
+}
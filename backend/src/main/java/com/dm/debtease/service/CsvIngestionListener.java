@@ -0,0 +1,8 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.CsvIngestionSummary;
+
+@FunctionalInterface
+public interface CsvIngestionListener {
+    void onChunkPublished(CsvIngestionSummary summary, long committedRowOffset);
+}
@@ -0,0 +1,15 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.exception.InvalidFileFormatException;
+import com.dm.debtease.model.CsvUploadJob;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface CsvUploadJobService {
+    CsvUploadJob submitCsvUploadJob(MultipartFile file, String username) throws IOException, InvalidFileFormatException;
+
+    CsvUploadJob getCsvUploadJobByIdAndUsername(int id, String username);
+
+    void resumeUnfinishedCsvUploadJobs();
+}
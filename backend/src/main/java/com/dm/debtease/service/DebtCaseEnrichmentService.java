@@ -0,0 +1,11 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.DebtCase;
+
+import java.util.List;
+
+public interface DebtCaseEnrichmentService {
+    void enrichDebtCases(List<DebtCase> debtCases);
+
+    int reEnrichPendingDebtCases();
+}
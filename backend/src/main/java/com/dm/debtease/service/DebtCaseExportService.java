@@ -0,0 +1,11 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.DebtCaseExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface DebtCaseExportService {
+    long exportDebtCasesByCreditorUsername(String username, DebtCaseExportFormat format, OutputStream outputStream)
+            throws IOException;
+}
@@ -1,13 +1,17 @@
 package com.dm.debtease.service;
 
 import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtPaymentProjection;
 import com.dm.debtease.model.DebtPaymentStrategy;
 import com.dm.debtease.model.dto.DebtCaseDTO;
+import com.dm.debtease.model.dto.DebtCasePageRequestDTO;
 import com.dm.debtease.model.dto.DebtPaymentStrategyDTO;
 import com.dm.debtease.model.dto.PaymentRequestDTO;
+import com.dm.debtease.model.view.DebtCaseViewPage;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +24,20 @@ public interface DebtCaseService {
 
     List<DebtCase> getDebtCasesByDebtorUsername(String username);
 
+    DebtCaseViewPage getDebtCaseViews(DebtCasePageRequestDTO debtCasePageRequestDTO);
+
+    DebtCaseViewPage getDebtCaseViewsByCreditorUsername(String username, DebtCasePageRequestDTO debtCasePageRequestDTO);
+
+    DebtCaseViewPage getDebtCaseViewsByDebtorUsername(String username, DebtCasePageRequestDTO debtCasePageRequestDTO);
+
     DebtCase editDebtCaseByIdAndCreditorId(DebtCaseDTO debtCaseDTO, int id, int creditorId);
 
     boolean deleteDebtCaseByIdAndCreditorId(int id, int creditorId);
 
     Optional<DebtCase> findExistingDebtCase(String username, String... indicator);
 
+    List<DebtCase> findExistingDebtCases(String username, Collection<Integer> debtorIds);
+
     boolean isDebtCasePending(DebtCase debtCase, LocalDateTime startTime, LocalDateTime endTime);
 
     DebtCase updateDebtCaseAfterPayment(DebtCase debtCase, PaymentRequestDTO paymentRequestDTO);
@@ -33,4 +45,6 @@ public interface DebtCaseService {
     BigDecimal getValidLeftAmountOwed(BigDecimal paymentAmount, BigDecimal currentAmountOwed);
 
     DebtPaymentStrategy calculateDebtPaymentStrategies(DebtPaymentStrategyDTO debtPaymentStrategyDTO, String username);
+
+    DebtPaymentProjection calculateDebtPaymentProjections(DebtPaymentStrategyDTO debtPaymentStrategyDTO, String username);
 }
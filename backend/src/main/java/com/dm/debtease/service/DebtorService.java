@@ -3,6 +3,7 @@ package com.dm.debtease.service;
 import com.dm.debtease.model.Debtor;
 import com.dm.debtease.model.dto.DebtorDTO;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface DebtorService {
@@ -14,9 +15,13 @@ public interface DebtorService {
 
     Debtor getDebtorByNameAndSurname(String name, String surname);
 
+    List<Debtor> getDebtorsByNamesAndSurnames(Collection<String> names, Collection<String> surnames);
+
     Debtor editDebtorById(DebtorDTO debtorDTO, int id);
 
     Debtor createDebtor(DebtorDTO debtorDTO);
 
+    List<Debtor> createDebtors(List<DebtorDTO> debtorDTOs);
+
     boolean deleteDebtorById(int id);
 }
@@ -0,0 +1,15 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.EmailDispatchSummary;
+import com.dm.debtease.model.NotificationType;
+
+import java.util.List;
+
+public interface EmailOutboxService {
+    int enqueue(List<DebtCase> debtCases, NotificationType notificationType);
+
+    int enqueueOpenDebtorDigests(NotificationType notificationType);
+
+    EmailDispatchSummary drainOutbox();
+}
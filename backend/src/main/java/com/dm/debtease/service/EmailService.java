@@ -1,7 +1,20 @@
 package com.dm.debtease.service;
 
 import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.Debtor;
+import com.dm.debtease.model.EmailDigest;
+
+import java.util.List;
 
 public interface EmailService {
-    void sendNotificationEmail(DebtCase debtCase);
+    boolean sendNotificationEmail(DebtCase debtCase);
+
+    boolean sendDigestEmail(Debtor debtor, List<DebtCase> debtCases);
+
+    /**
+     * Sends every digest over a single SMTP connection.
+     *
+     * @return whether each digest was sent, in the order of {@code digests}
+     */
+    List<Boolean> sendDigestEmails(List<EmailDigest> digests);
 }
@@ -0,0 +1,17 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.InterestAccrualSummary;
+
+import java.time.LocalDate;
+
+public interface InterestAccrualService {
+    InterestAccrualSummary accrueMonthlyInterest(LocalDate accrualDate);
+
+    /**
+     * Accrues monthly interest for the id chunks of one partition; chunks are aligned to absolute ids, so
+     * partitions stay disjoint even when they run at different times on different replicas.
+     */
+    InterestAccrualSummary accrueMonthlyInterest(LocalDate accrualDate, int partition, int partitions);
+
+    InterestAccrualSummary accrueLateInterest(LocalDate accrualDate);
+}
@@ -0,0 +1,22 @@
+package com.dm.debtease.service;
+
+import java.util.function.IntConsumer;
+
+public interface JobLockService {
+    /**
+     * Runs {@code job} unless another replica holds the lock of {@code jobName}.
+     *
+     * @return whether the job ran on this replica
+     */
+    boolean runExclusively(String jobName, Runnable job);
+
+    /**
+     * Runs every partition of {@code jobName} whose lock this replica can take, so replicas split the partitions
+     * between them and each partition runs once.
+     *
+     * @return number of partitions run on this replica
+     */
+    int runPartitioned(String jobName, int partitions, IntConsumer partitionJob);
+
+    String getNodeId();
+}
@@ -0,0 +1,9 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.DebtPaymentStrategySweep;
+import com.dm.debtease.model.dto.DebtPaymentStrategySweepDTO;
+
+public interface PaymentStrategySweepService {
+    DebtPaymentStrategySweep calculateDebtPaymentStrategySweep(DebtPaymentStrategySweepDTO debtPaymentStrategySweepDTO,
+                                                               String username);
+}
@@ -0,0 +1,14 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface PhoneNumberVerificationService {
+    VerifiedPhoneNumberInformation getVerifiedPhoneNumberInformation(String phoneNumber);
+
+    Map<String, VerifiedPhoneNumberInformation> getVerifiedPhoneNumberInformation(Collection<String> phoneNumbers);
+
+    String normalizePhoneNumber(String phoneNumber);
+}
@@ -0,0 +1,9 @@
+package com.dm.debtease.service;
+
+import java.time.LocalDateTime;
+
+public interface ReminderService {
+    int enqueueUpcomingDueDateReminders(LocalDateTime startDate, LocalDateTime endDate);
+
+    int enqueueOpenDebtCaseReminders();
+}
@@ -0,0 +1,20 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.ScheduledJobRun;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ScheduledJobRunService {
+    /**
+     * Runs {@code job}, which reports its counts on the given run, and records the run in the job history and
+     * metrics. Failures are recorded and rethrown.
+     *
+     * @param recordIdleRuns whether runs that did no work are stored, false for frequently polling jobs
+     */
+    void record(String jobName, boolean recordIdleRuns, Consumer<ScheduledJobRun> job);
+
+    List<ScheduledJobRun> getRecentRuns(String jobName, int limit);
+
+    int purgeHistory();
+}
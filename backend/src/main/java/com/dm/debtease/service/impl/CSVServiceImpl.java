@@ -18,17 +18,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Log4j2
 @RequiredArgsConstructor
 @Service
 public class CSVServiceImpl implements CSVService {
+    private static final int CSV_COLUMN_COUNT = 9;
+
     private final DebtCaseTypeService debtCaseTypeService;
     private final DebtCaseService debtCaseService;
     private final CreditorService creditorService;
@@ -36,85 +43,219 @@ public class CSVServiceImpl implements CSVService {
     private final KafkaTemplate<String, DebtCase> kafkaTemplate;
     @Value("${spring.kafka.consumer.topic-name}")
     private String topicName;
+    @Value("${spring.csv.chunk-size:500}")
+    private int chunkSize;
 
     @Override
-    public void readCsvDataAndSendToKafka(MultipartFile file, String username)
+    public CsvIngestionSummary readCsvDataAndSendToKafka(MultipartFile file, String username)
             throws IOException, CsvValidationException, InvalidFileFormatException {
-        if (!(file.getBytes().length == 0)) {
-            if (file.getOriginalFilename() != null) {
-                String fileName = StringUtils.cleanPath(file.getOriginalFilename());
-                validateCsvFile(fileName);
-                Creditor creditor = creditorService.getCreditorByUsername(username);
-                log.info("Reading csv file");
-                try (CSVReader reader = buildCsvReader(file)) {
-                    String[] line;
-                    reader.skip(1);
-                    while ((line = reader.readNext()) != null) {
-                        Debtor debtor = debtorService.getDebtorByNameAndSurname(line[0], line[1]);
-                        if (debtor == null) {
-                            DebtorDTO debtorDTO = new DebtorDTO();
-                            debtorDTO.setName(line[0]);
-                            debtorDTO.setSurname(line[1]);
-                            debtorDTO.setEmail(line[2]);
-                            debtorDTO.setPhoneNumber(line[3]);
-                            debtor = debtorService.createDebtor(debtorDTO);
-                        }
-                        String typeToMatch = debtCaseTypeService.getTypeToMatch(line[4]);
-                        Optional<DebtCase> existingDebtCase =
-                                debtCaseService.findExistingDebtCase(username, line[5], line[8], typeToMatch, line[0],
-                                        line[1]);
-                        DebtCase debtCase =
-                                createOrUpdateDebtCase(debtor, creditor, line, existingDebtCase, typeToMatch);
-                        log.info(String.format("sending %s to kafka topic", debtCase));
-                        kafkaTemplate.send(topicName, debtCase);
-                    }
-                }
-                log.info("File read!");
-                return;
-            }
+        validateCsvFile(file);
+        try (InputStream inputStream = file.getInputStream()) {
+            return readCsvDataAndSendToKafka(inputStream, username, 0, (summary, committedRowOffset) -> {
+            });
+        }
+    }
+
+    @Override
+    public CsvIngestionSummary readCsvDataAndSendToKafka(InputStream inputStream, String username, long rowOffset,
+                                                         CsvIngestionListener listener)
+            throws IOException, CsvValidationException {
+        Creditor creditor = creditorService.getCreditorByUsername(username);
+        log.info(String.format("Reading csv file from row %d", rowOffset));
+        CsvIngestionSummary summary;
+        try (CSVReader reader = buildCsvReader(inputStream)) {
+            skipRecords(reader, rowOffset + 1);
+            summary = readChunksAndSendToKafka(reader, creditor, username, rowOffset, listener);
         }
-        throw new InvalidFileException(Constants.INVALID_UPLOAD_FILE);
+        log.info(String.format("File read! %d rows published, %d failed in %d chunks within %d ms (%.2f rows/s), " +
+                        "chunk latency avg %.2f ms, max %d ms",
+                summary.getRowsPublished(), summary.getRowsFailed(), summary.getChunks(), summary.getElapsedMillis(),
+                summary.getRowsPerSecond(), summary.getAverageChunkLatencyMillis(),
+                summary.getMaxChunkLatencyMillis()));
+        return summary;
     }
 
-    private void validateCsvFile(String fileName) throws InvalidFileFormatException {
+    @Override
+    public void validateCsvFile(MultipartFile file) throws InvalidFileFormatException {
+        if (file.isEmpty() || file.getOriginalFilename() == null) {
+            throw new InvalidFileException(Constants.INVALID_UPLOAD_FILE);
+        }
+        String fileName = StringUtils.cleanPath(file.getOriginalFilename());
         if (!fileName.toLowerCase().endsWith(".csv")) {
             log.error("File is not csv");
             throw new InvalidFileFormatException(Constants.UPLOADED_FILE_IS_NOT_CSV);
         }
     }
 
-    private CSVReader buildCsvReader(MultipartFile file) throws IOException {
-        return new CSVReaderBuilder(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))
+    // the offset counts records, and a quoted field may span several lines, so records are skipped, not lines
+    private void skipRecords(CSVReader reader, long records) throws IOException, CsvValidationException {
+        long skipped = 0;
+        while (skipped < records && reader.readNext() != null) {
+            skipped++;
+        }
+    }
+
+    private CSVReader buildCsvReader(InputStream inputStream) {
+        return new CSVReaderBuilder(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)))
                 .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
                 .build();
     }
 
-    private DebtCase createOrUpdateDebtCase(Debtor debtor, Creditor creditor, String[] line,
-                                            Optional<DebtCase> existingDebtCase, String typeToMatch) {
+    private CsvIngestionSummary readChunksAndSendToKafka(CSVReader reader, Creditor creditor, String username,
+                                                         long rowOffset, CsvIngestionListener listener)
+            throws IOException, CsvValidationException {
+        CsvIngestionSummary summary = new CsvIngestionSummary();
+        Map<String, DebtCaseType> matchedDebtCaseTypes = new HashMap<>();
+        List<String[]> chunk = new ArrayList<>(Math.max(chunkSize, 1));
+        long startTime = System.nanoTime();
+        String[] line;
+        while ((line = reader.readNext()) != null) {
+            chunk.add(line);
+            if (chunk.size() >= chunkSize) {
+                sendChunkToKafka(chunk, creditor, username, matchedDebtCaseTypes, summary);
+                summary.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+                listener.onChunkPublished(summary, rowOffset + summary.getRowsRead());
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sendChunkToKafka(chunk, creditor, username, matchedDebtCaseTypes, summary);
+            summary.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            listener.onChunkPublished(summary, rowOffset + summary.getRowsRead());
+        }
+        summary.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return summary;
+    }
+
+    private void sendChunkToKafka(List<String[]> lines, Creditor creditor, String username,
+                                  Map<String, DebtCaseType> matchedDebtCaseTypes, CsvIngestionSummary summary) {
+        long chunkStartTime = System.nanoTime();
+        List<DebtCaseRow> rows = parseRows(lines);
+        int rowsFailed = lines.size() - rows.size();
+        Map<DebtorKey, Debtor> debtors = resolveDebtors(rows);
+        Map<DebtCaseKey, DebtCase> existingDebtCases = findExistingDebtCases(username, debtors.values());
+        List<CompletableFuture<Boolean>> sendResults = new ArrayList<>(rows.size());
+        for (DebtCaseRow row : rows) {
+            Debtor debtor = debtors.get(row.debtorKey());
+            Optional<DebtCase> existingDebtCase = Optional.ofNullable(existingDebtCases.get(
+                    new DebtCaseKey(debtor.getId(), row.amountOwed().stripTrailingZeros(), row.dueDate(),
+                            row.typeToMatch())));
+            DebtCase debtCase = createOrUpdateDebtCase(debtor, creditor, row, existingDebtCase,
+                    matchedDebtCaseTypes.computeIfAbsent(row.typeToMatch(), this::findMatchingDebtCaseType));
+            sendResults.add(kafkaTemplate.send(topicName, debtCase).handle((result, exception) -> {
+                if (exception != null) {
+                    log.error(String.format("Error sending debt case to kafka topic: %s", exception.getMessage()));
+                }
+                return exception == null;
+            }));
+        }
+        for (CompletableFuture<Boolean> sendResult : sendResults) {
+            if (!sendResult.join()) {
+                rowsFailed++;
+            }
+        }
+        long chunkLatency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStartTime);
+        summary.addChunk(lines.size(), rowsFailed, chunkLatency);
+        log.debug(String.format("Sent chunk of %d debt cases to kafka topic in %d ms", lines.size(), chunkLatency));
+    }
+
+    private List<DebtCaseRow> parseRows(List<String[]> lines) {
+        List<DebtCaseRow> rows = new ArrayList<>(lines.size());
+        for (String[] line : lines) {
+            if (line.length < CSV_COLUMN_COUNT) {
+                log.warn(String.format("Skipping csv row with %d columns", line.length));
+                continue;
+            }
+            try {
+                rows.add(new DebtCaseRow(new DebtorKey(line[0], line[1]), line[2], line[3],
+                        debtCaseTypeService.getTypeToMatch(line[4]), new BigDecimal(line[5]),
+                        Double.parseDouble(line[6]), Double.parseDouble(line[7]),
+                        LocalDateTime.parse(line[8], Constants.DATE_TIME_FORMATTER)));
+            } catch (NumberFormatException | DateTimeParseException e) {
+                log.warn(String.format("Skipping invalid csv row for %s %s: %s", line[0], line[1], e.getMessage()));
+            }
+        }
+        return rows;
+    }
+
+    private Map<DebtorKey, Debtor> resolveDebtors(List<DebtCaseRow> rows) {
+        Set<String> names = new HashSet<>();
+        Set<String> surnames = new HashSet<>();
+        for (DebtCaseRow row : rows) {
+            names.add(row.debtorKey().name());
+            surnames.add(row.debtorKey().surname());
+        }
+        Map<DebtorKey, Debtor> debtors = new HashMap<>();
+        for (Debtor debtor : debtorService.getDebtorsByNamesAndSurnames(names, surnames)) {
+            debtors.putIfAbsent(new DebtorKey(debtor.getName(), debtor.getSurname()), debtor);
+        }
+        Map<DebtorKey, DebtorDTO> missingDebtors = new LinkedHashMap<>();
+        for (DebtCaseRow row : rows) {
+            if (!debtors.containsKey(row.debtorKey()) && !missingDebtors.containsKey(row.debtorKey())) {
+                DebtorDTO debtorDTO = new DebtorDTO();
+                debtorDTO.setName(row.debtorKey().name());
+                debtorDTO.setSurname(row.debtorKey().surname());
+                debtorDTO.setEmail(row.email());
+                debtorDTO.setPhoneNumber(row.phoneNumber());
+                missingDebtors.put(row.debtorKey(), debtorDTO);
+            }
+        }
+        if (!missingDebtors.isEmpty()) {
+            for (Debtor debtor : debtorService.createDebtors(new ArrayList<>(missingDebtors.values()))) {
+                debtors.put(new DebtorKey(debtor.getName(), debtor.getSurname()), debtor);
+            }
+        }
+        return debtors;
+    }
+
+    private Map<DebtCaseKey, DebtCase> findExistingDebtCases(String username, Collection<Debtor> debtors) {
+        Set<Integer> debtorIds = new HashSet<>();
+        for (Debtor debtor : debtors) {
+            debtorIds.add(debtor.getId());
+        }
+        Map<DebtCaseKey, DebtCase> existingDebtCases = new HashMap<>();
+        for (DebtCase debtCase : debtCaseService.findExistingDebtCases(username, debtorIds)) {
+            existingDebtCases.putIfAbsent(new DebtCaseKey(debtCase.getDebtor().getId(),
+                    debtCase.getAmountOwed().stripTrailingZeros(), debtCase.getDueDate(),
+                    debtCase.getDebtCaseType().getType()), debtCase);
+        }
+        return existingDebtCases;
+    }
+
+    private DebtCaseType findMatchingDebtCaseType(String typeToMatch) {
+        DebtCaseType matchingDebtCaseType = debtCaseTypeService.findMatchingDebtCaseType(typeToMatch);
+        return matchingDebtCaseType != null ? matchingDebtCaseType : debtCaseTypeService.getDefaultDebtCaseType();
+    }
+
+    private DebtCase createOrUpdateDebtCase(Debtor debtor, Creditor creditor, DebtCaseRow row,
+                                            Optional<DebtCase> existingDebtCase, DebtCaseType debtCaseType) {
         DebtCase debtCase;
         if (existingDebtCase.isPresent()) {
             debtCase = existingDebtCase.get();
-            debtCase.setAmountOwed(new BigDecimal(line[5]));
-            debtCase.setLateInterestRate(Double.parseDouble(line[6]));
-            debtCase.setDebtInterestRate(Double.parseDouble(line[7]));
-            debtCase.setDueDate(line[8] != null ? LocalDateTime.parse(line[8], Constants.DATE_TIME_FORMATTER) :
-                    LocalDateTime.now().plusMonths(2));
             debtCase.setModifiedDate(LocalDateTime.now());
         } else {
             debtCase = new DebtCase();
             debtCase.setCreditor(creditor);
             debtCase.setDebtor(debtor);
             debtCase.setDebtCaseStatus(DebtCaseStatus.NEW);
-            debtCase.setAmountOwed(new BigDecimal(line[5]));
-            debtCase.setLateInterestRate(Double.parseDouble(line[6]));
-            debtCase.setDebtInterestRate(Double.parseDouble(line[7]));
-            debtCase.setDueDate(line[8] != null ? LocalDateTime.parse(line[8], Constants.DATE_TIME_FORMATTER) :
-                    LocalDateTime.now().plusMonths(2));
             debtCase.setCreatedDate(LocalDateTime.now());
         }
-        DebtCaseType matchingDebtCaseType = debtCaseTypeService.findMatchingDebtCaseType(typeToMatch);
-        debtCase.setDebtCaseType(
-                matchingDebtCaseType != null ? matchingDebtCaseType : debtCaseTypeService.getDefaultDebtCaseType());
+        debtCase.setAmountOwed(row.amountOwed());
+        debtCase.setLateInterestRate(row.lateInterestRate());
+        debtCase.setDebtInterestRate(row.debtInterestRate());
+        debtCase.setDueDate(row.dueDate());
+        debtCase.setDebtCaseType(debtCaseType);
         return debtCase;
     }
-}
\ No newline at end of file
+
+    private record DebtorKey(String name, String surname) {
+    }
+
+    private record DebtCaseKey(int debtorId, BigDecimal amountOwed, LocalDateTime dueDate, String type) {
+    }
+
+    private record DebtCaseRow(DebtorKey debtorKey, String email, String phoneNumber, String typeToMatch,
+                               BigDecimal amountOwed, double lateInterestRate, double debtInterestRate,
+                               LocalDateTime dueDate) {
+    }
+}
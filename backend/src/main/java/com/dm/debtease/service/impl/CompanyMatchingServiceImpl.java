@@ -0,0 +1,179 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.model.Company;
+import com.dm.debtease.model.CompanyIndexSignature;
+import com.dm.debtease.repository.CompanyRepository;
+import com.dm.debtease.service.CompanyMatchingService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@SuppressWarnings("unused")
+public class CompanyMatchingServiceImpl implements CompanyMatchingService {
+    private final CompanyRepository companyRepository;
+    @Value("${spring.company-index.max-companies:2000000}")
+    private long maxIndexedCompanies;
+    @Value("${spring.company-index.memo-size:10000}")
+    private long memoSize;
+
+    private volatile CompanyNameIndex companyNameIndex;
+    private IndexSignature indexSignature;
+    private Cache<String, Optional<Company>> matchedCompanies;
+
+    @PostConstruct
+    public void init() {
+        matchedCompanies = Caffeine.newBuilder()
+                .maximumSize(memoSize)
+                .build();
+    }
+
+    @Override
+    public Company findBestMatchingCompany(String creditorName) {
+        if (creditorName == null || creditorName.isBlank()) {
+            return null;
+        }
+        String normalizedName = normalize(creditorName);
+        return matchedCompanies.get(normalizedName, this::matchCompany).orElse(null);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void refreshCompanyIndex() {
+        CompanyIndexSignature signature = companyRepository.findIndexSignature();
+        IndexSignature currentSignature = new IndexSignature(signature.getCompanyCount(),
+                signature.getMaxCompanyId(), signature.getNameChecksum());
+        if (currentSignature.equals(indexSignature)) {
+            return;
+        }
+        long companyCount = currentSignature.companyCount();
+        if (companyCount > maxIndexedCompanies) {
+            log.info(String.format("Company index disabled: %d companies exceed the limit of %d",
+                    companyCount, maxIndexedCompanies));
+            companyNameIndex = null;
+        } else {
+            long startTime = System.currentTimeMillis();
+            companyNameIndex = CompanyNameIndex.build(companyRepository.findAllIdsAndNames());
+            log.info(String.format("Indexed %d company names in %d ms", companyCount,
+                    System.currentTimeMillis() - startTime));
+        }
+        indexSignature = currentSignature;
+        matchedCompanies.invalidateAll();
+    }
+
+    private Optional<Company> matchCompany(String normalizedName) {
+        CompanyNameIndex currentIndex = companyNameIndex;
+        if (currentIndex == null) {
+            try {
+                return Optional.ofNullable(companyRepository.findByNameContainingIgnoreCase(normalizedName));
+            } catch (IncorrectResultSizeDataAccessException e) {
+                log.error(String.format("Company name '%s' is ambiguous: %s", normalizedName, e.getMessage()));
+                return Optional.empty();
+            }
+        }
+        int companyId = currentIndex.findBestMatch(normalizedName);
+        return companyId > 0 ? companyRepository.findById(companyId) : Optional.empty();
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexSignature(long companyCount, int maxCompanyId, long nameChecksum) {
+    }
+
+    /**
+     * Immutable trigram index over lower-cased company names. A name containing the query contains every trigram of
+     * it, so candidates come from the shortest posting list and are confirmed with a substring check.
+     */
+    private record CompanyNameIndex(int[] ids, String[] names, Map<Long, int[]> postings) {
+        static CompanyNameIndex build(List<Object[]> idsAndNames) {
+            int[] ids = new int[idsAndNames.size()];
+            String[] names = new String[idsAndNames.size()];
+            Map<Long, int[]> postingBuffers = new HashMap<>();
+            Map<Long, Integer> postingSizes = new HashMap<>();
+            for (int i = 0; i < idsAndNames.size(); i++) {
+                ids[i] = ((Number) idsAndNames.get(i)[0]).intValue();
+                names[i] = normalize((String) idsAndNames.get(i)[1]);
+                for (long trigram : trigrams(names[i])) {
+                    int size = postingSizes.getOrDefault(trigram, 0);
+                    int[] buffer = postingBuffers.get(trigram);
+                    if (buffer == null) {
+                        buffer = new int[4];
+                    } else if (buffer.length == size) {
+                        buffer = Arrays.copyOf(buffer, size * 2);
+                    }
+                    buffer[size] = i;
+                    postingBuffers.put(trigram, buffer);
+                    postingSizes.put(trigram, size + 1);
+                }
+            }
+            Map<Long, int[]> postings = new HashMap<>(postingBuffers.size() * 2);
+            postingBuffers.forEach((trigram, buffer) ->
+                    postings.put(trigram, Arrays.copyOf(buffer, postingSizes.get(trigram))));
+            return new CompanyNameIndex(ids, names, postings);
+        }
+
+        int findBestMatch(String query) {
+            int best = -1;
+            if (query.length() < 3) {
+                for (int i = 0; i < names.length; i++) {
+                    best = better(best, i, query);
+                }
+            } else {
+                int[] candidates = null;
+                for (long trigram : trigrams(query)) {
+                    int[] posting = postings.get(trigram);
+                    if (posting == null) {
+                        return 0;
+                    }
+                    if (candidates == null || posting.length < candidates.length) {
+                        candidates = posting;
+                    }
+                }
+                for (int candidate : candidates) {
+                    best = better(best, candidate, query);
+                }
+            }
+            return best >= 0 ? ids[best] : 0;
+        }
+
+        // exact name first, then the shortest containing name, then the oldest company
+        private int better(int best, int candidate, String query) {
+            if (!names[candidate].contains(query)) {
+                return best;
+            }
+            if (best < 0) {
+                return candidate;
+            }
+            boolean candidateExact = names[candidate].length() == query.length();
+            boolean bestExact = names[best].length() == query.length();
+            if (candidateExact != bestExact) {
+                return candidateExact ? candidate : best;
+            }
+            if (names[candidate].length() != names[best].length()) {
+                return names[candidate].length() < names[best].length() ? candidate : best;
+            }
+            return ids[candidate] < ids[best] ? candidate : best;
+        }
+
+        private static Set<Long> trigrams(String name) {
+            Set<Long> trigrams = new HashSet<>();
+            for (int i = 0; i + 3 <= name.length(); i++) {
+                trigrams.add(((long) name.charAt(i) << 32) | ((long) name.charAt(i + 1) << 16) | name.charAt(i + 2));
+            }
+            return trigrams;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.exception.CsvUploadJobRejectedException;
+import com.dm.debtease.exception.InvalidFileFormatException;
+import com.dm.debtease.model.CsvIngestionSummary;
+import com.dm.debtease.model.CsvUploadJob;
+import com.dm.debtease.model.CsvUploadJobStatus;
+import com.dm.debtease.repository.CsvUploadJobRepository;
+import com.dm.debtease.service.CSVService;
+import com.dm.debtease.service.CsvUploadJobService;
+import com.dm.debtease.utils.Constants;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+@RequiredArgsConstructor
+@Service
+public class CsvUploadJobServiceImpl implements CsvUploadJobService {
+    private final CsvUploadJobRepository csvUploadJobRepository;
+    private final CSVService csvService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ThreadPoolTaskExecutor csvUploadJobExecutor;
+    private final Set<Integer> scheduledJobIds = ConcurrentHashMap.newKeySet();
+    @Value("${spring.csv.upload.spool-directory:${java.io.tmpdir}/debtease-uploads}")
+    private String spoolDirectory;
+
+    @Override
+    public CsvUploadJob submitCsvUploadJob(MultipartFile file, String username)
+            throws IOException, InvalidFileFormatException {
+        csvService.validateCsvFile(file);
+        Path spoolPath = Files.createDirectories(Path.of(spoolDirectory)).resolve(UUID.randomUUID() + ".csv");
+        file.transferTo(spoolPath);
+        CsvUploadJob csvUploadJob = new CsvUploadJob();
+        csvUploadJob.setCreditorUsername(username);
+        csvUploadJob.setFileName(StringUtils.cleanPath(file.getOriginalFilename()));
+        csvUploadJob.setSpoolPath(spoolPath.toString());
+        csvUploadJob.setStatus(CsvUploadJobStatus.QUEUED);
+        csvUploadJob.setCreatedDate(LocalDateTime.now());
+        csvUploadJob = csvUploadJobRepository.save(csvUploadJob);
+        log.info(String.format("Spooled csv upload job %d to %s", csvUploadJob.getId(), spoolPath));
+        // the worker updates its own copy, so the returned job is not serialised while it changes
+        scheduleCsvUploadJob(new CsvUploadJob(csvUploadJob));
+        return csvUploadJob;
+    }
+
+    @Override
+    public CsvUploadJob getCsvUploadJobByIdAndUsername(int id, String username) {
+        return csvUploadJobRepository.findByIdAndCreditorUsername(id, username).orElseThrow(
+                () -> new EntityNotFoundException(String.format(Constants.CSV_UPLOAD_JOB_NOT_FOUND, id, username)));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedCsvUploadJobs() {
+        List<CsvUploadJob> unfinishedJobs = csvUploadJobRepository.findByStatusIn(
+                List.of(CsvUploadJobStatus.QUEUED, CsvUploadJobStatus.RUNNING));
+        for (CsvUploadJob csvUploadJob : unfinishedJobs) {
+            if (Files.exists(Path.of(csvUploadJob.getSpoolPath()))) {
+                log.info(String.format("Resuming csv upload job %d from row %d",
+                        csvUploadJob.getId(), csvUploadJob.getCommittedRowOffset()));
+                try {
+                    scheduleCsvUploadJob(csvUploadJob);
+                } catch (CsvUploadJobRejectedException e) {
+                    log.error(String.format("Could not resume csv upload job %d: %s",
+                            csvUploadJob.getId(), e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void scheduleCsvUploadJob(CsvUploadJob csvUploadJob) {
+        if (!scheduledJobIds.add(csvUploadJob.getId())) {
+            return;
+        }
+        try {
+            csvUploadJobExecutor.execute(() -> processCsvUploadJob(csvUploadJob));
+        } catch (TaskRejectedException e) {
+            scheduledJobIds.remove(csvUploadJob.getId());
+            csvUploadJob.setStatus(CsvUploadJobStatus.FAILED);
+            csvUploadJob.setErrorMessage(Constants.CSV_UPLOAD_QUEUE_FULL);
+            saveAndNotify(csvUploadJob);
+            deleteSpoolFile(csvUploadJob);
+            throw new CsvUploadJobRejectedException(Constants.CSV_UPLOAD_QUEUE_FULL);
+        }
+    }
+
+    private void processCsvUploadJob(CsvUploadJob csvUploadJob) {
+        long rowsParsed = csvUploadJob.getRowsParsed();
+        long rowsPublished = csvUploadJob.getRowsPublished();
+        long rowsFailed = csvUploadJob.getRowsFailed();
+        csvUploadJob.setStatus(CsvUploadJobStatus.RUNNING);
+        saveAndNotify(csvUploadJob);
+        try (InputStream inputStream = Files.newInputStream(Path.of(csvUploadJob.getSpoolPath()))) {
+            CsvIngestionSummary summary = csvService.readCsvDataAndSendToKafka(inputStream,
+                    csvUploadJob.getCreditorUsername(), csvUploadJob.getCommittedRowOffset(),
+                    (chunkSummary, committedRowOffset) -> {
+                        updateProgress(csvUploadJob, rowsParsed, rowsPublished, rowsFailed, chunkSummary);
+                        csvUploadJob.setCommittedRowOffset(committedRowOffset);
+                        saveAndNotify(csvUploadJob);
+                    });
+            updateProgress(csvUploadJob, rowsParsed, rowsPublished, rowsFailed, summary);
+            csvUploadJob.setStatus(CsvUploadJobStatus.COMPLETED);
+        } catch (Exception e) {
+            log.error(String.format("Csv upload job %d failed: %s", csvUploadJob.getId(), e.getMessage()));
+            csvUploadJob.setStatus(CsvUploadJobStatus.FAILED);
+            csvUploadJob.setErrorMessage(e.getMessage());
+        } finally {
+            scheduledJobIds.remove(csvUploadJob.getId());
+        }
+        saveAndNotify(csvUploadJob);
+        deleteSpoolFile(csvUploadJob);
+    }
+
+    private void updateProgress(CsvUploadJob csvUploadJob, long rowsParsed, long rowsPublished, long rowsFailed,
+                                CsvIngestionSummary summary) {
+        csvUploadJob.setRowsParsed(rowsParsed + summary.getRowsRead());
+        csvUploadJob.setRowsPublished(rowsPublished + summary.getRowsPublished());
+        csvUploadJob.setRowsFailed(rowsFailed + summary.getRowsFailed());
+        csvUploadJob.setRowsPerSecond(summary.getRowsPerSecond());
+    }
+
+    private void saveAndNotify(CsvUploadJob csvUploadJob) {
+        csvUploadJob.setModifiedDate(LocalDateTime.now());
+        csvUploadJobRepository.save(csvUploadJob);
+        messagingTemplate.convertAndSendToUser(
+                csvUploadJob.getCreditorUsername(),
+                "/topic/csv-upload-jobs",
+                csvUploadJob
+        );
+    }
+
+    private void deleteSpoolFile(CsvUploadJob csvUploadJob) {
+        try {
+            Files.deleteIfExists(Path.of(csvUploadJob.getSpoolPath()));
+        } catch (IOException e) {
+            log.warn(String.format("Could not delete spooled file %s: %s",
+                    csvUploadJob.getSpoolPath(), e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.model.*;
+import com.dm.debtease.repository.DebtCaseJdbcRepository;
+import com.dm.debtease.repository.DebtCaseRepository;
+import com.dm.debtease.resilience.CircuitBreaker;
+import com.dm.debtease.service.CompanyMatchingService;
+import com.dm.debtease.service.DebtCaseEnrichmentService;
+import com.dm.debtease.service.PhoneNumberVerificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@SuppressWarnings("unused")
+public class DebtCaseEnrichmentServiceImpl implements DebtCaseEnrichmentService {
+    private final CompanyMatchingService companyMatchingService;
+    private final DebtCaseRepository debtCaseRepository;
+    private final DebtCaseJdbcRepository debtCaseJdbcRepository;
+    private final PhoneNumberVerificationService phoneNumberVerificationService;
+    private final CircuitBreaker numverifyCircuitBreaker;
+    private final SimpMessagingTemplate messagingTemplate;
+    @Value("${spring.numverify.re-enrichment.batch-size:100}")
+    private int reEnrichmentBatchSize;
+
+    @Override
+    public void enrichDebtCases(List<DebtCase> debtCases) {
+        Map<String, VerifiedPhoneNumberInformation> verifiedPhoneNumbers =
+                phoneNumberVerificationService.getVerifiedPhoneNumberInformation(debtCases.stream()
+                        .map(debtCase -> debtCase.getDebtor().getPhoneNumber())
+                        .toList());
+        for (DebtCase debtCase : debtCases) {
+            Creditor creditor = debtCase.getCreditor();
+            Company company = companyMatchingService.findBestMatchingCompany(creditor.getName());
+            if (creditor.getCompany() == null || !creditor.getCompany().equals(company)) {
+                creditor.setCompany(company);
+            }
+            Debtor debtor = debtCase.getDebtor();
+            String phoneNumber = phoneNumberVerificationService.normalizePhoneNumber(debtor.getPhoneNumber());
+            VerifiedPhoneNumberInformation verifiedPhoneNumberInformation = verifiedPhoneNumbers.get(phoneNumber);
+            if (verifiedPhoneNumberInformation != null) {
+                debtor.setVerifiedPhoneNumberInformation(verifiedPhoneNumberInformation);
+            }
+            boolean verificationMissing = phoneNumber != null && !phoneNumber.isEmpty()
+                    && debtor.getVerifiedPhoneNumberInformation() == null;
+            debtCase.setEnrichmentStatus(verificationMissing ? EnrichmentStatus.PENDING : EnrichmentStatus.ENRICHED);
+        }
+    }
+
+    @Override
+    public int reEnrichPendingDebtCases() {
+        int lastSeenId = 0;
+        int pendingDebtCasesSeen = 0;
+        int enrichedDebtCases = 0;
+        // walk pending cases by id so cases that still cannot be enriched do not block the ones behind them
+        while (!numverifyCircuitBreaker.isOpen()) {
+            List<DebtCase> pendingDebtCases = debtCaseRepository.findByEnrichmentStatusAndIdGreaterThanOrderByIdAsc(
+                    EnrichmentStatus.PENDING, lastSeenId, Limit.of(reEnrichmentBatchSize));
+            if (pendingDebtCases.isEmpty()) {
+                break;
+            }
+            lastSeenId = pendingDebtCases.get(pendingDebtCases.size() - 1).getId();
+            pendingDebtCasesSeen += pendingDebtCases.size();
+            enrichDebtCases(pendingDebtCases);
+            Set<Integer> enrichedDebtCaseIds = debtCaseJdbcRepository.saveReEnrichedDebtCases(pendingDebtCases);
+            for (DebtCase debtCase : pendingDebtCases) {
+                if (enrichedDebtCaseIds.contains(debtCase.getId())) {
+                    enrichedDebtCases++;
+                    notifyCreditor(debtCase);
+                }
+            }
+        }
+        if (pendingDebtCasesSeen > 0) {
+            log.info(String.format("Re-enriched %d of %d pending debt cases", enrichedDebtCases,
+                    pendingDebtCasesSeen));
+        }
+        return enrichedDebtCases;
+    }
+
+    // the case is already stored, so a failed push must not stop the remaining pages
+    private void notifyCreditor(DebtCase debtCase) {
+        String username = debtCase.getCreditor().getUser().getUsername();
+        try {
+            messagingTemplate.convertAndSendToUser(username, "/topic/enriched-debt-cases", debtCase);
+        } catch (MessagingException e) {
+            log.warn(String.format("Could not notify creditor %s about enriched debt case %d: %s", username,
+                    debtCase.getId(), e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.model.DebtCaseExportFormat;
+import com.dm.debtease.model.DebtCaseExportRow;
+import com.dm.debtease.repository.DebtCaseJdbcRepository;
+import com.dm.debtease.service.DebtCaseExportService;
+import com.dm.debtease.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.opencsv.CSVWriterBuilder;
+import com.opencsv.ICSVWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Log4j2
+@RequiredArgsConstructor
+@Service
+@SuppressWarnings("unused")
+public class DebtCaseExportServiceImpl implements DebtCaseExportService {
+    private static final String[] CSV_HEADER = {"Name", "Surname", "Email", "PhoneNumber", "DebtType", "AmountOwed",
+            "LateInterestRate", "DebtInterestRate", "DueDate"};
+
+    private final DebtCaseJdbcRepository debtCaseJdbcRepository;
+    private final ObjectMapper objectMapper;
+    @Value("${spring.debt-case.export.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Writes every debt case of the creditor to {@code outputStream} while reading them. The transaction keeps the
+     * database cursor open, so only one fetch of rows is held in memory at a time. The stream is flushed but not
+     * closed.
+     *
+     * @return number of exported debt cases
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportDebtCasesByCreditorUsername(String username, DebtCaseExportFormat format,
+                                                  OutputStream outputStream) throws IOException {
+        long startTime = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long[] exportedRows = new long[1];
+        try {
+            if (format == DebtCaseExportFormat.CSV) {
+                ICSVWriter csvWriter = new CSVWriterBuilder(writer).withSeparator(';').build();
+                csvWriter.writeNext(CSV_HEADER, false);
+                // opencsv records write failures instead of throwing, so a closed connection is checked per row
+                streamRows(username, exportedRows, row -> {
+                    csvWriter.writeNext(toCsvLine(row), false);
+                    if (csvWriter.getException() != null) {
+                        throw new UncheckedIOException(csvWriter.getException());
+                    }
+                });
+                csvWriter.flush();
+            } else {
+                SequenceWriter sequenceWriter = objectMapper.writer()
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                        .withRootValueSeparator("\n")
+                        .writeValues(writer);
+                streamRows(username, exportedRows, row -> {
+                    try {
+                        sequenceWriter.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                sequenceWriter.flush();
+                if (exportedRows[0] > 0) {
+                    writer.write('\n');
+                }
+            }
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info(String.format("Exported %d debt cases of creditor %s as %s in %d ms", exportedRows[0], username,
+                format, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+        return exportedRows[0];
+    }
+
+    private void streamRows(String username, long[] exportedRows, Consumer<DebtCaseExportRow> rowWriter) {
+        debtCaseJdbcRepository.streamDebtCaseExportRowsByCreditorUsername(username, fetchSize, row -> {
+            rowWriter.accept(row);
+            exportedRows[0]++;
+        });
+    }
+
+    private static String[] toCsvLine(DebtCaseExportRow row) {
+        return new String[]{row.getName(), row.getSurname(), row.getEmail(), row.getPhoneNumber(), row.getDebtType(),
+                row.getAmountOwed().toPlainString(), String.valueOf(row.getLateInterestRate()),
+                String.valueOf(row.getDebtInterestRate()), row.getDueDate().format(Constants.DATE_TIME_FORMATTER)};
+    }
+}
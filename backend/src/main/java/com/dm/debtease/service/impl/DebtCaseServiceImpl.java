@@ -2,28 +2,64 @@ package com.dm.debtease.service.impl;
 
 import com.dm.debtease.model.DebtCase;
 import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.DebtPaymentProjection;
 import com.dm.debtease.model.DebtPaymentStrategy;
 import com.dm.debtease.model.dto.DebtCaseDTO;
+import com.dm.debtease.model.dto.DebtCasePageRequestDTO;
 import com.dm.debtease.model.dto.DebtPaymentStrategyDTO;
 import com.dm.debtease.model.dto.PaymentRequestDTO;
+import com.dm.debtease.model.view.DebtCaseCursor;
+import com.dm.debtease.model.view.DebtCaseView;
+import com.dm.debtease.model.view.DebtCaseViewPage;
 import com.dm.debtease.repository.DebtCaseRepository;
+import com.dm.debtease.repository.DebtCaseViewRepository;
+import com.dm.debtease.repository.DebtorRepository;
 import com.dm.debtease.service.DebtCaseService;
 import com.dm.debtease.service.DebtCaseTypeService;
+import com.dm.debtease.simulation.PaymentStrategySimulator;
+import com.dm.debtease.simulation.PayoffProjector;
 import com.dm.debtease.utils.Constants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
 @RequiredArgsConstructor
 @Service
+@SuppressWarnings("unused")
 public class DebtCaseServiceImpl implements DebtCaseService {
     private final DebtCaseRepository debtCaseRepository;
     private final DebtCaseTypeService debtCaseTypeService;
+    private final DebtorRepository debtorRepository;
+    private final DebtCaseViewRepository debtCaseViewRepository;
+    @Value("${spring.debt-case.list.default-page-size:100}")
+    private int defaultPageSize;
+    @Value("${spring.debt-case.list.max-page-size:500}")
+    private int maxPageSize;
+    @Value("${spring.payment-strategy.projection.max-months:1200}")
+    private int projectionMaxMonths;
+    @Value("${spring.payment-strategy.cache.maximum-size:10000}")
+    private long strategyCacheMaximumSize;
+    @Value("${spring.payment-strategy.cache.ttl-minutes:30}")
+    private long strategyCacheTtlMinutes;
+
+    private Cache<PaymentStrategyKey, DebtPaymentStrategy> paymentStrategies;
+
+    @PostConstruct
+    public void init() {
+        paymentStrategies = Caffeine.newBuilder()
+                .maximumSize(strategyCacheMaximumSize)
+                .expireAfterWrite(Duration.ofMinutes(strategyCacheTtlMinutes))
+                .build();
+    }
 
     @Override
     public List<DebtCase> getAllDebtCases() {
@@ -47,6 +83,48 @@ public class DebtCaseServiceImpl implements DebtCaseService {
         return debtCaseRepository.findByDebtor_User_Username(username);
     }
 
+    @Override
+    public DebtCaseViewPage getDebtCaseViews(DebtCasePageRequestDTO debtCasePageRequestDTO) {
+        return getDebtCaseViewPage(null, null, debtCasePageRequestDTO);
+    }
+
+    @Override
+    public DebtCaseViewPage getDebtCaseViewsByCreditorUsername(String username,
+                                                               DebtCasePageRequestDTO debtCasePageRequestDTO) {
+        return getDebtCaseViewPage(username, null, debtCasePageRequestDTO);
+    }
+
+    @Override
+    public DebtCaseViewPage getDebtCaseViewsByDebtorUsername(String username,
+                                                             DebtCasePageRequestDTO debtCasePageRequestDTO) {
+        return getDebtCaseViewPage(null, username, debtCasePageRequestDTO);
+    }
+
+    private DebtCaseViewPage getDebtCaseViewPage(String creditorUsername, String debtorUsername,
+                                                 DebtCasePageRequestDTO debtCasePageRequestDTO) {
+        Integer requestedLimit = debtCasePageRequestDTO.getLimit();
+        if (requestedLimit == null && debtCasePageRequestDTO.getCursor() == null) {
+            // paging is opt-in, clients that do not ask for a page keep receiving the whole listing
+            return new DebtCaseViewPage(debtCaseViewRepository.findPage(creditorUsername, debtorUsername,
+                    debtCasePageRequestDTO, null, null), null);
+        }
+        int limit = Math.max(1, Math.min(requestedLimit != null ? requestedLimit : defaultPageSize, maxPageSize));
+        DebtCaseCursor cursor = debtCasePageRequestDTO.getCursor() != null
+                ? DebtCaseCursor.decode(debtCasePageRequestDTO.getCursor(), debtCasePageRequestDTO.getSort(),
+                debtCasePageRequestDTO.getDirection())
+                : null;
+        // one extra row tells whether another page follows without a count query
+        List<DebtCaseView> debtCaseViews = debtCaseViewRepository.findPage(creditorUsername, debtorUsername,
+                debtCasePageRequestDTO, cursor, limit + 1);
+        if (debtCaseViews.size() <= limit) {
+            return new DebtCaseViewPage(debtCaseViews, null);
+        }
+        List<DebtCaseView> page = debtCaseViews.subList(0, limit);
+        String nextCursor = DebtCaseCursor.after(page.get(limit - 1), debtCasePageRequestDTO.getSort(),
+                debtCasePageRequestDTO.getDirection()).encode();
+        return new DebtCaseViewPage(page, nextCursor);
+    }
+
     @Override
     public DebtCase editDebtCaseByIdAndCreditorId(DebtCaseDTO debtCaseDTO, int id, int creditorId) {
         Optional<DebtCase> optionalDebtCase = debtCaseRepository.findByIdAndCreditor_Id(id, creditorId);
@@ -59,7 +137,9 @@ public class DebtCaseServiceImpl implements DebtCaseService {
                 debtCase.setDebtCaseType(debtCaseTypeService.getDebtCaseTypeById(debtCaseDTO.getTypeId()));
             }
             debtCase.setModifiedDate(LocalDateTime.now());
-            return debtCaseRepository.save(debtCase);
+            DebtCase savedDebtCase = debtCaseRepository.save(debtCase);
+            incrementDebtVersion(debtCase);
+            return savedDebtCase;
         }
         throw new EntityNotFoundException(
                 String.format(Constants.DEBT_CASE_NOT_FOUND_WITH_ID_CREDITOR_ID, id, creditorId));
@@ -70,6 +150,7 @@ public class DebtCaseServiceImpl implements DebtCaseService {
         Optional<DebtCase> optionalDebtCase = debtCaseRepository.findByIdAndCreditor_Id(id, creditorId);
         if (optionalDebtCase.isPresent()) {
             debtCaseRepository.deleteById(id);
+            incrementDebtVersion(optionalDebtCase.get());
             return true;
         }
         throw new EntityNotFoundException(
@@ -88,6 +169,14 @@ public class DebtCaseServiceImpl implements DebtCaseService {
         );
     }
 
+    @Override
+    public List<DebtCase> findExistingDebtCases(String username, Collection<Integer> debtorIds) {
+        if (debtorIds.isEmpty()) {
+            return List.of();
+        }
+        return debtCaseRepository.findByCreditor_User_UsernameAndDebtor_IdIn(username, debtorIds);
+    }
+
     @Override
     public boolean isDebtCasePending(DebtCase debtCase, LocalDateTime startTime, LocalDateTime endTime) {
         return debtCase.getDueDate().isAfter(startTime)
@@ -107,7 +196,9 @@ public class DebtCaseServiceImpl implements DebtCaseService {
         }
         debtCase.setAmountOwed(newAmountOwed);
         debtCase.setDebtCaseStatus(newStatus);
-        return debtCaseRepository.save(debtCase);
+        DebtCase savedDebtCase = debtCaseRepository.save(debtCase);
+        incrementDebtVersion(debtCase);
+        return savedDebtCase;
     }
 
     @Override
@@ -120,6 +211,20 @@ public class DebtCaseServiceImpl implements DebtCaseService {
     @Override
     public DebtPaymentStrategy calculateDebtPaymentStrategies(DebtPaymentStrategyDTO debtPaymentStrategyDTO,
                                                               String username) {
+        // the version is read before the cases, so a concurrent change can only leave an entry under a dead key
+        Optional<Long> debtVersion = debtorRepository.findDebtVersionByUserUsername(username);
+        if (debtVersion.isEmpty()) {
+            return calculateDebtPaymentStrategiesUncached(debtPaymentStrategyDTO, username);
+        }
+        PaymentStrategyKey key = new PaymentStrategyKey(username, debtVersion.get(),
+                debtPaymentStrategyDTO.getMinimalMonthlyPaymentForEachDebt().stripTrailingZeros(),
+                debtPaymentStrategyDTO.getExtraMonthlyPaymentForHighestDebt().stripTrailingZeros());
+        return paymentStrategies.get(key,
+                ignored -> calculateDebtPaymentStrategiesUncached(debtPaymentStrategyDTO, username));
+    }
+
+    private DebtPaymentStrategy calculateDebtPaymentStrategiesUncached(DebtPaymentStrategyDTO debtPaymentStrategyDTO,
+                                                                      String username) {
         List<DebtCase> debtCases = getDebtCasesByDebtorUsername(username);
         if (!debtCases.isEmpty())
         {
@@ -140,50 +245,42 @@ public class DebtCaseServiceImpl implements DebtCaseService {
                 String.format(Constants.DEBT_CASES_EMPTY, username));
     }
 
+    @Override
+    public DebtPaymentProjection calculateDebtPaymentProjections(DebtPaymentStrategyDTO debtPaymentStrategyDTO,
+                                                                 String username) {
+        List<DebtCase> debtCases = getDebtCasesByDebtorUsername(username);
+        if (!debtCases.isEmpty())
+        {
+            debtCases = new ArrayList<>(filterClosedDebtCases(debtCases));
+            DebtPaymentProjection debtPaymentProjection = new DebtPaymentProjection();
+
+            debtCases.sort(Comparator.comparing(DebtCase::getAmountOwed));
+            debtPaymentProjection.setSnowball(PayoffProjector.project(debtCases,
+                    debtPaymentStrategyDTO.getExtraMonthlyPaymentForHighestDebt(),
+                    debtPaymentStrategyDTO.getMinimalMonthlyPaymentForEachDebt(), projectionMaxMonths));
+
+            debtCases.sort(Comparator.comparing(DebtCase::getDebtInterestRate).reversed());
+            debtPaymentProjection.setAvalanche(PayoffProjector.project(debtCases,
+                    debtPaymentStrategyDTO.getExtraMonthlyPaymentForHighestDebt(),
+                    debtPaymentStrategyDTO.getMinimalMonthlyPaymentForEachDebt(), projectionMaxMonths));
+
+            return debtPaymentProjection;
+        }
+        throw new EntityNotFoundException(
+                String.format(Constants.DEBT_CASES_EMPTY, username));
+    }
+
     private List<BigDecimal> calculatePaymentStrategyUntilPayedOff(DebtPaymentStrategyDTO debtPaymentStrategyDTO,
                                                                    List<DebtCase> debtCases) {
-        List<BigDecimal> strategyBalanceEachMonth = new LinkedList<>();
-        List<DebtCase> tempDebtCases = new ArrayList<>(debtCases.stream().map(DebtCase::new).toList());
-        BigDecimal totalDebt = calculateTotalDebt(tempDebtCases);
-        strategyBalanceEachMonth.add(totalDebt);
-        BigDecimal extraPaymentForSmallestDebt = debtPaymentStrategyDTO.getExtraMonthlyPaymentForHighestDebt();
-        BigDecimal minimalMonthlyPaymentForEachDebt = debtPaymentStrategyDTO.getMinimalMonthlyPaymentForEachDebt();
-        while (totalDebt.compareTo(BigDecimal.ZERO) > 0) {
-            for (int i = 0; i < tempDebtCases.size(); i++) {
-                if (strategyBalanceEachMonth.size() == 240) {
-                    return strategyBalanceEachMonth;
-                }
-                DebtCase debt = tempDebtCases.get(i);
-                BigDecimal amountOwedWithInterestRate =
-                        debt.getAmountOwed().multiply(BigDecimal.valueOf((debt.getDebtInterestRate() / 12) / 100))
-                                .setScale(2, RoundingMode.HALF_UP);
-                debt.setAmountOwed(debt.getAmountOwed().add(amountOwedWithInterestRate));
-                totalDebt = totalDebt.add(amountOwedWithInterestRate);
-                if (i == 0) {
-                    BigDecimal extraPayment = extraPaymentForSmallestDebt.compareTo(debt.getAmountOwed()) < 0 ?
-                            extraPaymentForSmallestDebt : debt.getAmountOwed();
-                    debt.setAmountOwed(debt.getAmountOwed().subtract(extraPayment));
-                    totalDebt = totalDebt.subtract(extraPayment);
-                } else {
-                    BigDecimal minimalPayment = minimalMonthlyPaymentForEachDebt.compareTo(debt.getAmountOwed()) < 0 ?
-                            minimalMonthlyPaymentForEachDebt : debt.getAmountOwed();
-                    debt.setAmountOwed(debt.getAmountOwed().subtract(minimalPayment));
-                    totalDebt = totalDebt.subtract(minimalPayment);
-                }
-                if (debt.getAmountOwed().compareTo(BigDecimal.ZERO) <= 0) {
-                    tempDebtCases.remove(debt);
-                    i--;
-                }
-            }
-            strategyBalanceEachMonth.add(totalDebt);
-        }
-        return strategyBalanceEachMonth;
+        return PaymentStrategySimulator.simulateBalanceEachMonth(debtCases,
+                debtPaymentStrategyDTO.getExtraMonthlyPaymentForHighestDebt(),
+                debtPaymentStrategyDTO.getMinimalMonthlyPaymentForEachDebt());
     }
 
-    private BigDecimal calculateTotalDebt(List<DebtCase> debtCases) {
-        return debtCases.stream()
-                .map(DebtCase::getAmountOwed)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private void incrementDebtVersion(DebtCase debtCase) {
+        if (debtCase.getDebtor() != null) {
+            debtorRepository.incrementDebtVersion(debtCase.getDebtor().getId());
+        }
     }
 
     private List<DebtCase> filterClosedDebtCases(List<DebtCase> debtCases) {
@@ -191,4 +288,8 @@ public class DebtCaseServiceImpl implements DebtCaseService {
                 .filter(debtCase -> !DebtCaseStatus.CLOSED.equals(debtCase.getDebtCaseStatus()))
                 .toList();
     }
+
+    private record PaymentStrategyKey(String username, long debtVersion, BigDecimal minimalMonthlyPayment,
+                                      BigDecimal extraMonthlyPayment) {
+    }
 }
@@ -1,7 +1,7 @@
 package com.dm.debtease.service.impl;
 
 import com.dm.debtease.model.DebtCaseType;
-import com.dm.debtease.repository.DebtCaseTypeRepository;
+import com.dm.debtease.repository.DebtCaseTypeRegistry;
 import com.dm.debtease.service.DebtCaseTypeService;
 import com.dm.debtease.utils.Constants;
 import jakarta.persistence.EntityNotFoundException;
@@ -14,36 +14,29 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 public class DebtCaseTypeServiceImpl implements DebtCaseTypeService {
-    private final DebtCaseTypeRepository debtCaseTypeRepository;
+    private final DebtCaseTypeRegistry debtCaseTypeRegistry;
 
     @Override
     public List<DebtCaseType> getAllDebtCaseTypes() {
-        return debtCaseTypeRepository.findAll();
+        return debtCaseTypeRegistry.getAll();
     }
 
     @Override
     public DebtCaseType getDebtCaseTypeById(int id) {
-        Optional<DebtCaseType> optionalDebtCaseType = debtCaseTypeRepository.findById(id);
+        Optional<DebtCaseType> optionalDebtCaseType = debtCaseTypeRegistry.getById(id);
         return optionalDebtCaseType.orElseThrow(
                 () -> new EntityNotFoundException(String.format(Constants.DEBT_CASE_TYPE_NOT_FOUND, id)));
     }
 
     @Override
     public DebtCaseType findMatchingDebtCaseType(String typeToMatch) {
-        List<DebtCaseType> debtCaseTypes = debtCaseTypeRepository.findAll();
-        return debtCaseTypes.stream()
-                .filter(debtCaseType -> debtCaseType.getType().contains(typeToMatch))
-                .findFirst()
-                .orElse(getDefaultDebtCaseType());
+        return debtCaseTypeRegistry.findFirstContaining(typeToMatch)
+                .orElseGet(this::getDefaultDebtCaseType);
     }
 
     @Override
     public DebtCaseType getDefaultDebtCaseType() {
-        List<DebtCaseType> debtCaseTypes = debtCaseTypeRepository.findAll();
-        return debtCaseTypes.stream()
-                .filter(debtCaseType -> debtCaseType.getId() == 15)
-                .findFirst()
-                .orElse(null);
+        return debtCaseTypeRegistry.getDefault();
     }
 
     @Override
@@ -56,11 +49,6 @@ public class DebtCaseTypeServiceImpl implements DebtCaseTypeService {
 
     @Override
     public String formatDebtCaseType(String debtTypeName) {
-        String[] parts = debtTypeName.split("_");
-        StringBuilder formattedName = new StringBuilder();
-        for (String part : parts) {
-            formattedName.append(part.charAt(0)).append(part.substring(1).toLowerCase()).append(" ");
-        }
-        return formattedName.toString().trim();
+        return debtCaseTypeRegistry.getFormattedType(debtTypeName);
     }
 }
@@ -9,6 +9,7 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,6 +41,14 @@ public class DebtorServiceImpl implements DebtorService {
         return existingDebtor.orElse(null);
     }
 
+    @Override
+    public List<Debtor> getDebtorsByNamesAndSurnames(Collection<String> names, Collection<String> surnames) {
+        if (names.isEmpty() || surnames.isEmpty()) {
+            return List.of();
+        }
+        return debtorRepository.findByNameInAndSurnameIn(names, surnames);
+    }
+
     @Override
     public Debtor editDebtorById(DebtorDTO debtorDTO, int id) {
         Optional<Debtor> optionalDebtor = debtorRepository.findById(id);
@@ -64,6 +73,25 @@ public class DebtorServiceImpl implements DebtorService {
 
     @Override
     public Debtor createDebtor(DebtorDTO debtorDTO) {
+        return debtorRepository.save(toDebtor(debtorDTO));
+    }
+
+    @Override
+    public List<Debtor> createDebtors(List<DebtorDTO> debtorDTOs) {
+        return debtorRepository.saveAll(debtorDTOs.stream().map(this::toDebtor).toList());
+    }
+
+    @Override
+    public boolean deleteDebtorById(int id) {
+        Optional<Debtor> optionalDebtor = debtorRepository.findById(id);
+        if (optionalDebtor.isPresent()) {
+            debtorRepository.deleteById(id);
+            return true;
+        }
+        throw new EntityNotFoundException(String.format(Constants.DEBTOR_NOT_FOUND, id));
+    }
+
+    private Debtor toDebtor(DebtorDTO debtorDTO) {
         Debtor debtor = new Debtor();
         if (debtorDTO.getName() != null) {
             debtor.setName(debtorDTO.getName());
@@ -77,16 +105,6 @@ public class DebtorServiceImpl implements DebtorService {
         if (debtorDTO.getPhoneNumber() != null) {
             debtor.setPhoneNumber(debtorDTO.getPhoneNumber());
         }
-        return debtorRepository.save(debtor);
-    }
-
-    @Override
-    public boolean deleteDebtorById(int id) {
-        Optional<Debtor> optionalDebtor = debtorRepository.findById(id);
-        if (optionalDebtor.isPresent()) {
-            debtorRepository.deleteById(id);
-            return true;
-        }
-        throw new EntityNotFoundException(String.format(Constants.DEBTOR_NOT_FOUND, id));
+        return debtor;
     }
 }
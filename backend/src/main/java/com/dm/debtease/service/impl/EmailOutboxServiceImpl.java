@@ -0,0 +1,171 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.EmailDigest;
+import com.dm.debtease.model.EmailDispatchSummary;
+import com.dm.debtease.model.EmailOutboxMessage;
+import com.dm.debtease.model.NotificationType;
+import com.dm.debtease.repository.DebtCaseRepository;
+import com.dm.debtease.repository.EmailOutboxJdbcRepository;
+import com.dm.debtease.service.EmailOutboxService;
+import com.dm.debtease.service.EmailService;
+import com.dm.debtease.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@SuppressWarnings("unused")
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+    private final EmailOutboxJdbcRepository emailOutboxJdbcRepository;
+    private final DebtCaseRepository debtCaseRepository;
+    private final EmailService emailService;
+    private final ThreadPoolTaskExecutor mailDispatchExecutor;
+    @Value("${spring.mail.outbox.batch-size:200}")
+    private int batchSize;
+    @Value("${spring.mail.outbox.messages-per-connection:50}")
+    private int messagesPerConnection;
+    @Value("${spring.mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+    @Value("${spring.mail.outbox.retry-base-delay-seconds:30}")
+    private long retryBaseDelaySeconds;
+    @Value("${spring.mail.outbox.retry-max-delay-seconds:3600}")
+    private long retryMaxDelaySeconds;
+    @Value("${spring.mail.outbox.claim-timeout-minutes:10}")
+    private long claimTimeoutMinutes;
+
+    @Override
+    public int enqueue(List<DebtCase> debtCases, NotificationType notificationType) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> messages = new ArrayList<>(debtCases.size());
+        for (DebtCase debtCase : debtCases) {
+            EmailOutboxMessage message = new EmailOutboxMessage();
+            message.setDebtCaseId(debtCase.getId());
+            message.setDebtorId(debtCase.getDebtor().getId());
+            message.setNotificationType(notificationType);
+            message.setDedupKey(dedupKey(debtCase, notificationType, now));
+            message.setNextAttemptAt(now);
+            message.setCreatedDate(now);
+            messages.add(message);
+        }
+        return emailOutboxJdbcRepository.enqueue(messages);
+    }
+
+    @Override
+    public int enqueueOpenDebtorDigests(NotificationType notificationType) {
+        LocalDateTime now = LocalDateTime.now();
+        return emailOutboxJdbcRepository.enqueueOpenDebtorDigests(notificationType,
+                String.format("%s:debtor:", notificationType), String.format(":%s", now.toLocalDate()), now);
+    }
+
+    @Override
+    public EmailDispatchSummary drainOutbox() {
+        long startTime = System.currentTimeMillis();
+        EmailDispatchSummary summary = new EmailDispatchSummary();
+        int released = emailOutboxJdbcRepository.releaseStaleClaims(
+                LocalDateTime.now().minusMinutes(claimTimeoutMinutes));
+        if (released > 0) {
+            log.info(String.format("Released %d outbox messages left claimed by a stopped sender", released));
+        }
+        List<EmailOutboxMessage> messages;
+        do {
+            messages = emailOutboxJdbcRepository.claimDueMessages(LocalDateTime.now(), batchSize);
+            if (!messages.isEmpty()) {
+                sendDigests(messages, summary);
+            }
+        } while (messages.size() >= batchSize);
+        summary.setElapsedMillis(System.currentTimeMillis() - startTime);
+        return summary;
+    }
+
+    private void sendDigests(List<EmailOutboxMessage> messages, EmailDispatchSummary summary) {
+        Set<Integer> debtCaseIds = new HashSet<>();
+        Set<Integer> digestDebtorIds = new HashSet<>();
+        for (EmailOutboxMessage message : messages) {
+            if (message.getDebtCaseId() != null) {
+                debtCaseIds.add(message.getDebtCaseId());
+            } else {
+                digestDebtorIds.add(message.getDebtorId());
+            }
+        }
+        Map<Integer, DebtCase> debtCases = debtCaseIds.isEmpty() ? Map.of() :
+                debtCaseRepository.findByIdIn(debtCaseIds).stream()
+                        .collect(Collectors.toMap(DebtCase::getId, Function.identity()));
+        Map<Integer, List<DebtCase>> openDebtCasesByDebtor = digestDebtorIds.isEmpty() ? Map.of() :
+                debtCaseRepository.findOpenDebtCasesByDebtorIds(digestDebtorIds).stream()
+                        .collect(Collectors.groupingBy(debtCase -> debtCase.getDebtor().getId()));
+        Map<Integer, List<EmailOutboxMessage>> messagesByDebtor = messages.stream()
+                .collect(Collectors.groupingBy(EmailOutboxMessage::getDebtorId, LinkedHashMap::new,
+                        Collectors.toList()));
+        List<Integer> sentIds = new ArrayList<>();
+        List<Integer> failedIds = new ArrayList<>();
+        List<List<EmailOutboxMessage>> digestMessages = new ArrayList<>();
+        List<EmailDigest> digests = new ArrayList<>();
+        for (List<EmailOutboxMessage> debtorMessages : messagesByDebtor.values()) {
+            // one digest per debtor, however many of their cases were queued or queued more than once
+            Map<Integer, DebtCase> debtorDebtCases = new LinkedHashMap<>();
+            for (EmailOutboxMessage message : debtorMessages) {
+                if (message.getDebtCaseId() == null) {
+                    openDebtCasesByDebtor.getOrDefault(message.getDebtorId(), List.of())
+                            .forEach(debtCase -> debtorDebtCases.putIfAbsent(debtCase.getId(), debtCase));
+                } else if (debtCases.containsKey(message.getDebtCaseId())) {
+                    debtorDebtCases.putIfAbsent(message.getDebtCaseId(), debtCases.get(message.getDebtCaseId()));
+                }
+            }
+            List<DebtCase> digestDebtCases = new ArrayList<>(debtorDebtCases.values());
+            if (digestDebtCases.isEmpty()) {
+                // the cases were deleted or closed after being queued, there is nothing left to notify about
+                debtorMessages.forEach(message -> sentIds.add(message.getId()));
+                continue;
+            }
+            digestMessages.add(debtorMessages);
+            digests.add(new EmailDigest(digestDebtCases.get(0).getDebtor(), digestDebtCases));
+        }
+        // each worker sends its share of digests over a single SMTP connection
+        List<CompletableFuture<List<Boolean>>> pendingConnections = new ArrayList<>();
+        for (int from = 0; from < digests.size(); from += messagesPerConnection) {
+            List<EmailDigest> connectionDigests =
+                    digests.subList(from, Math.min(from + messagesPerConnection, digests.size()));
+            pendingConnections.add(CompletableFuture.supplyAsync(
+                    () -> emailService.sendDigestEmails(connectionDigests), mailDispatchExecutor));
+        }
+        int digestIndex = 0;
+        for (CompletableFuture<List<Boolean>> pendingConnection : pendingConnections) {
+            int connectionSize = Math.min(messagesPerConnection, digests.size() - digestIndex);
+            List<Boolean> results = pendingConnection.exceptionally(throwable -> {
+                log.error(String.format("Error sending email %s", throwable.getMessage()));
+                return Collections.nCopies(connectionSize, false);
+            }).join();
+            for (boolean sent : results) {
+                summary.addResult(sent);
+                digestMessages.get(digestIndex++).forEach(message -> (sent ? sentIds : failedIds).add(message.getId()));
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!sentIds.isEmpty()) {
+            emailOutboxJdbcRepository.markSent(sentIds, now);
+        }
+        if (!failedIds.isEmpty()) {
+            emailOutboxJdbcRepository.markForRetry(failedIds, Constants.EMAIL_NOT_SENT, maxAttempts,
+                    retryBaseDelaySeconds, retryMaxDelaySeconds, now);
+        }
+    }
+
+    private String dedupKey(DebtCase debtCase, NotificationType notificationType, LocalDateTime now) {
+        if (notificationType == NotificationType.NEW_DEBT_CASE) {
+            return String.format("%s:%d", notificationType, debtCase.getId());
+        }
+        // reminders may repeat, but a case is reminded at most once a day per reminder type
+        return String.format("%s:%d:%s", notificationType, debtCase.getId(), now.toLocalDate());
+    }
+}
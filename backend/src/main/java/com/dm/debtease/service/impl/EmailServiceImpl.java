@@ -3,67 +3,175 @@ package com.dm.debtease.service.impl;
 import com.dm.debtease.model.Creditor;
 import com.dm.debtease.model.DebtCase;
 import com.dm.debtease.model.Debtor;
+import com.dm.debtease.model.EmailDigest;
 import com.dm.debtease.service.EmailService;
 import com.dm.debtease.utils.Constants;
+import com.dm.debtease.utils.EmailTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
 @Service
 @RequiredArgsConstructor
 @Log4j2
 @SuppressWarnings("unused")
 public class EmailServiceImpl implements EmailService {
+    private static final EmailTemplate NOTIFICATION_TEMPLATE = EmailTemplate.compile(
+            """
+                    <html>
+                    <body>
+                        <h2>Dear, {{name}} {{surname}}!</h2>
+                        <p>You have an open debt case with an amount owed of {{amountOwed}}!</p>
+                        <p>Issued by {{creditor}}.</p>
+                        <p>Please pay by {{dueDate}}!</p>
+                        <p>Best wishes,</p>
+                        <p>Debt Ease</p>
+                    </body>
+                    </html>
+                    """,
+            "name", "surname", "amountOwed", "creditor", "dueDate");
+    private static final EmailTemplate DIGEST_TEMPLATE = EmailTemplate.compile(
+            """
+                    <html>
+                    <body>
+                        <h2>Dear, {{name}} {{surname}}!</h2>
+                        <p>You have {{count}} open debt cases:</p>
+                        <ul>
+                    {{debtCases}}    </ul>
+                        <p>Best wishes,</p>
+                        <p>Debt Ease</p>
+                    </body>
+                    </html>
+                    """,
+            "name", "surname", "count", "debtCases");
+    private static final EmailTemplate DIGEST_ROW_TEMPLATE = EmailTemplate.compile(
+            "        <li>{{amountOwed}} issued by {{creditor}}, please pay by {{dueDate}}</li>\n",
+            "amountOwed", "creditor", "dueDate");
+
     private final JavaMailSender javaMailSender;
+    private final MeterRegistry meterRegistry;
     @Value("${spring.mail.username}")
     private String infoEmailUsername;
     @Value("${spring.environment}")
     private String environment;
+    private Timer sendTimer;
+    private Counter sentMessages;
+    private Counter failedMessages;
+
+    @PostConstruct
+    public void init() {
+        // per message latency, the connection time of a batch is spread over the messages it carried
+        sendTimer = Timer.builder("mail.send")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        sentMessages = Counter.builder("mail.messages").tag("result", "sent").register(meterRegistry);
+        failedMessages = Counter.builder("mail.messages").tag("result", "failed").register(meterRegistry);
+    }
 
     @Override
-    public void sendNotificationEmail(DebtCase debtCase) {
-        MimeMessage mailMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper helper = new MimeMessageHelper(mailMessage, true);
-            if (infoEmailUsername == null) {
-                infoEmailUsername = Constants.DEBT_EASE_EMAIL;
+    public boolean sendNotificationEmail(DebtCase debtCase) {
+        return sendDigestEmail(debtCase.getDebtor(), List.of(debtCase));
+    }
+
+    @Override
+    public boolean sendDigestEmail(Debtor debtor, List<DebtCase> debtCases) {
+        return sendDigestEmails(List.of(new EmailDigest(debtor, debtCases))).get(0);
+    }
+
+    @Override
+    public List<Boolean> sendDigestEmails(List<EmailDigest> digests) {
+        List<Boolean> results = new ArrayList<>(Collections.nCopies(digests.size(), false));
+        Map<MimeMessage, Integer> messageIndexes = new LinkedHashMap<>();
+        for (int i = 0; i < digests.size(); i++) {
+            try {
+                messageIndexes.put(createMessage(digests.get(i)), i);
+            } catch (MessagingException e) {
+                log.error("Error sending email {}", e.getMessage());
             }
-            helper.setFrom(new InternetAddress(infoEmailUsername));
-            Debtor debtor = debtCase.getDebtor();
+        }
+        if (messageIndexes.isEmpty()) {
+            failedMessages.increment(digests.size());
+            return results;
+        }
+        messageIndexes.values().forEach(index -> results.set(index, true));
+        long startTime = System.nanoTime();
+        try {
+            javaMailSender.send(messageIndexes.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, exception) -> {
+                Integer index = messageIndexes.get(message);
+                if (index != null) {
+                    results.set(index, false);
+                }
+            });
+            log.error("Error sending email {}", e.getMessage());
+        } catch (MailException e) {
+            messageIndexes.values().forEach(index -> results.set(index, false));
+            log.error("Error sending email {}", e.getMessage());
+        }
+        long nanosPerMessage = (System.nanoTime() - startTime) / messageIndexes.size();
+        for (int i = 0; i < messageIndexes.size(); i++) {
+            sendTimer.record(nanosPerMessage, TimeUnit.NANOSECONDS);
+        }
+        long sent = results.stream().filter(Boolean::booleanValue).count();
+        sentMessages.increment(sent);
+        failedMessages.increment(digests.size() - sent);
+        return results;
+    }
+
+    private MimeMessage createMessage(EmailDigest digest) throws MessagingException {
+        MimeMessage mailMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mailMessage, true);
+        if (infoEmailUsername == null) {
+            infoEmailUsername = Constants.DEBT_EASE_EMAIL;
+        }
+        helper.setFrom(new InternetAddress(infoEmailUsername));
+        Debtor debtor = digest.getDebtor();
+        if (Constants.TEST_ENVIRONMENT.equals(environment)) {
+            helper.setTo(infoEmailUsername);
+        } else {
+            helper.setTo(debtor.getEmail());
+        }
+        List<DebtCase> debtCases = digest.getDebtCases();
+        if (debtCases.size() == 1) {
+            DebtCase debtCase = debtCases.get(0);
             Creditor creditor = debtCase.getCreditor();
-            if (Constants.TEST_ENVIRONMENT.equals(environment)) {
-                helper.setTo(infoEmailUsername);
-            } else {
-                helper.setTo(debtor.getEmail());
+            String dueDate = debtCase.getDueDate().format(Constants.DATE_TIME_FORMATTER);
+            helper.setSubject("Pending debt until " + dueDate + " from " + creditor.getName());
+            helper.setText(NOTIFICATION_TEMPLATE.render(debtor.getName(), debtor.getSurname(),
+                    formatAmount(debtCase.getAmountOwed()), creditor.getName(), dueDate), true);
+        } else {
+            StringBuilder debtCaseRows = new StringBuilder();
+            for (DebtCase debtCase : debtCases) {
+                debtCaseRows.append(DIGEST_ROW_TEMPLATE.render(formatAmount(debtCase.getAmountOwed()),
+                        debtCase.getCreditor().getName(),
+                        debtCase.getDueDate().format(Constants.DATE_TIME_FORMATTER)));
             }
-            helper.setSubject(String.format("Pending debt until %s from %s",
-                    debtCase.getDueDate().format(Constants.DATE_TIME_FORMATTER), creditor.getName()));
-            String htmlContent = String.format(
-                    """
-                            <html>
-                            <body>
-                                <h2>Dear, %s %s!</h2>
-                                <p>You have an open debt case with an amount owed of %.2f!</p>
-                                <p>Issued by %s.</p>
-                                <p>Please pay by %s!</p>
-                                <p>Best wishes,</p>
-                                <p>Debt Ease</p>
-                            </body>
-                            </html>
-                            """,
-                    debtor.getName(), debtor.getSurname(),
-                    debtCase.getAmountOwed(), creditor.getName(),
-                    debtCase.getDueDate().format(Constants.DATE_TIME_FORMATTER));
-            helper.setText(htmlContent, true);
-            javaMailSender.send(mailMessage);
-        } catch (MessagingException e) {
-            log.error("Error sending email {}", e.getMessage());
+            helper.setSubject("You have " + debtCases.size() + " pending debts");
+            helper.setText(DIGEST_TEMPLATE.render(debtor.getName(), debtor.getSurname(), debtCases.size(),
+                    debtCaseRows), true);
         }
+        return mailMessage;
+    }
+
+    private String formatAmount(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
     }
 }
@@ -0,0 +1,141 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.model.InterestAccrualSummary;
+import com.dm.debtease.repository.DebtCaseJdbcRepository;
+import com.dm.debtease.service.InterestAccrualService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@SuppressWarnings("unused")
+public class InterestAccrualServiceImpl implements InterestAccrualService {
+    private final DebtCaseJdbcRepository debtCaseJdbcRepository;
+    private final ThreadPoolTaskExecutor interestAccrualExecutor;
+    @Value("${spring.interest-accrual.chunk-size:10000}")
+    private int chunkSize;
+    @Value("${spring.interest-accrual.late-interest-page-size:5000}")
+    private int lateInterestPageSize;
+    @Value("${spring.interest-accrual.parallelism:4}")
+    private int parallelism;
+
+    @Override
+    public InterestAccrualSummary accrueMonthlyInterest(LocalDate accrualDate) {
+        return accrueMonthlyInterest(accrualDate, 0, 1);
+    }
+
+    @Override
+    public InterestAccrualSummary accrueMonthlyInterest(LocalDate accrualDate, int partition, int partitions) {
+        long startTime = System.currentTimeMillis();
+        InterestAccrualSummary summary = new InterestAccrualSummary();
+        summary.setAccrualDate(accrualDate);
+        // cases already stamped with this accrual date are skipped, so a rerun picks up where a failed run stopped
+        int[] idRange = debtCaseJdbcRepository.findAccruableDebtCaseIdRange(accrualDate);
+        if (idRange.length == 2) {
+            accrueInSlices(summary, "monthly interest", idRange, chunk -> {
+                if (chunk % partitions != partition) {
+                    return -1;
+                }
+                return debtCaseJdbcRepository.accrueMonthlyInterest(chunkFromId(chunk, idRange),
+                        chunkToId(chunk, idRange), accrualDate);
+            });
+        }
+        summary.setElapsedMillis(System.currentTimeMillis() - startTime);
+        return summary;
+    }
+
+    @Override
+    public InterestAccrualSummary accrueLateInterest(LocalDate accrualDate) {
+        long startTime = System.currentTimeMillis();
+        InterestAccrualSummary summary = new InterestAccrualSummary();
+        summary.setAccrualDate(accrualDate);
+        int[] idRange = debtCaseJdbcRepository.findDebtCaseIdRange();
+        if (idRange.length == 2) {
+            accrueInSlices(summary, "late interest", idRange, chunk -> {
+                int toId = chunkToId(chunk, idRange);
+                int lastChargedId = chunkFromId(chunk, idRange) - 1;
+                int charged = 0;
+                List<Integer> chargedIds;
+                do {
+                    chargedIds = debtCaseJdbcRepository.accrueLateInterestPage(accrualDate, lastChargedId, toId,
+                            lateInterestPageSize);
+                    if (!chargedIds.isEmpty()) {
+                        charged += chargedIds.size();
+                        lastChargedId = Collections.max(chargedIds);
+                    }
+                } while (chargedIds.size() == lateInterestPageSize);
+                return charged;
+            });
+        }
+        summary.setElapsedMillis(System.currentTimeMillis() - startTime);
+        return summary;
+    }
+
+    /**
+     * Splits {@code idRange} into id-aligned chunks that {@code parallelism} slices take from a shared cursor, so
+     * a slice that hits sparse ids moves on to the next chunk instead of idling. Every chunk update commits on
+     * its own, and the summary gets one entry per slice.
+     *
+     * @param chunkJob accrues one chunk and returns the updated rows, or -1 when the chunk is not accrued here
+     */
+    private void accrueInSlices(InterestAccrualSummary summary, String accrual, int[] idRange,
+                                LongFunction<Integer> chunkJob) {
+        long lastChunk = idRange[1] / chunkSize;
+        AtomicLong nextChunk = new AtomicLong(idRange[0] / chunkSize);
+        int slices = (int) Math.max(1, Math.min(parallelism, lastChunk - nextChunk.get() + 1));
+        List<CompletableFuture<InterestAccrualSummary>> pendingSlices = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            int slice = i;
+            pendingSlices.add(CompletableFuture.supplyAsync(() -> {
+                long sliceStartTime = System.currentTimeMillis();
+                InterestAccrualSummary sliceSummary = new InterestAccrualSummary();
+                sliceSummary.setAccrualDate(summary.getAccrualDate());
+                long chunk;
+                while ((chunk = nextChunk.getAndIncrement()) <= lastChunk) {
+                    int rowsUpdated = chunkJob.apply(chunk);
+                    if (rowsUpdated >= 0) {
+                        int idsScanned = chunkToId(chunk, idRange) - chunkFromId(chunk, idRange) + 1;
+                        sliceSummary.addChunk(rowsUpdated, idsScanned);
+                    }
+                }
+                sliceSummary.setElapsedMillis(System.currentTimeMillis() - sliceStartTime);
+                log.info(String.format("Slice %d/%d of %s accrual has finished: %s", slice + 1, slices, accrual,
+                        sliceSummary));
+                return sliceSummary;
+            }, interestAccrualExecutor));
+        }
+        RuntimeException failure = null;
+        for (CompletableFuture<InterestAccrualSummary> pendingSlice : pendingSlices) {
+            try {
+                summary.addSlice(pendingSlice.join());
+            } catch (CompletionException e) {
+                // the other slices keep running, a rerun only picks up the chunks that were not committed
+                failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private int chunkFromId(long chunk, int[] idRange) {
+        return (int) Math.max(chunk * chunkSize, idRange[0]);
+    }
+
+    private int chunkToId(long chunk, int[] idRange) {
+        return (int) Math.min((chunk + 1) * chunkSize - 1, idRange[1]);
+    }
+}
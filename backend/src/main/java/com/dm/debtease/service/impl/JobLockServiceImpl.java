@@ -0,0 +1,73 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.repository.ScheduledJobLockJdbcRepository;
+import com.dm.debtease.service.JobLockService;
+import com.dm.debtease.utils.Constants;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@SuppressWarnings("unused")
+public class JobLockServiceImpl implements JobLockService {
+    private final ScheduledJobLockJdbcRepository scheduledJobLockJdbcRepository;
+    @Value("${spring.scheduler.node-id:}")
+    private String nodeId;
+    @Value("${spring.scheduler.lock.at-most-for-seconds:3600}")
+    private long lockAtMostForSeconds;
+    @Value("${spring.scheduler.lock.at-least-for-seconds:30}")
+    private long lockAtLeastForSeconds;
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            // pid@hostname, unique per running replica
+            nodeId = ManagementFactory.getRuntimeMXBean().getName();
+        }
+    }
+
+    @Override
+    public boolean runExclusively(String jobName, Runnable job) {
+        if (!scheduledJobLockJdbcRepository.tryAcquire(jobName, lockAtMostForSeconds, nodeId)) {
+            log.info(String.format("Skipping job %s, it is locked by another replica", jobName));
+            return false;
+        }
+        try {
+            job.run();
+        } finally {
+            scheduledJobLockJdbcRepository.release(jobName, lockAtLeastForSeconds, nodeId);
+        }
+        return true;
+    }
+
+    @Override
+    public int runPartitioned(String jobName, int partitions, IntConsumer partitionJob) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException(String.format(Constants.JOB_PARTITIONS_INVALID, jobName, partitions));
+        }
+        int partitionsRun = 0;
+        // replicas start at different partitions so they rarely contend for the same lock
+        int firstPartition = ThreadLocalRandom.current().nextInt(partitions);
+        for (int i = 0; i < partitions; i++) {
+            int partition = (firstPartition + i) % partitions;
+            if (runExclusively(String.format("%s:%d/%d", jobName, partition, partitions),
+                    () -> partitionJob.accept(partition))) {
+                partitionsRun++;
+            }
+        }
+        return partitionsRun;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,140 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.exception.InvalidPaymentStrategySweepException;
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.DebtPaymentStrategySweep;
+import com.dm.debtease.model.dto.DebtPaymentStrategySweepDTO;
+import com.dm.debtease.service.DebtCaseService;
+import com.dm.debtease.service.PaymentStrategySweepService;
+import com.dm.debtease.simulation.PaymentStrategySimulator;
+import com.dm.debtease.simulation.PaymentStrategySweepTask;
+import com.dm.debtease.utils.Constants;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@SuppressWarnings("unused")
+public class PaymentStrategySweepServiceImpl implements PaymentStrategySweepService {
+    private static final int SNOWBALL = 0;
+    private static final int AVALANCHE = 1;
+    private final DebtCaseService debtCaseService;
+    private final ForkJoinPool paymentStrategySweepPool;
+    @Value("${spring.payment-strategy.sweep.max-grid-size:2500}")
+    private int maxGridSize;
+
+    @Override
+    public DebtPaymentStrategySweep calculateDebtPaymentStrategySweep(DebtPaymentStrategySweepDTO debtPaymentStrategySweepDTO,
+                                                                      String username) {
+        int minimalPaymentCount = countPayments(debtPaymentStrategySweepDTO.getMinimalMonthlyPaymentFrom(),
+                debtPaymentStrategySweepDTO.getMinimalMonthlyPaymentTo(),
+                debtPaymentStrategySweepDTO.getMinimalMonthlyPaymentStep());
+        int extraPaymentCount = countPayments(debtPaymentStrategySweepDTO.getExtraMonthlyPaymentFrom(),
+                debtPaymentStrategySweepDTO.getExtraMonthlyPaymentTo(),
+                debtPaymentStrategySweepDTO.getExtraMonthlyPaymentStep());
+        long gridSize = (long) minimalPaymentCount * extraPaymentCount;
+        if (gridSize > maxGridSize) {
+            throw new InvalidPaymentStrategySweepException(
+                    String.format(Constants.PAYMENT_STRATEGY_SWEEP_TOO_LARGE, gridSize, maxGridSize));
+        }
+        List<DebtCase> debtCases = debtCaseService.getDebtCasesByDebtorUsername(username);
+        if (debtCases.isEmpty()) {
+            throw new EntityNotFoundException(String.format(Constants.DEBT_CASES_EMPTY, username));
+        }
+        debtCases = new ArrayList<>(debtCases.stream()
+                .filter(debtCase -> !DebtCaseStatus.CLOSED.equals(debtCase.getDebtCaseStatus()))
+                .toList());
+        long startTime = System.nanoTime();
+        long[][] balanceCents = new long[2][];
+        double[][] annualRates = new double[2][];
+        debtCases.sort(Comparator.comparing(DebtCase::getAmountOwed));
+        balanceCents[SNOWBALL] = PaymentStrategySimulator.toBalanceCents(debtCases);
+        annualRates[SNOWBALL] = PaymentStrategySimulator.toAnnualRates(debtCases);
+        debtCases.sort(Comparator.comparing(DebtCase::getDebtInterestRate).reversed());
+        balanceCents[AVALANCHE] = PaymentStrategySimulator.toBalanceCents(debtCases);
+        annualRates[AVALANCHE] = PaymentStrategySimulator.toAnnualRates(debtCases);
+        long[] minimalCents = paymentCents(debtPaymentStrategySweepDTO.getMinimalMonthlyPaymentFrom(),
+                debtPaymentStrategySweepDTO.getMinimalMonthlyPaymentStep(), minimalPaymentCount);
+        long[] extraCents = paymentCents(debtPaymentStrategySweepDTO.getExtraMonthlyPaymentFrom(),
+                debtPaymentStrategySweepDTO.getExtraMonthlyPaymentStep(), extraPaymentCount);
+        int[][] monthsToPayoff = new int[2][(int) gridSize];
+        long[][] totalInterestCents = new long[2][(int) gridSize];
+        paymentStrategySweepPool.invoke(new PaymentStrategySweepTask(balanceCents, annualRates, minimalCents,
+                extraCents, monthsToPayoff, totalInterestCents));
+        log.info(String.format("Simulated payment strategy sweep of %d combinations for %s in %d ms", gridSize,
+                username, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+        return new DebtPaymentStrategySweep(toAmounts(minimalCents), toAmounts(extraCents),
+                toMonthsMatrix(monthsToPayoff[SNOWBALL], extraPaymentCount),
+                toAmountMatrix(totalInterestCents[SNOWBALL], extraPaymentCount),
+                toMonthsMatrix(monthsToPayoff[AVALANCHE], extraPaymentCount),
+                toAmountMatrix(totalInterestCents[AVALANCHE], extraPaymentCount));
+    }
+
+    private int countPayments(BigDecimal from, BigDecimal to, BigDecimal step) {
+        long fromCents;
+        long toCents;
+        long stepCents;
+        try {
+            fromCents = PaymentStrategySimulator.toCents(from);
+            toCents = PaymentStrategySimulator.toCents(to);
+            stepCents = PaymentStrategySimulator.toCents(step);
+        } catch (ArithmeticException e) {
+            throw invalidRange(from, to, step);
+        }
+        if (fromCents > toCents || stepCents <= 0) {
+            throw invalidRange(from, to, step);
+        }
+        return (int) Math.min((toCents - fromCents) / stepCents + 1, maxGridSize + 1L);
+    }
+
+    private InvalidPaymentStrategySweepException invalidRange(BigDecimal from, BigDecimal to, BigDecimal step) {
+        return new InvalidPaymentStrategySweepException(
+                String.format(Constants.PAYMENT_STRATEGY_SWEEP_INVALID_RANGE, from, to, step));
+    }
+
+    private long[] paymentCents(BigDecimal from, BigDecimal step, int count) {
+        long fromCents = PaymentStrategySimulator.toCents(from);
+        long stepCents = PaymentStrategySimulator.toCents(step);
+        long[] cents = new long[count];
+        for (int i = 0; i < count; i++) {
+            cents[i] = fromCents + i * stepCents;
+        }
+        return cents;
+    }
+
+    private List<BigDecimal> toAmounts(long[] cents) {
+        List<BigDecimal> amounts = new ArrayList<>(cents.length);
+        for (long value : cents) {
+            amounts.add(BigDecimal.valueOf(value, 2));
+        }
+        return amounts;
+    }
+
+    private Integer[][] toMonthsMatrix(int[] cells, int columns) {
+        Integer[][] matrix = new Integer[cells.length / columns][columns];
+        for (int cell = 0; cell < cells.length; cell++) {
+            matrix[cell / columns][cell % columns] = cells[cell] < 0 ? null : cells[cell];
+        }
+        return matrix;
+    }
+
+    private BigDecimal[][] toAmountMatrix(long[] cells, int columns) {
+        BigDecimal[][] matrix = new BigDecimal[cells.length / columns][columns];
+        for (int cell = 0; cell < cells.length; cell++) {
+            matrix[cell / columns][cell % columns] = BigDecimal.valueOf(cells[cell], 2);
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,158 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.client.PhoneVerificationClient;
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+import com.dm.debtease.repository.VerifiedPhoneNumberInformationRepository;
+import com.dm.debtease.resilience.CircuitBreaker;
+import com.dm.debtease.resilience.RateLimiter;
+import com.dm.debtease.service.PhoneNumberVerificationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@SuppressWarnings("unused")
+public class PhoneNumberVerificationServiceImpl implements PhoneNumberVerificationService {
+    private final VerifiedPhoneNumberInformationRepository verifiedPhoneNumberInformationRepository;
+    private final PhoneVerificationClient phoneVerificationClient;
+    private final RateLimiter numverifyRateLimiter;
+    private final CircuitBreaker numverifyCircuitBreaker;
+    private final MeterRegistry meterRegistry;
+    @Value("${spring.numverify.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+    @Value("${spring.numverify.cache.ttl-hours:24}")
+    private long cacheTtlHours;
+
+    private Cache<String, VerifiedPhoneNumberInformation> verifiedPhoneNumbers;
+    private Counter databaseHits;
+    private Counter providerLookups;
+    private Counter rejectedLookups;
+
+    @PostConstruct
+    public void init() {
+        verifiedPhoneNumbers = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(Duration.ofHours(cacheTtlHours))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedPhoneNumbers, "verifiedPhoneNumbers");
+        databaseHits = Counter.builder("phone.verification.lookups").tag("source", "database")
+                .register(meterRegistry);
+        providerLookups = Counter.builder("phone.verification.lookups").tag("source", "provider")
+                .register(meterRegistry);
+        rejectedLookups = Counter.builder("phone.verification.lookups").tag("source", "circuit-open")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public VerifiedPhoneNumberInformation getVerifiedPhoneNumberInformation(String phoneNumber) {
+        String normalizedPhoneNumber = normalizePhoneNumber(phoneNumber);
+        if (normalizedPhoneNumber == null || normalizedPhoneNumber.isEmpty()) {
+            return null;
+        }
+        return getVerifiedPhoneNumberInformation(List.of(normalizedPhoneNumber)).get(normalizedPhoneNumber);
+    }
+
+    @Override
+    public Map<String, VerifiedPhoneNumberInformation> getVerifiedPhoneNumberInformation(
+            Collection<String> phoneNumbers) {
+        Map<String, VerifiedPhoneNumberInformation> verifiedInformation = new HashMap<>();
+        Set<String> missingPhoneNumbers = new LinkedHashSet<>();
+        for (String phoneNumber : phoneNumbers) {
+            String normalizedPhoneNumber = normalizePhoneNumber(phoneNumber);
+            if (normalizedPhoneNumber == null || normalizedPhoneNumber.isEmpty()
+                    || verifiedInformation.containsKey(normalizedPhoneNumber)
+                    || missingPhoneNumbers.contains(normalizedPhoneNumber)) {
+                continue;
+            }
+            VerifiedPhoneNumberInformation cachedInformation = verifiedPhoneNumbers.getIfPresent(normalizedPhoneNumber);
+            if (cachedInformation != null) {
+                verifiedInformation.put(normalizedPhoneNumber, cachedInformation);
+            } else {
+                missingPhoneNumbers.add(normalizedPhoneNumber);
+            }
+        }
+        if (missingPhoneNumbers.isEmpty()) {
+            return verifiedInformation;
+        }
+        for (VerifiedPhoneNumberInformation storedInformation :
+                verifiedPhoneNumberInformationRepository.findByPhoneNumberIn(missingPhoneNumbers)) {
+            databaseHits.increment();
+            missingPhoneNumbers.remove(storedInformation.getPhoneNumber());
+            cache(storedInformation.getPhoneNumber(), storedInformation, verifiedInformation);
+        }
+        verifyWithProvider(missingPhoneNumbers, verifiedInformation);
+        return verifiedInformation;
+    }
+
+    @Override
+    public String normalizePhoneNumber(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        String trimmedPhoneNumber = phoneNumber.trim();
+        if (trimmedPhoneNumber.startsWith("+")) {
+            return trimmedPhoneNumber.substring(1);
+        }
+        return trimmedPhoneNumber;
+    }
+
+    private void verifyWithProvider(Set<String> phoneNumbers,
+                                    Map<String, VerifiedPhoneNumberInformation> verifiedInformation) {
+        // requests are issued at the limiter's pace and awaited together so lookups overlap;
+        // while the circuit is open numbers are left unresolved without waiting on the limiter or the provider
+        Map<String, CompletableFuture<VerifiedPhoneNumberInformation>> pendingLookups = new LinkedHashMap<>();
+        try {
+            for (String phoneNumber : phoneNumbers) {
+                if (!numverifyCircuitBreaker.tryAcquirePermission()) {
+                    rejectedLookups.increment();
+                    continue;
+                }
+                numverifyRateLimiter.acquire();
+                providerLookups.increment();
+                pendingLookups.put(phoneNumber, phoneVerificationClient.verify(phoneNumber)
+                        .whenComplete((information, throwable) -> {
+                            if (throwable == null) {
+                                numverifyCircuitBreaker.onSuccess();
+                            } else {
+                                numverifyCircuitBreaker.onFailure();
+                            }
+                        }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // failed lookups are not cached, so the next occurrence of the number is retried
+        pendingLookups.forEach((phoneNumber, pendingLookup) -> {
+            try {
+                cache(phoneNumber, pendingLookup.join(), verifiedInformation);
+            } catch (CompletionException e) {
+                log.error(String.format("Failed to verify phone number %s: %s", phoneNumber,
+                        e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+            }
+        });
+    }
+
+    private void cache(String phoneNumber, VerifiedPhoneNumberInformation information,
+                       Map<String, VerifiedPhoneNumberInformation> verifiedInformation) {
+        if (information == null) {
+            return;
+        }
+        verifiedPhoneNumbers.put(phoneNumber, information);
+        verifiedInformation.put(phoneNumber, information);
+    }
+}
@@ -0,0 +1,56 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.NotificationType;
+import com.dm.debtease.repository.DebtCaseRepository;
+import com.dm.debtease.service.EmailOutboxService;
+import com.dm.debtease.service.ReminderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@SuppressWarnings("unused")
+public class ReminderServiceImpl implements ReminderService {
+    private final DebtCaseRepository debtCaseRepository;
+    private final EmailOutboxService emailOutboxService;
+    @Value("${spring.mail.dispatch.page-size:500}")
+    private int pageSize;
+
+    @Override
+    public int enqueueUpcomingDueDateReminders(LocalDateTime startDate, LocalDateTime endDate) {
+        return enqueue(NotificationType.UPCOMING_DUE_DATE, (afterId, pageable) ->
+                debtCaseRepository.findOpenDebtCasesDueBetween(startDate, endDate, afterId, pageable));
+    }
+
+    @Override
+    public int enqueueOpenDebtCaseReminders() {
+        return emailOutboxService.enqueueOpenDebtorDigests(NotificationType.MONTHLY_REMINDER);
+    }
+
+    private int enqueue(NotificationType notificationType,
+                        BiFunction<Integer, Pageable, List<DebtCase>> pageLoader) {
+        Pageable pageable = PageRequest.ofSize(pageSize);
+        int enqueued = 0;
+        int lastSeenId = 0;
+        List<DebtCase> debtCases;
+        do {
+            debtCases = pageLoader.apply(lastSeenId, pageable);
+            if (debtCases.isEmpty()) {
+                break;
+            }
+            lastSeenId = debtCases.get(debtCases.size() - 1).getId();
+            enqueued += emailOutboxService.enqueue(debtCases, notificationType);
+        } while (debtCases.size() == pageSize);
+        return enqueued;
+    }
+}
@@ -0,0 +1,102 @@
+package com.dm.debtease.service.impl;
+
+import com.dm.debtease.model.ScheduledJobRun;
+import com.dm.debtease.model.ScheduledJobRunStatus;
+import com.dm.debtease.repository.ScheduledJobRunRepository;
+import com.dm.debtease.service.JobLockService;
+import com.dm.debtease.service.ScheduledJobRunService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Log4j2
+@SuppressWarnings("unused")
+public class ScheduledJobRunServiceImpl implements ScheduledJobRunService {
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private final ScheduledJobRunRepository scheduledJobRunRepository;
+    private final JobLockService jobLockService;
+    private final MeterRegistry meterRegistry;
+    @Value("${spring.scheduler.history.retention-days:30}")
+    private int retentionDays;
+    @Value("${spring.scheduler.history.max-page-size:500}")
+    private int maxPageSize;
+
+    @Override
+    public void record(String jobName, boolean recordIdleRuns, Consumer<ScheduledJobRun> job) {
+        ScheduledJobRun run = new ScheduledJobRun();
+        run.setJobName(jobName);
+        run.setNodeId(jobLockService.getNodeId());
+        run.setStartedAt(LocalDateTime.now());
+        long startTime = System.nanoTime();
+        try {
+            job.accept(run);
+            run.setStatus(ScheduledJobRunStatus.SUCCEEDED);
+        } catch (RuntimeException e) {
+            run.setStatus(ScheduledJobRunStatus.FAILED);
+            run.setFailures(run.getFailures() + 1);
+            String errorMessage = String.valueOf(e.getMessage());
+            run.setErrorMessage(errorMessage.substring(0, Math.min(errorMessage.length(), MAX_ERROR_MESSAGE_LENGTH)));
+            throw e;
+        } finally {
+            long elapsedNanos = System.nanoTime() - startTime;
+            run.setFinishedAt(LocalDateTime.now());
+            run.setDurationMillis(Duration.ofNanos(elapsedNanos).toMillis());
+            recordMetrics(run, elapsedNanos);
+            if (recordIdleRuns || !run.isIdle() || run.getStatus() == ScheduledJobRunStatus.FAILED) {
+                saveRun(run);
+            }
+        }
+    }
+
+    @Override
+    public List<ScheduledJobRun> getRecentRuns(String jobName, int limit) {
+        Limit pageLimit = Limit.of(Math.max(1, Math.min(limit, maxPageSize)));
+        if (jobName == null || jobName.isBlank()) {
+            return scheduledJobRunRepository.findAllByOrderByStartedAtDesc(pageLimit);
+        }
+        return scheduledJobRunRepository.findByJobNameOrderByStartedAtDesc(jobName, pageLimit);
+    }
+
+    @Override
+    public int purgeHistory() {
+        return scheduledJobRunRepository.deleteByStartedAtBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    private void recordMetrics(ScheduledJobRun run, long elapsedNanos) {
+        Timer.builder("scheduled.job.duration")
+                .tag("job", run.getJobName())
+                .tag("status", run.getStatus().name())
+                .register(meterRegistry)
+                .record(Duration.ofNanos(elapsedNanos));
+        Counter.builder("scheduled.job.rows.scanned").tag("job", run.getJobName()).register(meterRegistry)
+                .increment(run.getRowsScanned());
+        Counter.builder("scheduled.job.rows.updated").tag("job", run.getJobName()).register(meterRegistry)
+                .increment(run.getRowsUpdated());
+        Counter.builder("scheduled.job.emails.sent").tag("job", run.getJobName()).register(meterRegistry)
+                .increment(run.getEmailsSent());
+        Counter.builder("scheduled.job.failures").tag("job", run.getJobName()).register(meterRegistry)
+                .increment(run.getFailures());
+    }
+
+    private void saveRun(ScheduledJobRun run) {
+        try {
+            scheduledJobRunRepository.save(run);
+        } catch (RuntimeException e) {
+            // history is best effort, it must not fail a job that already did its work
+            log.error(String.format("Failed to record run of job %s: %s", run.getJobName(), e.getMessage()));
+        }
+    }
+}
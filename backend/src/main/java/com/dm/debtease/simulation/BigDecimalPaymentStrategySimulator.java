@@ -0,0 +1,66 @@
+package com.dm.debtease.simulation;
+
+import com.dm.debtease.model.DebtCase;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Reference payment strategy simulation on {@link BigDecimal} entity copies. It defines the rounding semantics
+ * {@link PaymentStrategySimulator} reproduces, and handles the inputs that cannot be expressed in whole cents.
+ */
+public final class BigDecimalPaymentStrategySimulator {
+    private BigDecimalPaymentStrategySimulator() {
+    }
+
+    /**
+     * Pays {@code extraPayment} towards the first unpaid debt and {@code minimalPayment} towards every other one
+     * each month, after adding a twelfth of the yearly interest rounded half up to cents.
+     *
+     * @param debtCases debts in payment priority order
+     * @return total balance before the first month and after each month, at most
+     * {@link PaymentStrategySimulator#MAX_MONTHS} entries
+     */
+    public static List<BigDecimal> simulate(List<DebtCase> debtCases, BigDecimal extraPayment,
+                                            BigDecimal minimalPayment) {
+        List<BigDecimal> strategyBalanceEachMonth = new LinkedList<>();
+        List<DebtCase> tempDebtCases = new ArrayList<>(debtCases.stream().map(DebtCase::new).toList());
+        BigDecimal totalDebt = tempDebtCases.stream()
+                .map(DebtCase::getAmountOwed)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        strategyBalanceEachMonth.add(totalDebt);
+        while (totalDebt.compareTo(BigDecimal.ZERO) > 0) {
+            for (int i = 0; i < tempDebtCases.size(); i++) {
+                if (strategyBalanceEachMonth.size() == PaymentStrategySimulator.MAX_MONTHS) {
+                    return strategyBalanceEachMonth;
+                }
+                DebtCase debt = tempDebtCases.get(i);
+                BigDecimal amountOwedWithInterestRate =
+                        debt.getAmountOwed().multiply(BigDecimal.valueOf((debt.getDebtInterestRate() / 12) / 100))
+                                .setScale(2, RoundingMode.HALF_UP);
+                debt.setAmountOwed(debt.getAmountOwed().add(amountOwedWithInterestRate));
+                totalDebt = totalDebt.add(amountOwedWithInterestRate);
+                if (i == 0) {
+                    BigDecimal payment = extraPayment.compareTo(debt.getAmountOwed()) < 0 ?
+                            extraPayment : debt.getAmountOwed();
+                    debt.setAmountOwed(debt.getAmountOwed().subtract(payment));
+                    totalDebt = totalDebt.subtract(payment);
+                } else {
+                    BigDecimal payment = minimalPayment.compareTo(debt.getAmountOwed()) < 0 ?
+                            minimalPayment : debt.getAmountOwed();
+                    debt.setAmountOwed(debt.getAmountOwed().subtract(payment));
+                    totalDebt = totalDebt.subtract(payment);
+                }
+                if (debt.getAmountOwed().compareTo(BigDecimal.ZERO) <= 0) {
+                    tempDebtCases.remove(debt);
+                    i--;
+                }
+            }
+            strategyBalanceEachMonth.add(totalDebt);
+        }
+        return strategyBalanceEachMonth;
+    }
+}
@@ -0,0 +1,59 @@
+package com.dm.debtease.simulation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Total balance in cents before the first month and after each simulated month, and the interest accrued over
+ * the simulated months.
+ */
+public final class PaymentSimulation {
+    private final long[] totalBalanceCents;
+    private final int length;
+    private final long totalInterestCents;
+
+    PaymentSimulation(long[] totalBalanceCents, int length, long totalInterestCents) {
+        this.totalBalanceCents = totalBalanceCents;
+        this.length = length;
+        this.totalInterestCents = totalInterestCents;
+    }
+
+    /**
+     * Number of balances, the starting balance included.
+     */
+    public int size() {
+        return length;
+    }
+
+    public long getTotalBalanceCents(int month) {
+        if (month < 0 || month >= length) {
+            throw new IndexOutOfBoundsException(month);
+        }
+        return totalBalanceCents[month];
+    }
+
+    public boolean isPaidOff() {
+        return totalBalanceCents[length - 1] <= 0;
+    }
+
+    /**
+     * Months until every debt is paid off, or -1 if the debts are not paid off within
+     * {@link PaymentStrategySimulator#MAX_MONTHS}.
+     */
+    public int getMonthsToPayoff() {
+        return isPaidOff() ? length - 1 : -1;
+    }
+
+    public long getTotalInterestCents() {
+        return totalInterestCents;
+    }
+
+    public List<BigDecimal> toBigDecimals() {
+        List<BigDecimal> balances = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            balances.add(BigDecimal.valueOf(totalBalanceCents[i], 2));
+        }
+        return balances;
+    }
+}
@@ -0,0 +1,156 @@
+package com.dm.debtease.simulation;
+
+import com.dm.debtease.model.DebtCase;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Payment strategy simulation on fixed-point {@code long} cents held in primitive arrays. Produces exactly the
+ * balances of {@link BigDecimalPaymentStrategySimulator}: monthly interest is the balance times
+ * {@code BigDecimal.valueOf((rate / 12) / 100)} rounded half up to cents, evaluated in integer arithmetic.
+ */
+public final class PaymentStrategySimulator {
+    public static final int MAX_MONTHS = 240;
+    private static final long BILLION = 1_000_000_000L;
+    private static final long MAX_EXACT_CENTS = BILLION;
+    private static final int MAX_EXACT_FACTOR_SCALE = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_EXACT_FACTOR_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private PaymentStrategySimulator() {
+    }
+
+    /**
+     * Simulates the strategy for debts in payment priority order. Inputs that are not whole cents or do not fit
+     * in a {@code long} are simulated by {@link BigDecimalPaymentStrategySimulator} instead.
+     */
+    public static List<BigDecimal> simulateBalanceEachMonth(List<DebtCase> debtCases, BigDecimal extraPayment,
+                                                            BigDecimal minimalPayment) {
+        try {
+            return simulate(toBalanceCents(debtCases), toAnnualRates(debtCases), toCents(extraPayment),
+                    toCents(minimalPayment)).toBigDecimals();
+        } catch (ArithmeticException e) {
+            return BigDecimalPaymentStrategySimulator.simulate(debtCases, extraPayment, minimalPayment);
+        }
+    }
+
+    /**
+     * Simulates the strategy on balances in cents. The arguments are not modified.
+     *
+     * @param balanceCents debt balances in payment priority order
+     * @param annualRates  yearly interest rate in percent of each debt
+     * @throws ArithmeticException if a balance overflows a {@code long}
+     */
+    public static PaymentSimulation simulate(long[] balanceCents, double[] annualRates, long extraCents,
+                                             long minimalCents) {
+        int count = balanceCents.length;
+        long[] balances = balanceCents.clone();
+        BigDecimal[] factors = new BigDecimal[count];
+        long[] unscaledFactors = new long[count];
+        int[] factorScales = new int[count];
+        long total = 0;
+        long totalInterest = 0;
+        for (int i = 0; i < count; i++) {
+            BigDecimal factor = BigDecimal.valueOf((annualRates[i] / 12) / 100);
+            factors[i] = factor;
+            int scale = factor.scale();
+            if (scale >= 0 && scale <= MAX_EXACT_FACTOR_SCALE && factor.abs().compareTo(BigDecimal.ONE) < 0) {
+                unscaledFactors[i] = factor.unscaledValue().longValueExact();
+                factorScales[i] = scale;
+            } else {
+                factorScales[i] = -1;
+            }
+            total = Math.addExact(total, balances[i]);
+        }
+        long[] totals = new long[MAX_MONTHS];
+        int months = 0;
+        totals[months++] = total;
+        while (total > 0 && months < MAX_MONTHS) {
+            for (int i = 0; i < count; i++) {
+                long interest = monthlyInterestCents(balances[i], factors[i], unscaledFactors[i], factorScales[i]);
+                long balance = Math.addExact(balances[i], interest);
+                total = Math.addExact(total, interest);
+                totalInterest = Math.addExact(totalInterest, interest);
+                long payment = Math.min(i == 0 ? extraCents : minimalCents, balance);
+                balance = Math.subtractExact(balance, payment);
+                total = Math.subtractExact(total, payment);
+                if (balance <= 0) {
+                    int tail = count - i - 1;
+                    System.arraycopy(balances, i + 1, balances, i, tail);
+                    System.arraycopy(factors, i + 1, factors, i, tail);
+                    System.arraycopy(unscaledFactors, i + 1, unscaledFactors, i, tail);
+                    System.arraycopy(factorScales, i + 1, factorScales, i, tail);
+                    count--;
+                    i--;
+                } else {
+                    balances[i] = balance;
+                }
+            }
+            totals[months++] = total;
+        }
+        return new PaymentSimulation(totals, months, totalInterest);
+    }
+
+    /**
+     * Returns {@code cents * factor} rounded half up to cents. The product of a balance of at most ten million
+     * and a factor below one with at most 18 decimals is split at 10^9 so no intermediate exceeds a {@code long}.
+     */
+    static long monthlyInterestCents(long cents, BigDecimal factor, long unscaledFactor, int factorScale) {
+        if (factorScale < 0 || cents > MAX_EXACT_CENTS || cents < -MAX_EXACT_CENTS) {
+            return BigDecimal.valueOf(cents, 2).multiply(factor).setScale(2, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        }
+        long c = Math.abs(cents);
+        long f = Math.abs(unscaledFactor);
+        long divisor = POWERS_OF_TEN[factorScale];
+        long quotient;
+        long remainder;
+        if (factorScale < 9) {
+            long product = c * f;
+            quotient = product / divisor;
+            remainder = product % divisor;
+        } else {
+            long high = c * (f / BILLION);
+            long low = c * (f % BILLION);
+            long upper = high + low / BILLION;
+            long upperDivisor = POWERS_OF_TEN[factorScale - 9];
+            quotient = upper / upperDivisor;
+            remainder = (upper % upperDivisor) * BILLION + low % BILLION;
+        }
+        if (remainder >= divisor - remainder) {
+            quotient++;
+        }
+        return (cents < 0) != (unscaledFactor < 0) ? -quotient : quotient;
+    }
+
+    public static long[] toBalanceCents(List<DebtCase> debtCases) {
+        long[] balanceCents = new long[debtCases.size()];
+        for (int i = 0; i < balanceCents.length; i++) {
+            balanceCents[i] = toCents(debtCases.get(i).getAmountOwed());
+        }
+        return balanceCents;
+    }
+
+    public static double[] toAnnualRates(List<DebtCase> debtCases) {
+        double[] annualRates = new double[debtCases.size()];
+        for (int i = 0; i < annualRates.length; i++) {
+            annualRates[i] = debtCases.get(i).getDebtInterestRate();
+        }
+        return annualRates;
+    }
+
+    /**
+     * @throws ArithmeticException if the amount is not whole cents or does not fit in a {@code long}
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2).unscaledValue().longValueExact();
+    }
+}
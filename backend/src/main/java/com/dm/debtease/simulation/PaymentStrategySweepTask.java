@@ -0,0 +1,62 @@
+package com.dm.debtease.simulation;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulates every cell of a payment grid for several debt orderings, halving the cell range until it is small
+ * enough for one worker. Cell {@code c} of ordering {@code s} pairs {@code minimalCents[c / extraCents.length]}
+ * with {@code extraCents[c % extraCents.length]} and writes to {@code monthsToPayoff[s][c]} and
+ * {@code totalInterestCents[s][c]}.
+ */
+public class PaymentStrategySweepTask extends RecursiveAction {
+    private static final int CELLS_PER_TASK = 16;
+    private final long[][] balanceCents;
+    private final double[][] annualRates;
+    private final long[] minimalCents;
+    private final long[] extraCents;
+    private final int[][] monthsToPayoff;
+    private final long[][] totalInterestCents;
+    private final int fromCell;
+    private final int toCell;
+
+    public PaymentStrategySweepTask(long[][] balanceCents, double[][] annualRates, long[] minimalCents,
+                                    long[] extraCents, int[][] monthsToPayoff, long[][] totalInterestCents) {
+        this(balanceCents, annualRates, minimalCents, extraCents, monthsToPayoff, totalInterestCents, 0,
+                balanceCents.length * minimalCents.length * extraCents.length);
+    }
+
+    private PaymentStrategySweepTask(long[][] balanceCents, double[][] annualRates, long[] minimalCents,
+                                     long[] extraCents, int[][] monthsToPayoff, long[][] totalInterestCents,
+                                     int fromCell, int toCell) {
+        this.balanceCents = balanceCents;
+        this.annualRates = annualRates;
+        this.minimalCents = minimalCents;
+        this.extraCents = extraCents;
+        this.monthsToPayoff = monthsToPayoff;
+        this.totalInterestCents = totalInterestCents;
+        this.fromCell = fromCell;
+        this.toCell = toCell;
+    }
+
+    @Override
+    protected void compute() {
+        if (toCell - fromCell <= CELLS_PER_TASK) {
+            int gridSize = minimalCents.length * extraCents.length;
+            for (int cell = fromCell; cell < toCell; cell++) {
+                int ordering = cell / gridSize;
+                int gridCell = cell % gridSize;
+                PaymentSimulation simulation = PaymentStrategySimulator.simulate(balanceCents[ordering],
+                        annualRates[ordering], extraCents[gridCell % extraCents.length],
+                        minimalCents[gridCell / extraCents.length]);
+                monthsToPayoff[ordering][gridCell] = simulation.getMonthsToPayoff();
+                totalInterestCents[ordering][gridCell] = simulation.getTotalInterestCents();
+            }
+            return;
+        }
+        int middleCell = (fromCell + toCell) >>> 1;
+        invokeAll(new PaymentStrategySweepTask(balanceCents, annualRates, minimalCents, extraCents, monthsToPayoff,
+                        totalInterestCents, fromCell, middleCell),
+                new PaymentStrategySweepTask(balanceCents, annualRates, minimalCents, extraCents, monthsToPayoff,
+                        totalInterestCents, middleCell, toCell));
+    }
+}
@@ -0,0 +1,129 @@
+package com.dm.debtease.simulation;
+
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.PayoffProjection;
+import com.dm.debtease.model.PayoffProjectionPoint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payoff projection that amortises every debt in closed form between events instead of month by month. An event
+ * is the month a debt is paid off: that month is stepped explicitly so the next debt takes over the extra payment
+ * within it, exactly as in {@link PaymentStrategySimulator}. Cost grows with the square of the number of debts
+ * and not with the horizon. Interest is not rounded to cents each month, so results are a projection and can
+ * differ from the simulation by cents and occasionally by a month.
+ */
+public final class PayoffProjector {
+    private static final double PAID_OFF_THRESHOLD = 0.005;
+    private static final double MONTH_EPSILON = 1e-9;
+
+    private PayoffProjector() {
+    }
+
+    /**
+     * @param debtCases debts in payment priority order
+     * @param maxMonths horizon of the projection
+     */
+    public static PayoffProjection project(List<DebtCase> debtCases, BigDecimal extraPayment,
+                                           BigDecimal minimalPayment, int maxMonths) {
+        int count = debtCases.size();
+        double[] balances = new double[count];
+        double[] monthlyRates = new double[count];
+        for (int i = 0; i < count; i++) {
+            balances[i] = debtCases.get(i).getAmountOwed().doubleValue();
+            monthlyRates[i] = (debtCases.get(i).getDebtInterestRate() / 12) / 100;
+        }
+        double extra = extraPayment.doubleValue();
+        double minimal = minimalPayment.doubleValue();
+        double totalInterest = 0;
+        int month = 0;
+        List<PayoffProjectionPoint> balanceSeries = new ArrayList<>();
+        balanceSeries.add(point(month, balances, count));
+        if (balanceSeries.get(0).getTotalBalance().signum() <= 0) {
+            count = 0;
+        }
+        while (count > 0 && month < maxMonths) {
+            long monthsToNextEvent = Long.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                monthsToNextEvent = Math.min(monthsToNextEvent,
+                        monthsToPayoff(balances[i], monthlyRates[i], i == 0 ? extra : minimal));
+            }
+            int amortisedMonths = (int) Math.min(monthsToNextEvent - 1, maxMonths - month);
+            for (int i = 0; i < count; i++) {
+                double payment = i == 0 ? extra : minimal;
+                double balance = amortise(balances[i], monthlyRates[i], payment, amortisedMonths);
+                totalInterest += balance - balances[i] + payment * amortisedMonths;
+                balances[i] = balance;
+            }
+            month += amortisedMonths;
+            if (month == maxMonths) {
+                break;
+            }
+            for (int i = 0; i < count; i++) {
+                double interest = balances[i] * monthlyRates[i];
+                totalInterest += interest;
+                double balance = balances[i] + interest;
+                balance -= Math.min(i == 0 ? extra : minimal, balance);
+                if (balance < PAID_OFF_THRESHOLD) {
+                    System.arraycopy(balances, i + 1, balances, i, count - i - 1);
+                    System.arraycopy(monthlyRates, i + 1, monthlyRates, i, count - i - 1);
+                    count--;
+                    i--;
+                } else {
+                    balances[i] = balance;
+                }
+            }
+            month++;
+            balanceSeries.add(point(month, balances, count));
+        }
+        if (count > 0 && balanceSeries.get(balanceSeries.size() - 1).getMonth() != month) {
+            balanceSeries.add(point(month, balances, count));
+        }
+        return new PayoffProjection(count == 0 ? month : null, toAmount(totalInterest), balanceSeries);
+    }
+
+    /**
+     * Whole months until the payment clears the balance, or {@link Long#MAX_VALUE} if it never does. Solves
+     * {@code b(1 + r)^n - p((1 + r)^n - 1) / r = 0} for {@code n}.
+     */
+    static long monthsToPayoff(double balance, double monthlyRate, double payment) {
+        double months;
+        if (monthlyRate == 0) {
+            months = payment > 0 ? balance / payment : Double.POSITIVE_INFINITY;
+        } else if (payment <= balance * monthlyRate) {
+            months = Double.POSITIVE_INFINITY;
+        } else {
+            months = -Math.log1p(-balance * monthlyRate / payment) / Math.log1p(monthlyRate);
+        }
+        return months >= Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(1, (long) Math.ceil(months - MONTH_EPSILON));
+    }
+
+    /**
+     * Balance after {@code months} of compounding and paying {@code payment} at the end of each month.
+     */
+    static double amortise(double balance, double monthlyRate, double payment, int months) {
+        if (months == 0) {
+            return balance;
+        }
+        if (monthlyRate == 0) {
+            return balance - payment * months;
+        }
+        double growth = Math.pow(1 + monthlyRate, months);
+        return balance * growth - payment * (growth - 1) / monthlyRate;
+    }
+
+    private static PayoffProjectionPoint point(int month, double[] balances, int count) {
+        double totalBalance = 0;
+        for (int i = 0; i < count; i++) {
+            totalBalance += balances[i];
+        }
+        return new PayoffProjectionPoint(month, toAmount(totalBalance));
+    }
+
+    private static BigDecimal toAmount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -13,6 +13,8 @@ public class Constants {
     public static final String DEBT_CASES_EMPTY = "User %s has no active debt cases";
     public static final String UPLOADED_FILE_IS_NOT_CSV = "Uploaded file is not a CSV file";
     public static final String INVALID_UPLOAD_FILE = "Uploaded file is not valid";
+    public static final String CSV_UPLOAD_JOB_NOT_FOUND = "Csv upload job not found with id %s for user %s";
+    public static final String CSV_UPLOAD_QUEUE_FULL = "Csv upload queue is full, please try again later";
     public static final String CREDITOR_NOT_FOUND = "Creditor not found with id %s";
     public static final String DEBTOR_NOT_FOUND = "Debtor not found with id %s";
     public static final String USER_NOT_FOUND = "User not found with username %s";
@@ -29,9 +31,18 @@ public class Constants {
     public static final String LOGO_PATH = "src/main/resources/images/debtease.png";
     public static final String DEBT_EASE_EMAIL = "debtease@gmail.com";
     public static final String TEST_ENVIRONMENT = "TEST";
+    public static final String EMAIL_NOT_SENT = "Email could not be sent";
+    public static final String PAYMENT_STRATEGY_SWEEP_INVALID_RANGE =
+            "Payment range from %s to %s with step %s must be ascending and in whole cents";
+    public static final String PAYMENT_STRATEGY_SWEEP_TOO_LARGE =
+            "Payment strategy sweep of %d combinations exceeds the limit of %d";
+    public static final String DEBT_CASE_CURSOR_INVALID = "Cursor %s is not valid for sorting by %s %s";
+    public static final String DEBT_CASE_EXPORT_FORBIDDEN = "Not allowed to export debt cases of creditor %s";
+    public static final String JOB_PARTITIONS_INVALID = "Partitions of %s must be at least 1, got %d";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-    public static final int DELAY_BETWEEN_NUMVERIFY_REQUESTS = 1000;
     public static final int STRIPE_AMOUNT_MULTIPLIER = 100;
+    public static final int DEFAULT_DEBT_CASE_TYPE_ID = 15;
 
     public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     public static final DateTimeFormatter DATE_TIME_FORMATTER_FOR_FILE = DateTimeFormatter.ofPattern("yyyyMMdd");
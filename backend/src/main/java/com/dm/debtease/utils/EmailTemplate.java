@@ -0,0 +1,60 @@
+package com.dm.debtease.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * HTML template with {@code {{name}}} placeholders that is split into static fragments once, so rendering only
+ * appends fragments and values instead of re-parsing a format string for every email.
+ */
+public final class EmailTemplate {
+    private static final String PLACEHOLDER_START = "{{";
+    private static final String PLACEHOLDER_END = "}}";
+
+    private final String[] fragments;
+    private final int[] parameterIndexes;
+    private final int staticLength;
+
+    private EmailTemplate(String[] fragments, int[] parameterIndexes) {
+        this.fragments = fragments;
+        this.parameterIndexes = parameterIndexes;
+        this.staticLength = Arrays.stream(fragments).mapToInt(String::length).sum();
+    }
+
+    /**
+     * @param parameterNames placeholder names in the order their values are passed to {@link #render(Object...)}
+     */
+    public static EmailTemplate compile(String template, String... parameterNames) {
+        List<String> names = Arrays.asList(parameterNames);
+        List<String> fragments = new ArrayList<>();
+        List<Integer> parameterIndexes = new ArrayList<>();
+        int position = 0;
+        int start;
+        while ((start = template.indexOf(PLACEHOLDER_START, position)) >= 0) {
+            int end = template.indexOf(PLACEHOLDER_END, start);
+            if (end < 0) {
+                throw new IllegalArgumentException(String.format("Unclosed placeholder at %d", start));
+            }
+            String name = template.substring(start + PLACEHOLDER_START.length(), end).trim();
+            int parameterIndex = names.indexOf(name);
+            if (parameterIndex < 0) {
+                throw new IllegalArgumentException(String.format("Unknown placeholder %s", name));
+            }
+            fragments.add(template.substring(position, start));
+            parameterIndexes.add(parameterIndex);
+            position = end + PLACEHOLDER_END.length();
+        }
+        fragments.add(template.substring(position));
+        return new EmailTemplate(fragments.toArray(new String[0]),
+                parameterIndexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public String render(Object... values) {
+        StringBuilder builder = new StringBuilder(staticLength + 32 * parameterIndexes.length);
+        for (int i = 0; i < parameterIndexes.length; i++) {
+            builder.append(fragments[i]).append(values[parameterIndexes[i]]);
+        }
+        return builder.append(fragments[fragments.length - 1]).toString();
+    }
+}
@@ -2,6 +2,7 @@ package com.dm.debtease;
 
 import com.dm.debtease.model.*;
 import com.dm.debtease.model.dto.*;
+import com.dm.debtease.model.view.DebtCaseView;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -139,6 +140,21 @@ public class TestUtils {
         return debtCase;
     }
 
+    public static DebtCaseView setupDebtCaseViewTestData(String creditorUsername, int creditorId, String debtorName,
+                                                         String debtorSurname,
+                                                         String debtorEmail, String debtorPhoneNumber, String type,
+                                                         DebtCaseStatus status,
+                                                         LocalDateTime dueDate, double lateInterestRate,
+                                                         double debtInterestRate,
+                                                         BigDecimal amountOwed, String debtorUsername) {
+        return new DebtCaseView(1, amountOwed, lateInterestRate, debtInterestRate, dueDate, status, null, null, null,
+                1, type,
+                creditorId, null, null, null, null, null, creditorUsername, Role.CREDITOR,
+                null, null, null, null, null,
+                1, debtorName, debtorSurname, debtorEmail, debtorPhoneNumber, debtorUsername, Role.DEBTOR,
+                null, null, null, null, null, null);
+    }
+
     public static DebtCaseDTO setupDebtCaseDTOTestData(LocalDateTime dueDate, int typeId) {
         DebtCaseDTO debtCaseDTO = new DebtCaseDTO();
         debtCaseDTO.setDueDate(dueDate);
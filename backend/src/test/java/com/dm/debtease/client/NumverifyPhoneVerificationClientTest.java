@@ -0,0 +1,80 @@
+package com.dm.debtease.client;
+
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class NumverifyPhoneVerificationClientTest {
+    private HttpServer server;
+    private NumverifyPhoneVerificationClient client;
+    private final AtomicReference<String> requestQuery = new AtomicReference<>();
+    private final AtomicReference<String> responseBody = new AtomicReference<>();
+
+    @BeforeEach
+    void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/validate", exchange -> {
+            requestQuery.set(exchange.getRequestURI().getRawQuery());
+            byte[] body = responseBody.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+        client = new NumverifyPhoneVerificationClient();
+        ReflectionTestUtils.setField(client, "numverifyAccessKey", "key&value");
+        ReflectionTestUtils.setField(client, "numverifyUrl",
+                "http://localhost:" + server.getAddress().getPort() + "/api/validate");
+        ReflectionTestUtils.setField(client, "connectTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(client, "requestTimeoutMillis", 2000L);
+        ReflectionTestUtils.setField(client, "maxConcurrentRequests", 2);
+        ReflectionTestUtils.setField(client, "maxResponseBytes", 512);
+        client.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void verify_WhenProviderReturnsValidNumber_ShouldMapResponseAndEncodeQuery() {
+        responseBody.set("""
+                {"valid":true,"location":"Vilnius","carrier":"Telia","line_type":"mobile"}""");
+
+        VerifiedPhoneNumberInformation information = client.verify("37068821345").join();
+
+        Assertions.assertEquals("37068821345", information.getPhoneNumber());
+        Assertions.assertEquals("Yes", information.getValid());
+        Assertions.assertEquals("Vilnius", information.getLocation());
+        Assertions.assertEquals("Telia", information.getCarrier());
+        Assertions.assertEquals("Mobile Phone", information.getLineType());
+        Assertions.assertEquals("access_key=key%26value&number=37068821345&format=1", requestQuery.get());
+    }
+
+    @Test
+    void verify_WhenProviderReturnsError_ShouldCompleteExceptionally() {
+        responseBody.set("""
+                {"success":false,"error":{"code":101,"type":"invalid_access_key"}}""");
+
+        Assertions.assertThrows(CompletionException.class, () -> client.verify("37068821345").join());
+    }
+
+    @Test
+    void verify_WhenResponseExceedsLimit_ShouldCompleteExceptionally() {
+        responseBody.set("{\"valid\":true,\"location\":\"" + "x".repeat(1024) + "\"}");
+
+        Assertions.assertThrows(CompletionException.class, () -> client.verify("37068821345").join());
+    }
+}
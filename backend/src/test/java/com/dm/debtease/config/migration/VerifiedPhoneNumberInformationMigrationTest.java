@@ -0,0 +1,65 @@
+package com.dm.debtease.config.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class VerifiedPhoneNumberInformationMigrationTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private VerifiedPhoneNumberInformationMigration verifiedPhoneNumberInformationMigration;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_WhenOneToOneConstraintExists_ShouldDropItBeforeSharingRows() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT con.conname FROM pg_constraint"), eq(String.class)))
+                .thenReturn(List.of("uk_debtor_verification"));
+
+        verifiedPhoneNumberInformationMigration.afterSingletonsInstantiated();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE public.debtor DROP CONSTRAINT \"uk_debtor_verification\"");
+        inOrder.verify(jdbcTemplate).update(argThat((String sql) -> sql.startsWith("WITH legacy AS")
+                && sql.contains("UPDATE debtor d SET verified_phone_number_information_id = c.id")
+                && sql.endsWith("SET phone_number = c.phone_number FROM canonical c WHERE v.id = c.id " +
+                "AND v.phone_number IS NULL")));
+        inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM verified_phone_number_information"));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_WhenAlreadyMigrated_ShouldOnlyRunNoOpBackfill() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+
+        verifiedPhoneNumberInformationMigration.afterSingletonsInstantiated();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, times(2)).update(anyString());
+        verify(transactionTemplate).executeWithoutResult(any());
+    }
+}
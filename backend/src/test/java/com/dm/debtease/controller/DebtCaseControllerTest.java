@@ -1,12 +1,29 @@
 package com.dm.debtease.controller;
 
+import com.dm.debtease.GlobalExceptionHandler;
 import com.dm.debtease.TestUtils;
+import com.dm.debtease.model.CsvUploadJob;
+import com.dm.debtease.model.CsvUploadJobStatus;
 import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseExportFormat;
+import com.dm.debtease.model.DebtCaseSortField;
 import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.DebtPaymentProjection;
+import com.dm.debtease.model.DebtPaymentStrategySweep;
+import com.dm.debtease.model.PayoffProjection;
+import com.dm.debtease.model.PayoffProjectionPoint;
+import com.dm.debtease.model.Role;
 import com.dm.debtease.model.dto.DebtCaseDTO;
-import com.dm.debtease.service.CSVService;
+import com.dm.debtease.model.dto.DebtCasePageRequestDTO;
+import com.dm.debtease.model.dto.DebtPaymentStrategyDTO;
+import com.dm.debtease.model.dto.DebtPaymentStrategySweepDTO;
+import com.dm.debtease.model.view.DebtCaseView;
+import com.dm.debtease.model.view.DebtCaseViewPage;
+import com.dm.debtease.service.CsvUploadJobService;
+import com.dm.debtease.service.DebtCaseExportService;
 import com.dm.debtease.service.DebtCaseService;
 import com.dm.debtease.service.PDFService;
+import com.dm.debtease.service.PaymentStrategySweepService;
 import com.dm.debtease.utils.Constants;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
@@ -16,15 +33,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +55,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -43,16 +67,22 @@ public class DebtCaseControllerTest {
     @Mock
     private DebtCaseService debtCaseService;
     @Mock
-    private CSVService csvService;
+    private CsvUploadJobService csvUploadJobService;
     @Mock
     private PDFService pdfService;
+    @Mock
+    private PaymentStrategySweepService paymentStrategySweepService;
+    @Mock
+    private DebtCaseExportService debtCaseExportService;
     @InjectMocks
     private DebtCaseController debtCaseController;
     private MockMvc mockMvc;
 
     @BeforeEach
     void setup() {
-        mockMvc = MockMvcBuilders.standaloneSetup(debtCaseController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(debtCaseController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
 
     @Test
@@ -70,12 +100,13 @@ public class DebtCaseControllerTest {
         double lateInterestRate = 10.0;
         double debtInterestRate = 10.0;
         BigDecimal amountOwed = BigDecimal.valueOf(35.53);
-        List<DebtCase> mockedDebtCases =
-                List.of(TestUtils.setupDebtCaseTestData(creditorUsername, creditorId, debtorName, debtorSurname,
+        List<DebtCaseView> mockedDebtCases =
+                List.of(TestUtils.setupDebtCaseViewTestData(creditorUsername, creditorId, debtorName, debtorSurname,
                         debtorEmail,
                         debtorPhoneNumber, typeToMatch, DebtCaseStatus.NEW, dueDate, lateInterestRate, debtInterestRate,
                         amountOwed, debtorUsername));
-        when(debtCaseService.getAllDebtCases()).thenReturn(mockedDebtCases);
+        when(debtCaseService.getDebtCaseViews(any(DebtCasePageRequestDTO.class)))
+                .thenReturn(new DebtCaseViewPage(mockedDebtCases, null));
 
         MvcResult result = mockMvc.perform(get("/api/debt/cases"))
                 .andExpect(status().isOk())
@@ -87,7 +118,7 @@ public class DebtCaseControllerTest {
                 .andDo(print())
                 .andReturn();
 
-        verify(debtCaseService).getAllDebtCases();
+        verify(debtCaseService).getDebtCaseViews(any(DebtCasePageRequestDTO.class));
         Assertions.assertNotNull(result);
         Assertions.assertEquals(MediaType.APPLICATION_JSON_VALUE, result.getResponse().getContentType());
         Assertions.assertNotNull(result.getResponse().getContentAsString());
@@ -149,12 +180,13 @@ public class DebtCaseControllerTest {
         double lateInterestRate = 10.0;
         double debtInterestRate = 10.0;
         BigDecimal amountOwed = BigDecimal.valueOf(35.53);
-        List<DebtCase> mockedDebtCase =
-                List.of(TestUtils.setupDebtCaseTestData(creditorUsername, creditorId, debtorName, debtorSurname,
+        List<DebtCaseView> mockedDebtCase =
+                List.of(TestUtils.setupDebtCaseViewTestData(creditorUsername, creditorId, debtorName, debtorSurname,
                         debtorEmail,
                         debtorPhoneNumber, typeToMatch, DebtCaseStatus.NEW, dueDate, lateInterestRate, debtInterestRate,
                         amountOwed, debtorUsername));
-        when(debtCaseService.getDebtCasesByCreditorUsername(creditorUsername)).thenReturn(mockedDebtCase);
+        when(debtCaseService.getDebtCaseViewsByCreditorUsername(eq(creditorUsername), any(DebtCasePageRequestDTO.class)))
+                .thenReturn(new DebtCaseViewPage(mockedDebtCase, null));
 
         MvcResult result = mockMvc.perform(get("/api/debt/cases/creditor/{username}", creditorUsername))
                 .andExpect(status().isOk())
@@ -167,13 +199,43 @@ public class DebtCaseControllerTest {
                 .andDo(print())
                 .andReturn();
 
-        verify(debtCaseService).getDebtCasesByCreditorUsername(any(String.class));
+        verify(debtCaseService).getDebtCaseViewsByCreditorUsername(any(String.class), any(DebtCasePageRequestDTO.class));
         Assertions.assertNotNull(result);
         Assertions.assertEquals(MediaType.APPLICATION_JSON_VALUE, result.getResponse().getContentType());
         Assertions.assertNotNull(result.getResponse().getContentAsString());
         Assertions.assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
     }
 
+    @Test
+    void getDebtCasesByCreditorUsername_WhenMoreDebtCasesFollow_ShouldBindFiltersAndReturnNextCursor() throws Exception {
+        String creditorUsername = "creditor123";
+        List<DebtCaseView> mockedDebtCase =
+                List.of(TestUtils.setupDebtCaseViewTestData(creditorUsername, 1, "name", "surname", "email@gmail.com",
+                        "+37067144213", "DEFAULT_DEBT", DebtCaseStatus.UNPAID, LocalDateTime.now(), 10.0, 10.0,
+                        BigDecimal.valueOf(35.53), "userWithDebts"));
+        when(debtCaseService.getDebtCaseViewsByCreditorUsername(eq(creditorUsername), any(DebtCasePageRequestDTO.class)))
+                .thenReturn(new DebtCaseViewPage(mockedDebtCase, "next"));
+
+        mockMvc.perform(get("/api/debt/cases/creditor/{username}", creditorUsername)
+                        .param("status", "UNPAID")
+                        .param("dueDateFrom", "2024-01-01 00:00:00")
+                        .param("amountTo", "100.00")
+                        .param("sort", "DUE_DATE")
+                        .param("direction", "DESC")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Constants.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(debtCaseService).getDebtCaseViewsByCreditorUsername(eq(creditorUsername), argThat(request ->
+                request.getStatus() == DebtCaseStatus.UNPAID
+                        && request.getDueDateFrom().equals(LocalDateTime.of(2024, 1, 1, 0, 0))
+                        && request.getAmountTo().compareTo(new BigDecimal("100.00")) == 0
+                        && request.getSort() == DebtCaseSortField.DUE_DATE
+                        && request.getDirection() == Sort.Direction.DESC
+                        && request.getLimit() == 1));
+    }
+
     @Test
     void getDebtCasesByDebtorUsername_ShouldReturnListOfDebtCases() throws Exception {
         int id = 1;
@@ -190,12 +252,13 @@ public class DebtCaseControllerTest {
         double lateInterestRate = 10.0;
         double debtInterestRate = 10.0;
         BigDecimal amountOwed = BigDecimal.valueOf(35.53);
-        List<DebtCase> mockedDebtCase =
-                List.of(TestUtils.setupDebtCaseTestData(creditorUsername, creditorId, debtorName, debtorSurname,
+        List<DebtCaseView> mockedDebtCase =
+                List.of(TestUtils.setupDebtCaseViewTestData(creditorUsername, creditorId, debtorName, debtorSurname,
                         debtorEmail,
                         debtorPhoneNumber, typeToMatch, DebtCaseStatus.NEW, dueDate, lateInterestRate, debtInterestRate,
                         amountOwed, debtorUsername));
-        when(debtCaseService.getDebtCasesByDebtorUsername(debtorUsername)).thenReturn(mockedDebtCase);
+        when(debtCaseService.getDebtCaseViewsByDebtorUsername(eq(debtorUsername), any(DebtCasePageRequestDTO.class)))
+                .thenReturn(new DebtCaseViewPage(mockedDebtCase, null));
 
         MvcResult result = mockMvc.perform(get("/api/debt/cases/debtor/{username}", debtorUsername))
                 .andExpect(status().isOk())
@@ -208,7 +271,7 @@ public class DebtCaseControllerTest {
                 .andDo(print())
                 .andReturn();
 
-        verify(debtCaseService).getDebtCasesByDebtorUsername(any(String.class));
+        verify(debtCaseService).getDebtCaseViewsByDebtorUsername(any(String.class), any(DebtCasePageRequestDTO.class));
         Assertions.assertNotNull(result);
         Assertions.assertEquals(MediaType.APPLICATION_JSON_VALUE, result.getResponse().getContentType());
         Assertions.assertNotNull(result.getResponse().getContentAsString());
@@ -283,24 +346,112 @@ public class DebtCaseControllerTest {
     }
 
     @Test
-    void createDebtCase_ShouldReturnSuccessfulCSVUpload() throws Exception {
+    void exportDebtCasesByCreditorUsername_WhenNdjsonRequested_ShouldStreamExportAsAttachment() throws Exception {
+        String username = "creditor123";
+        String ndjson = "{\"id\":1}\n";
+        when(debtCaseExportService.exportDebtCasesByCreditorUsername(eq(username), eq(DebtCaseExportFormat.NDJSON),
+                any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write(ndjson.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/debt/cases/creditor/{username}/export", username)
+                        .param("format", "NDJSON")
+                        .principal(setupAuthentication(username, Role.CREDITOR)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=debt_cases_" +
+                        LocalDateTime.now().format(Constants.DATE_TIME_FORMATTER_FOR_FILE) + ".ndjson"))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(ndjson));
+
+        verify(debtCaseExportService).exportDebtCasesByCreditorUsername(eq(username), eq(DebtCaseExportFormat.NDJSON),
+                any(OutputStream.class));
+    }
+
+    @Test
+    void exportDebtCasesByCreditorUsername_WhenAdminExportsOtherCreditor_ShouldStreamExport() throws Exception {
+        String username = "creditor123";
+        when(debtCaseExportService.exportDebtCasesByCreditorUsername(eq(username), eq(DebtCaseExportFormat.CSV),
+                any(OutputStream.class))).thenReturn(0L);
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/debt/cases/creditor/{username}/export", username)
+                        .principal(setupAuthentication("admin", Role.ADMIN)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk());
+
+        verify(debtCaseExportService).exportDebtCasesByCreditorUsername(eq(username), eq(DebtCaseExportFormat.CSV),
+                any(OutputStream.class));
+    }
+
+    @Test
+    void exportDebtCasesByCreditorUsername_WhenCreditorExportsOtherCreditor_ShouldReturnForbidden() throws Exception {
+        String username = "creditor123";
+
+        mockMvc.perform(get("/api/debt/cases/creditor/{username}/export", username)
+                        .principal(setupAuthentication("othercreditor", Role.CREDITOR)))
+                .andExpect(status().isForbidden())
+                .andExpect(request().asyncNotStarted())
+                .andExpect(jsonPath("$.description").value(String.format(Constants.DEBT_CASE_EXPORT_FORBIDDEN, username)));
+
+        verifyNoInteractions(debtCaseExportService);
+    }
+
+    @Test
+    void createDebtCase_ShouldReturnAcceptedCsvUploadJob() throws Exception {
         String username = "username";
         MultipartFile mockFile = new MockMultipartFile("file", "test.csv", "text/csv", "test".getBytes());
-        doNothing().when(csvService).readCsvDataAndSendToKafka(any(MultipartFile.class), any(String.class));
+        CsvUploadJob csvUploadJob = new CsvUploadJob();
+        csvUploadJob.setId(1);
+        csvUploadJob.setCreditorUsername(username);
+        csvUploadJob.setStatus(CsvUploadJobStatus.QUEUED);
+        when(csvUploadJobService.submitCsvUploadJob(any(MultipartFile.class), any(String.class)))
+                .thenReturn(csvUploadJob);
 
         MvcResult result = mockMvc.perform(multipart("/api/debt/cases/creditors/{username}/file", username)
                         .file("file", mockFile.getBytes())
                         .contentType(MediaType.MULTIPART_FORM_DATA_VALUE))
-                .andExpect(status().isCreated())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(csvUploadJob.getId()))
+                .andExpect(jsonPath("$.status").value(CsvUploadJobStatus.QUEUED.name()))
                 .andDo(print())
                 .andReturn();
 
-        verify(csvService).readCsvDataAndSendToKafka(any(MultipartFile.class), anyString());
+        verify(csvUploadJobService).submitCsvUploadJob(any(MultipartFile.class), anyString());
         Assertions.assertNotNull(result);
-        Assertions.assertNotNull(result.getResponse().getContentAsString());
-        Assertions.assertEquals(result.getResponse().getContentAsString(),
-                "CSV uploaded successfully and debt cases are being enriched");
-        Assertions.assertEquals(HttpStatus.CREATED.value(), result.getResponse().getStatus());
+        Assertions.assertEquals(HttpStatus.ACCEPTED.value(), result.getResponse().getStatus());
+    }
+
+    @Test
+    void getCsvUploadJobById_ShouldReturnCsvUploadJobProgress() throws Exception {
+        String username = "username";
+        int id = 1;
+        CsvUploadJob csvUploadJob = new CsvUploadJob();
+        csvUploadJob.setId(id);
+        csvUploadJob.setCreditorUsername(username);
+        csvUploadJob.setStatus(CsvUploadJobStatus.RUNNING);
+        csvUploadJob.setRowsParsed(1000);
+        csvUploadJob.setRowsPublished(990);
+        csvUploadJob.setRowsFailed(10);
+        csvUploadJob.setCommittedRowOffset(1000);
+        when(csvUploadJobService.getCsvUploadJobByIdAndUsername(id, username)).thenReturn(csvUploadJob);
+
+        MvcResult result = mockMvc.perform(get("/api/debt/cases/creditors/{username}/file/jobs/{id}", username, id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsParsed").value(1000))
+                .andExpect(jsonPath("$.rowsPublished").value(990))
+                .andExpect(jsonPath("$.rowsFailed").value(10))
+                .andExpect(jsonPath("$.committedRowOffset").value(1000))
+                .andExpect(jsonPath("$.spoolPath").doesNotExist())
+                .andDo(print())
+                .andReturn();
+
+        verify(csvUploadJobService).getCsvUploadJobByIdAndUsername(id, username);
+        Assertions.assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
     }
 
     @Test
@@ -334,4 +485,62 @@ public class DebtCaseControllerTest {
         Assertions.assertNotNull(result);
         Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), result.getResponse().getStatus());
     }
+
+    @Test
+    void calculateDebtCasesPaymentProjectionsByDebtorUsername_ShouldReturnProjections() throws Exception {
+        String debtorUsername = "userWithDebts";
+        DebtPaymentStrategyDTO debtPaymentStrategyDTO =
+                TestUtils.setupDebtPaymentStrategyDTO(BigDecimal.valueOf(50), BigDecimal.valueOf(20));
+        PayoffProjection payoffProjection = new PayoffProjection(300, BigDecimal.valueOf(1234.56),
+                List.of(new PayoffProjectionPoint(0, BigDecimal.valueOf(10000)),
+                        new PayoffProjectionPoint(300, BigDecimal.ZERO)));
+        when(debtCaseService.calculateDebtPaymentProjections(any(DebtPaymentStrategyDTO.class), eq(debtorUsername)))
+                .thenReturn(new DebtPaymentProjection(payoffProjection, payoffProjection));
+
+        mockMvc.perform(post("/api/debt/cases/debtor/{username}/payment/projection", debtorUsername)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(debtPaymentStrategyDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.snowball.monthsToPayoff").value(300))
+                .andExpect(jsonPath("$.avalanche.balanceSeries", hasSize(2)))
+                .andDo(print());
+
+        verify(debtCaseService).calculateDebtPaymentProjections(any(DebtPaymentStrategyDTO.class),
+                eq(debtorUsername));
+    }
+
+    @Test
+    void calculateDebtCasesPaymentStrategySweepByDebtorUsername_ShouldReturnSweepMatrix() throws Exception {
+        String debtorUsername = "userWithDebts";
+        DebtPaymentStrategySweepDTO debtPaymentStrategySweepDTO = new DebtPaymentStrategySweepDTO();
+        debtPaymentStrategySweepDTO.setMinimalMonthlyPaymentFrom(BigDecimal.valueOf(10));
+        debtPaymentStrategySweepDTO.setMinimalMonthlyPaymentTo(BigDecimal.valueOf(20));
+        debtPaymentStrategySweepDTO.setMinimalMonthlyPaymentStep(BigDecimal.valueOf(10));
+        debtPaymentStrategySweepDTO.setExtraMonthlyPaymentFrom(BigDecimal.valueOf(50));
+        debtPaymentStrategySweepDTO.setExtraMonthlyPaymentTo(BigDecimal.valueOf(50));
+        debtPaymentStrategySweepDTO.setExtraMonthlyPaymentStep(BigDecimal.valueOf(10));
+        DebtPaymentStrategySweep expectedSweep = new DebtPaymentStrategySweep(
+                List.of(BigDecimal.valueOf(10), BigDecimal.valueOf(20)), List.of(BigDecimal.valueOf(50)),
+                new Integer[][]{{12}, {9}}, new BigDecimal[][]{{BigDecimal.TEN}, {BigDecimal.ONE}},
+                new Integer[][]{{11}, {null}}, new BigDecimal[][]{{BigDecimal.TEN}, {BigDecimal.ONE}});
+        when(paymentStrategySweepService.calculateDebtPaymentStrategySweep(any(DebtPaymentStrategySweepDTO.class),
+                eq(debtorUsername))).thenReturn(expectedSweep);
+
+        mockMvc.perform(post("/api/debt/cases/debtor/{username}/payment/strategy/sweep", debtorUsername)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(debtPaymentStrategySweepDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.minimalMonthlyPayments", hasSize(2)))
+                .andExpect(jsonPath("$.snowballMonthsToPayoff[1][0]").value(9))
+                .andExpect(jsonPath("$.avalancheMonthsToPayoff[1][0]").doesNotExist())
+                .andDo(print());
+
+        verify(paymentStrategySweepService).calculateDebtPaymentStrategySweep(any(DebtPaymentStrategySweepDTO.class),
+                eq(debtorUsername));
+    }
+
+    private static Authentication setupAuthentication(String username, Role role) {
+        return new UsernamePasswordAuthenticationToken(username, null,
+                List.of(new SimpleGrantedAuthority(role.name())));
+    }
 }
@@ -0,0 +1,57 @@
+package com.dm.debtease.controller;
+
+import com.dm.debtease.model.ScheduledJobRun;
+import com.dm.debtease.model.ScheduledJobRunStatus;
+import com.dm.debtease.service.ScheduledJobRunService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScheduledJobRunControllerTest {
+    @Mock
+    private ScheduledJobRunService scheduledJobRunService;
+    @InjectMocks
+    private ScheduledJobRunController scheduledJobRunController;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(scheduledJobRunController).build();
+    }
+
+    @Test
+    void getRecentScheduledJobRuns_WhenJobNameIsGiven_ShouldReturnRunsOfThatJob() throws Exception {
+        ScheduledJobRun run = new ScheduledJobRun();
+        run.setJobName("lateInterestAccrual");
+        run.setStatus(ScheduledJobRunStatus.SUCCEEDED);
+        run.setStartedAt(LocalDateTime.of(2024, 5, 2, 0, 0));
+        run.setRowsUpdated(150);
+        when(scheduledJobRunService.getRecentRuns("lateInterestAccrual", 10)).thenReturn(List.of(run));
+
+        mockMvc.perform(get("/api/scheduled/jobs/runs").param("jobName", "lateInterestAccrual").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].jobName").value("lateInterestAccrual"))
+                .andExpect(jsonPath("$[0].rowsUpdated").value(150))
+                .andExpect(jsonPath("$[0].startedAt").value("2024-05-02 00:00:00"));
+
+        verify(scheduledJobRunService).getRecentRuns("lateInterestAccrual", 10);
+    }
+}
@@ -0,0 +1,119 @@
+package com.dm.debtease.kafka.consumer;
+
+import com.dm.debtease.TestUtils;
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.NotificationType;
+import com.dm.debtease.repository.DebtCaseJdbcRepository;
+import com.dm.debtease.service.DebtCaseEnrichmentService;
+import com.dm.debtease.service.EmailOutboxService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class DebtCaseConsumerTest {
+    @Mock
+    private DebtCaseJdbcRepository debtCaseJdbcRepository;
+    @Mock
+    private DebtCaseEnrichmentService debtCaseEnrichmentService;
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private EmailOutboxService emailOutboxService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @InjectMocks
+    private DebtCaseConsumer debtCaseConsumer;
+    private boolean inTransaction;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        lenient().doAnswer(invocation -> {
+            inTransaction = true;
+            try {
+                invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            } finally {
+                inTransaction = false;
+            }
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void consumeAndEnrich_WhenBatchConsumed_ShouldSaveAndEnqueueInOneTransactionThenNotifyCreditors() {
+        List<DebtCase> debtCases = List.of(setupDebtCaseTestData());
+        doAnswer(invocation -> assertInTransaction()).when(debtCaseJdbcRepository).saveEnrichedDebtCases(debtCases);
+        when(emailOutboxService.enqueue(debtCases, NotificationType.NEW_DEBT_CASE))
+                .thenAnswer(invocation -> {
+                    assertInTransaction();
+                    return 1;
+                });
+
+        debtCaseConsumer.consumeAndEnrich(debtCases);
+
+        InOrder inOrder = inOrder(debtCaseEnrichmentService, debtCaseJdbcRepository, emailOutboxService,
+                messagingTemplate);
+        inOrder.verify(debtCaseEnrichmentService).enrichDebtCases(debtCases);
+        inOrder.verify(debtCaseJdbcRepository).saveEnrichedDebtCases(debtCases);
+        inOrder.verify(emailOutboxService).enqueue(debtCases, NotificationType.NEW_DEBT_CASE);
+        inOrder.verify(messagingTemplate).convertAndSendToUser(eq("creditor123"), eq("/topic/enriched-debt-cases"),
+                eq(debtCases.get(0)));
+    }
+
+    @Test
+    void consumeAndEnrich_WhenEnqueueFails_ShouldFailBatchWithoutNotifyingCreditors() {
+        List<DebtCase> debtCases = List.of(setupDebtCaseTestData());
+        when(emailOutboxService.enqueue(debtCases, NotificationType.NEW_DEBT_CASE))
+                .thenThrow(new IllegalStateException("outbox unavailable"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> debtCaseConsumer.consumeAndEnrich(debtCases));
+
+        verify(debtCaseJdbcRepository).saveEnrichedDebtCases(debtCases);
+        verify(transactionTemplate).executeWithoutResult(any());
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void consumeAndEnrich_WhenWebSocketSendFails_ShouldStillNotifyRemainingCreditorsAndAckBatch() {
+        DebtCase firstDebtCase = setupDebtCaseTestData();
+        DebtCase secondDebtCase = setupDebtCaseTestData();
+        List<DebtCase> debtCases = List.of(firstDebtCase, secondDebtCase);
+        doThrow(new MessagingException("broker unavailable")).doNothing()
+                .when(messagingTemplate).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+
+        Assertions.assertDoesNotThrow(() -> debtCaseConsumer.consumeAndEnrich(debtCases));
+
+        verify(messagingTemplate, times(2)).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+    }
+
+    private Object assertInTransaction() {
+        Assertions.assertTrue(inTransaction);
+        return null;
+    }
+
+    private static DebtCase setupDebtCaseTestData() {
+        return TestUtils.setupDebtCaseTestData("creditor123", 3, "MyName", "MySurname", "myemail@gmail.com",
+                "+37068821345", "tax", DebtCaseStatus.NEW, LocalDateTime.of(2024, 12, 12, 23, 0), 5, 7,
+                BigDecimal.valueOf(84.35), "debtor");
+    }
+}
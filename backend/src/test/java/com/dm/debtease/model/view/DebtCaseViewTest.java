@@ -0,0 +1,81 @@
+package com.dm.debtease.model.view;
+
+import com.dm.debtease.TestUtils;
+import com.dm.debtease.model.Company;
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.EnrichmentStatus;
+import com.dm.debtease.model.Role;
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class DebtCaseViewTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void serialization_WhenAllAssociationsPresent_ShouldMatchDebtCaseEntityJson() {
+        DebtCase debtCase = setupDebtCaseTestData();
+        Company company = new Company();
+        ReflectionTestUtils.setField(company, "id", 5);
+        ReflectionTestUtils.setField(company, "name", "Company");
+        ReflectionTestUtils.setField(company, "industry", "Finance");
+        ReflectionTestUtils.setField(company, "domain", "company.com");
+        ReflectionTestUtils.setField(company, "locality", "Vilnius");
+        ReflectionTestUtils.setField(company, "country", "Lithuania");
+        debtCase.getCreditor().setCompany(company);
+        VerifiedPhoneNumberInformation verifiedPhoneNumberInformation = new VerifiedPhoneNumberInformation();
+        verifiedPhoneNumberInformation.setId(9);
+        verifiedPhoneNumberInformation.setPhoneNumber("+37068821345");
+        verifiedPhoneNumberInformation.setValid("true");
+        verifiedPhoneNumberInformation.setLocation("Vilnius");
+        verifiedPhoneNumberInformation.setCarrier("Telia");
+        verifiedPhoneNumberInformation.setLineType("mobile");
+        debtCase.getDebtor().setVerifiedPhoneNumberInformation(verifiedPhoneNumberInformation);
+        DebtCaseView debtCaseView = new DebtCaseView(1, debtCase.getAmountOwed(), 5.0, 7.0, debtCase.getDueDate(),
+                DebtCaseStatus.NEW, EnrichmentStatus.values()[0], debtCase.getCreatedDate(),
+                debtCase.getModifiedDate(), 15, "tax",
+                3, "testName", "Address", "+37060000000", "testemail@gmail.com", "LT00", "creditor123",
+                Role.CREDITOR, 5, "Company", "Finance", "company.com", "Vilnius",
+                1, "MyName", "MySurname", "myemail@gmail.com", "+37068821345", "debtor", Role.DEBTOR,
+                9, "+37068821345", "true", "Vilnius", "Telia", "mobile");
+
+        Assertions.assertEquals(objectMapper.valueToTree(debtCase), (JsonNode) objectMapper.valueToTree(debtCaseView));
+    }
+
+    @Test
+    void serialization_WhenOptionalAssociationsMissing_ShouldMatchDebtCaseEntityJson() {
+        DebtCase debtCase = setupDebtCaseTestData();
+        DebtCaseView debtCaseView = new DebtCaseView(1, debtCase.getAmountOwed(), 5.0, 7.0, debtCase.getDueDate(),
+                DebtCaseStatus.NEW, EnrichmentStatus.values()[0], debtCase.getCreatedDate(),
+                debtCase.getModifiedDate(), 15, "tax",
+                3, "testName", "Address", "+37060000000", "testemail@gmail.com", "LT00", "creditor123",
+                Role.CREDITOR, null, null, null, null, null,
+                1, "MyName", "MySurname", "myemail@gmail.com", "+37068821345", "debtor", Role.DEBTOR,
+                null, null, null, null, null, null);
+
+        Assertions.assertEquals(objectMapper.valueToTree(debtCase), (JsonNode) objectMapper.valueToTree(debtCaseView));
+    }
+
+    private static DebtCase setupDebtCaseTestData() {
+        DebtCase debtCase = TestUtils.setupDebtCaseTestData("creditor123", 3, "MyName", "MySurname",
+                "myemail@gmail.com", "+37068821345", "tax", DebtCaseStatus.NEW,
+                LocalDateTime.of(2024, 12, 12, 23, 0), 5, 7, new BigDecimal("84.35"), "debtor");
+        debtCase.setEnrichmentStatus(EnrichmentStatus.values()[0]);
+        debtCase.setCreatedDate(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        debtCase.setModifiedDate(LocalDateTime.of(2024, 2, 3, 4, 5, 6));
+        debtCase.getCreditor().setAddress("Address");
+        debtCase.getCreditor().setPhoneNumber("+37060000000");
+        debtCase.getCreditor().setAccountNumber("LT00");
+        debtCase.getCreditor().getUser().setRole(Role.CREDITOR);
+        debtCase.getDebtor().getUser().setRole(Role.DEBTOR);
+        return debtCase;
+    }
+}
@@ -0,0 +1,421 @@
+package com.dm.debtease.repository;
+
+import com.dm.debtease.TestUtils;
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.EnrichmentStatus;
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the repository against a recording connection: every prepared statement keeps its exact SQL and the values
+ * bound to it row by row, so both the statements and the parameter order they rely on are checked.
+ */
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class DebtCaseJdbcRepositoryTest {
+    private static final int FIRST_GENERATED_ID = 100;
+    private static final String LOCK_CREDITORS = "SELECT id FROM creditor WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+    private static final String SELECT_STORED_DEBT_CASES =
+            "SELECT id, creditor_id, debtor_id, type_id, amount_owed, due_date FROM debt_case " +
+                    "WHERE creditor_id = ANY(?) AND debtor_id = ANY(?)";
+    private static final String UPSERT_VERIFIED_PHONE_NUMBER_INFORMATION =
+            "INSERT INTO verified_phone_number_information (phone_number, valid, location, carrier, line_type) " +
+                    "VALUES (?, ?, ?, ?, ?) ON CONFLICT (phone_number) DO UPDATE SET valid = EXCLUDED.valid, " +
+                    "location = EXCLUDED.location, carrier = EXCLUDED.carrier, line_type = EXCLUDED.line_type";
+    private static final String UPDATE_DEBTOR_VERIFIED_PHONE_NUMBER_INFORMATION =
+            "UPDATE debtor SET verified_phone_number_information_id = ? WHERE id = ?";
+    private static final String UPDATE_CREDITOR_COMPANY = "UPDATE creditor SET company_id = ? WHERE id = ?";
+    private static final String INSERT_DEBT_CASE =
+            "INSERT INTO debt_case (amount_owed, late_interest_rate, debt_interest_rate, due_date, type_id, " +
+                    "case_status, creditor_id, debtor_id, created_date, modified_date, enrichment_status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_DEBT_CASE =
+            "UPDATE debt_case SET amount_owed = ?, late_interest_rate = ?, debt_interest_rate = ?, due_date = ?, " +
+                    "type_id = ?, case_status = ?, creditor_id = ?, debtor_id = ?, created_date = ?, " +
+                    "modified_date = ?, enrichment_status = ? WHERE id = ?";
+    private static final String BUMP_DEBT_VERSIONS =
+            "UPDATE debtor b SET debt_version = b.debt_version + 1 " +
+                    "FROM (SELECT id FROM debtor WHERE id = ANY(?) ORDER BY id FOR UPDATE) locked " +
+                    "WHERE b.id = locked.id";
+    private static final String MARK_PENDING_DEBT_CASES_ENRICHED =
+            "UPDATE debt_case SET enrichment_status = 'ENRICHED' WHERE id = ANY(?) AND enrichment_status = 'PENDING' " +
+                    "RETURNING id";
+    private static final String BUMP_ACCRUED_DEBT_VERSIONS =
+            "locked AS (SELECT id FROM debtor WHERE id IN (SELECT debtor_id FROM accrued) ORDER BY id FOR UPDATE), " +
+                    "bumped AS (UPDATE debtor b SET debt_version = b.debt_version + 1 FROM locked " +
+                    "WHERE b.id = locked.id) ";
+    private static final String ACCRUE_MONTHLY_INTEREST =
+            "WITH accrued AS (UPDATE debt_case SET amount_owed = ROUND(amount_owed + amount_owed * " +
+                    "CAST((debt_interest_rate / 12) / 100 AS numeric), 2), last_interest_accrual_date = ? " +
+                    "WHERE id >= ? AND id <= ? AND (case_status IS NULL OR case_status <> 'CLOSED') " +
+                    "AND (last_interest_accrual_date IS NULL OR last_interest_accrual_date < ?) " +
+                    "RETURNING debtor_id), " + BUMP_ACCRUED_DEBT_VERSIONS + "SELECT COUNT(*) FROM accrued";
+    private static final String ACCRUE_LATE_INTEREST_PAGE =
+            "WITH page AS (SELECT id FROM debt_case WHERE due_date <= ? " +
+                    "AND (case_status IS NULL OR case_status <> 'CLOSED') " +
+                    "AND (last_late_interest_date IS NULL OR last_late_interest_date < ?) " +
+                    "AND id > ? AND id <= ? ORDER BY id LIMIT ?), " +
+                    "accrued AS (UPDATE debt_case d SET amount_owed = ROUND(d.amount_owed + d.amount_owed * " +
+                    "CAST(d.late_interest_rate / 100 AS numeric), 2), last_late_interest_date = ? " +
+                    "FROM page WHERE d.id = page.id RETURNING d.id, d.debtor_id), " +
+                    BUMP_ACCRUED_DEBT_VERSIONS + "SELECT id FROM accrued";
+    private static final LocalDateTime DUE_DATE = LocalDateTime.of(2024, 12, 12, 23, 0);
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private Connection connection;
+    @InjectMocks
+    private DebtCaseJdbcRepository debtCaseJdbcRepository;
+    private final List<RecordedStatement> statements = new ArrayList<>();
+    private final Map<Array, SqlArray> arrays = new IdentityHashMap<>();
+    private final List<Object[]> storedDebtCases = new ArrayList<>();
+    private List<Integer> returnedIds = List.of();
+
+    @BeforeEach
+    void setup() throws Exception {
+        lenient().when(connection.prepareStatement(anyString())).thenAnswer(invocation ->
+                prepare(invocation.getArgument(0)));
+        lenient().when(connection.prepareStatement(anyString(), any(String[].class))).thenAnswer(invocation ->
+                prepare(invocation.getArgument(0)));
+        lenient().when(connection.createArrayOf(anyString(), any())).thenAnswer(invocation -> {
+            Array array = mock(Array.class);
+            arrays.put(array, new SqlArray(invocation.getArgument(0),
+                    Arrays.asList((Object[]) invocation.getArgument(1))));
+            return array;
+        });
+        lenient().when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+            PreparedStatement ps = invocation.getArgument(0, PreparedStatementCreator.class)
+                    .createPreparedStatement(connection);
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            List<Map<String, Object>> keys = invocation.getArgument(2, KeyHolder.class).getKeyList();
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                setter.setValues(ps, i);
+                lastStatement().endRow();
+                keys.add(Map.of("id", FIRST_GENERATED_ID + i));
+            }
+            return new int[setter.getBatchSize()];
+        });
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(this::runParameterizedBatch);
+        lenient().doAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            RecordedStatement statement = lastStatement();
+            statement.endRow();
+            if (statement.sql().equals(SELECT_STORED_DEBT_CASES)) {
+                RowCallbackHandler rowCallbackHandler = invocation.getArgument(1);
+                for (Object[] storedDebtCase : storedDebtCases) {
+                    rowCallbackHandler.processRow(setupStoredDebtCaseRow(storedDebtCase));
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        lenient().when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+                    lastStatement().endRow();
+                    return returnedIds;
+                });
+        lenient().when(jdbcTemplate.update(any(PreparedStatementCreator.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+            lastStatement().endRow();
+            return 1;
+        });
+    }
+
+    @Test
+    void saveEnrichedDebtCases_WhenBatchHasNewAndExistingDebtCases_ShouldInsertNewAndUpdateExisting() {
+        DebtCase newDebtCase = setupDebtCaseTestData(0, new BigDecimal("84.35"));
+        newDebtCase.setEnrichmentStatus(EnrichmentStatus.ENRICHED);
+        DebtCase existingDebtCase = setupDebtCaseTestData(7, new BigDecimal("12.50"));
+        existingDebtCase.setDebtCaseStatus(DebtCaseStatus.CLOSED);
+        existingDebtCase.setModifiedDate(CREATED_DATE.plusDays(1));
+        int creditorId = newDebtCase.getCreditor().getId();
+        int debtorId = newDebtCase.getDebtor().getId();
+        int typeId = newDebtCase.getDebtCaseType().getId();
+
+        debtCaseJdbcRepository.saveEnrichedDebtCases(List.of(newDebtCase, existingDebtCase));
+
+        Assertions.assertEquals(FIRST_GENERATED_ID, newDebtCase.getId());
+        Assertions.assertEquals(7, existingDebtCase.getId());
+        Assertions.assertEquals(List.of(LOCK_CREDITORS, SELECT_STORED_DEBT_CASES, INSERT_DEBT_CASE,
+                UPDATE_DEBT_CASE, BUMP_DEBT_VERSIONS), sqlOf(statements).stream()
+                .filter(sql -> !sql.equals(UPDATE_CREDITOR_COMPANY)).toList());
+        Assertions.assertEquals(rows(row(new SqlArray("integer", List.of(creditorId)))),
+                statement(LOCK_CREDITORS).rows());
+        Assertions.assertEquals(rows(row(new SqlArray("integer", List.of(creditorId)),
+                new SqlArray("integer", List.of(debtorId)))), statement(SELECT_STORED_DEBT_CASES).rows());
+        Assertions.assertEquals(rows(row(new BigDecimal("84.35"), 5.0, 7.0, Timestamp.valueOf(DUE_DATE), typeId,
+                new Typed("NEW", Types.OTHER), creditorId, debtorId, Timestamp.valueOf(CREATED_DATE), null,
+                "ENRICHED")), statement(INSERT_DEBT_CASE).rows());
+        Assertions.assertEquals(rows(row(new BigDecimal("12.50"), 5.0, 7.0, Timestamp.valueOf(DUE_DATE), typeId,
+                new Typed("CLOSED", Types.OTHER), creditorId, debtorId, Timestamp.valueOf(CREATED_DATE),
+                Timestamp.valueOf(CREATED_DATE.plusDays(1)), null, 7)), statement(UPDATE_DEBT_CASE).rows());
+        Assertions.assertEquals(rows(row(new Typed(null, Types.INTEGER), creditorId)),
+                statement(UPDATE_CREDITOR_COMPANY).rows());
+        Assertions.assertEquals(rows(row(new SqlArray("integer", List.of(debtorId)))),
+                statement(BUMP_DEBT_VERSIONS).rows());
+    }
+
+    @Test
+    void saveEnrichedDebtCases_WhenPhoneNumberInformationIsNew_ShouldUpsertItAndLinkDebtor() {
+        DebtCase debtCase = setupDebtCaseTestData(7, new BigDecimal("12.50"));
+        debtCase.getDebtor().setVerifiedPhoneNumberInformation(setupVerifiedPhoneNumberInformation());
+
+        debtCaseJdbcRepository.saveEnrichedDebtCases(List.of(debtCase));
+
+        Assertions.assertEquals(FIRST_GENERATED_ID, debtCase.getDebtor().getVerifiedPhoneNumberInformation().getId());
+        Assertions.assertEquals(rows(row("37068821345", "true", "Vilnius", "Telia", "mobile")),
+                statement(UPSERT_VERIFIED_PHONE_NUMBER_INFORMATION).rows());
+        Assertions.assertEquals(rows(row(FIRST_GENERATED_ID, debtCase.getDebtor().getId())),
+                statement(UPDATE_DEBTOR_VERIFIED_PHONE_NUMBER_INFORMATION).rows());
+    }
+
+    @Test
+    void saveEnrichedDebtCases_WhenBatchIsRedelivered_ShouldReuseStoredIdsInsteadOfInsertingAgain() {
+        DebtCase redeliveredDebtCase = setupDebtCaseTestData(0, new BigDecimal("84.35"));
+        DebtCase newDebtCase = setupDebtCaseTestData(0, new BigDecimal("99.99"));
+        storedDebtCases.add(new Object[]{42, redeliveredDebtCase.getCreditor().getId(),
+                redeliveredDebtCase.getDebtor().getId(), redeliveredDebtCase.getDebtCaseType().getId(),
+                new BigDecimal("84.3500"), DUE_DATE});
+
+        debtCaseJdbcRepository.saveEnrichedDebtCases(List.of(redeliveredDebtCase, newDebtCase));
+
+        Assertions.assertEquals(42, redeliveredDebtCase.getId());
+        Assertions.assertEquals(FIRST_GENERATED_ID, newDebtCase.getId());
+        List<List<Object>> insertedRows = statement(INSERT_DEBT_CASE).rows();
+        Assertions.assertEquals(1, insertedRows.size());
+        Assertions.assertEquals(new BigDecimal("99.99"), insertedRows.get(0).get(0));
+    }
+
+    @Test
+    void saveEnrichedDebtCases_WhenWholeBatchIsAlreadyStored_ShouldNotInsertDebtCases() {
+        DebtCase redeliveredDebtCase = setupDebtCaseTestData(0, new BigDecimal("84.35"));
+        storedDebtCases.add(new Object[]{42, redeliveredDebtCase.getCreditor().getId(),
+                redeliveredDebtCase.getDebtor().getId(), redeliveredDebtCase.getDebtCaseType().getId(),
+                new BigDecimal("84.35"), DUE_DATE});
+
+        debtCaseJdbcRepository.saveEnrichedDebtCases(List.of(redeliveredDebtCase));
+
+        Assertions.assertEquals(42, redeliveredDebtCase.getId());
+        Assertions.assertFalse(sqlOf(statements).contains(INSERT_DEBT_CASE));
+        Assertions.assertFalse(sqlOf(statements).contains(UPDATE_DEBT_CASE));
+    }
+
+    @Test
+    void saveReEnrichedDebtCases_WhenDebtCaseEnriched_ShouldOnlyWriteEnrichmentColumns() {
+        DebtCase enrichedDebtCase = setupDebtCaseTestData(7, new BigDecimal("12.50"));
+        enrichedDebtCase.setEnrichmentStatus(EnrichmentStatus.ENRICHED);
+        enrichedDebtCase.getDebtor().setVerifiedPhoneNumberInformation(setupVerifiedPhoneNumberInformation());
+        DebtCase stillPendingDebtCase = setupDebtCaseTestData(8, new BigDecimal("20.00"));
+        stillPendingDebtCase.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        returnedIds = List.of(7);
+
+        Set<Integer> markedDebtCaseIds =
+                debtCaseJdbcRepository.saveReEnrichedDebtCases(List.of(enrichedDebtCase, stillPendingDebtCase));
+
+        Assertions.assertEquals(Set.of(7), markedDebtCaseIds);
+        Assertions.assertEquals(List.of(UPSERT_VERIFIED_PHONE_NUMBER_INFORMATION,
+                UPDATE_DEBTOR_VERIFIED_PHONE_NUMBER_INFORMATION, MARK_PENDING_DEBT_CASES_ENRICHED), sqlOf(statements));
+        Assertions.assertEquals(rows(row(FIRST_GENERATED_ID, enrichedDebtCase.getDebtor().getId())),
+                statement(UPDATE_DEBTOR_VERIFIED_PHONE_NUMBER_INFORMATION).rows());
+        Assertions.assertEquals(rows(row(new SqlArray("integer", List.of(7)))),
+                statement(MARK_PENDING_DEBT_CASES_ENRICHED).rows());
+    }
+
+    @Test
+    void saveReEnrichedDebtCases_WhenNoDebtCaseEnriched_ShouldNotWrite() {
+        DebtCase stillPendingDebtCase = setupDebtCaseTestData(8, new BigDecimal("20.00"));
+        stillPendingDebtCase.setEnrichmentStatus(EnrichmentStatus.PENDING);
+
+        Assertions.assertTrue(debtCaseJdbcRepository.saveReEnrichedDebtCases(List.of(stillPendingDebtCase)).isEmpty());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void accrueMonthlyInterest_WhenCalled_ShouldBindAccrualDateAndIdRangeInStatementOrder() {
+        LocalDate accrualDate = LocalDate.of(2024, 6, 1);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(4);
+        ArgumentCaptor<Object[]> parameters = ArgumentCaptor.forClass(Object[].class);
+
+        int accrued = debtCaseJdbcRepository.accrueMonthlyInterest(10, 20, accrualDate);
+
+        Assertions.assertEquals(4, accrued);
+        verify(jdbcTemplate).queryForObject(eq(ACCRUE_MONTHLY_INTEREST), eq(Integer.class), parameters.capture());
+        Assertions.assertEquals(List.of(Date.valueOf(accrualDate), 10, 20, Date.valueOf(accrualDate)),
+                List.of(parameters.getValue()));
+    }
+
+    @Test
+    void accrueLateInterestPage_WhenCalled_ShouldBindPageBoundsInStatementOrder() {
+        LocalDate accrualDate = LocalDate.of(2024, 6, 1);
+        when(jdbcTemplate.queryForList(anyString(), eq(Integer.class), any(Object[].class))).thenReturn(List.of(11));
+        ArgumentCaptor<Object[]> parameters = ArgumentCaptor.forClass(Object[].class);
+
+        List<Integer> accruedIds = debtCaseJdbcRepository.accrueLateInterestPage(accrualDate, 10, 20, 50);
+
+        Assertions.assertEquals(List.of(11), accruedIds);
+        verify(jdbcTemplate).queryForList(eq(ACCRUE_LATE_INTEREST_PAGE), eq(Integer.class), parameters.capture());
+        Assertions.assertEquals(List.of(Timestamp.valueOf(accrualDate.atStartOfDay()), Date.valueOf(accrualDate), 10,
+                20, 50, Date.valueOf(accrualDate)), List.of(parameters.getValue()));
+    }
+
+    private PreparedStatement prepare(String sql) {
+        RecordedStatement statement = new RecordedStatement(sql);
+        statements.add(statement);
+        return mock(PreparedStatement.class, invocation -> recordParameter(statement, invocation));
+    }
+
+    private Object recordParameter(RecordedStatement statement, InvocationOnMock invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        Object[] arguments = invocation.getArguments();
+        if (!method.startsWith("set") || arguments.length < 2 || !(arguments[0] instanceof Integer index)) {
+            return Answers.RETURNS_DEFAULTS.answer(invocation);
+        }
+        Object value;
+        if (method.equals("setNull")) {
+            value = new Typed(null, (Integer) arguments[1]);
+        } else if (method.equals("setObject") && arguments.length == 3) {
+            value = new Typed(arguments[1], (Integer) arguments[2]);
+        } else if (method.equals("setArray")) {
+            value = arrays.get((Array) arguments[1]);
+        } else {
+            value = arguments[1];
+        }
+        statement.bind(index, value);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object runParameterizedBatch(InvocationOnMock invocation) throws Exception {
+        PreparedStatement ps = connection.prepareStatement(invocation.getArgument(0, String.class));
+        ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+        for (Object item : invocation.getArgument(1, Collection.class)) {
+            setter.setValues(ps, item);
+            lastStatement().endRow();
+        }
+        return new int[0][];
+    }
+
+    private RecordedStatement lastStatement() {
+        return statements.get(statements.size() - 1);
+    }
+
+    private RecordedStatement statement(String sql) {
+        List<RecordedStatement> matching = statements.stream().filter(statement -> statement.sql().equals(sql))
+                .toList();
+        Assertions.assertEquals(1, matching.size(), "Expected exactly one statement " + sql);
+        return matching.get(0);
+    }
+
+    private static List<String> sqlOf(List<RecordedStatement> statements) {
+        return statements.stream().map(RecordedStatement::sql).toList();
+    }
+
+    private static List<List<Object>> rows(List<Object> row) {
+        return List.of(row);
+    }
+
+    // values may be null, so rows are built with Arrays.asList
+    private static List<Object> row(Object... values) {
+        return Arrays.asList(values);
+    }
+
+    private static ResultSet setupStoredDebtCaseRow(Object[] storedDebtCase) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getInt(1)).thenReturn((Integer) storedDebtCase[0]);
+        when(resultSet.getInt(2)).thenReturn((Integer) storedDebtCase[1]);
+        when(resultSet.getInt(3)).thenReturn((Integer) storedDebtCase[2]);
+        when(resultSet.getInt(4)).thenReturn((Integer) storedDebtCase[3]);
+        when(resultSet.getBigDecimal(5)).thenReturn((BigDecimal) storedDebtCase[4]);
+        when(resultSet.getTimestamp(6)).thenReturn(Timestamp.valueOf((LocalDateTime) storedDebtCase[5]));
+        return resultSet;
+    }
+
+    private static VerifiedPhoneNumberInformation setupVerifiedPhoneNumberInformation() {
+        VerifiedPhoneNumberInformation verifiedPhoneNumberInformation = new VerifiedPhoneNumberInformation();
+        verifiedPhoneNumberInformation.setPhoneNumber("37068821345");
+        verifiedPhoneNumberInformation.setValid("true");
+        verifiedPhoneNumberInformation.setLocation("Vilnius");
+        verifiedPhoneNumberInformation.setCarrier("Telia");
+        verifiedPhoneNumberInformation.setLineType("mobile");
+        return verifiedPhoneNumberInformation;
+    }
+
+    private static DebtCase setupDebtCaseTestData(int id, BigDecimal amountOwed) {
+        DebtCase debtCase = TestUtils.setupDebtCaseTestData("creditor123", 3, "MyName", "MySurname",
+                "myemail@gmail.com", "+37068821345", "tax", DebtCaseStatus.NEW, DUE_DATE, 5, 7, amountOwed,
+                "debtor");
+        debtCase.setId(id);
+        debtCase.setCreatedDate(CREATED_DATE);
+        return debtCase;
+    }
+
+    private record Typed(Object value, int sqlType) {
+    }
+
+    private record SqlArray(String type, List<Object> elements) {
+    }
+
+    private static final class RecordedStatement {
+        private final String sql;
+        private final List<List<Object>> rows = new ArrayList<>();
+        private SortedMap<Integer, Object> parameters = new TreeMap<>();
+
+        RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+
+        String sql() {
+            return sql;
+        }
+
+        List<List<Object>> rows() {
+            return rows;
+        }
+
+        void bind(int index, Object value) {
+            parameters.put(index, value);
+        }
+
+        void endRow() {
+            rows.add(new ArrayList<>(parameters.values()));
+            parameters = new TreeMap<>();
+        }
+    }
+}
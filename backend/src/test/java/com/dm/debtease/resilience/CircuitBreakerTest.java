@@ -0,0 +1,70 @@
+package com.dm.debtease.resilience;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CircuitBreakerTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(30), clock::get);
+
+    @Test
+    void onFailure_WhenThresholdIsReached_ShouldOpenAndRejectCalls() {
+        circuitBreaker.onFailure();
+        Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onFailure();
+
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assertions.assertTrue(circuitBreaker.isOpen());
+        Assertions.assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onSuccess_WhenFailuresAreNotConsecutive_ShouldStayClosed() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquirePermission_WhenOpenDurationElapsed_ShouldAllowSingleTrialCall() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        Assertions.assertFalse(circuitBreaker.isOpen());
+        Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+        Assertions.assertFalse(circuitBreaker.tryAcquirePermission());
+        Assertions.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void onFailure_WhenTrialCallFails_ShouldReopen() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.onFailure();
+
+        Assertions.assertTrue(circuitBreaker.isOpen());
+    }
+
+    @Test
+    void onSuccess_WhenTrialCallSucceeds_ShouldClose() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.onSuccess();
+
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assertions.assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+}
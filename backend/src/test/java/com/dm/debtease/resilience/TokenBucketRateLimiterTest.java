@@ -0,0 +1,48 @@
+package com.dm.debtease.resilience;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucketRateLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void reserve_WhenBurstIsAvailable_ShouldNotWait() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2, 3, null, clock::get);
+
+        Assertions.assertEquals(0, rateLimiter.reserve());
+        Assertions.assertEquals(0, rateLimiter.reserve());
+        Assertions.assertEquals(0, rateLimiter.reserve());
+    }
+
+    @Test
+    void reserve_WhenBucketIsEmpty_ShouldQueueCallersAtConfiguredRate() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2, 1, null, clock::get);
+
+        Assertions.assertEquals(0, rateLimiter.reserve());
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rateLimiter.reserve());
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), rateLimiter.reserve());
+    }
+
+    @Test
+    void reserve_WhenTimePasses_ShouldRefillUpToBurst() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1, 2, null, clock::get);
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        Assertions.assertEquals(0, rateLimiter.reserve());
+        Assertions.assertEquals(0, rateLimiter.reserve());
+        Assertions.assertEquals(TimeUnit.SECONDS.toNanos(1), rateLimiter.reserve());
+    }
+
+    @Test
+    void constructor_WhenRateIsNotPositive_ShouldThrowIllegalArgumentException() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new TokenBucketRateLimiter(0, 1, null, clock::get));
+    }
+}
@@ -1,159 +1,164 @@
 package com.dm.debtease.scheduler;
 
-import com.dm.debtease.TestUtils;
-import com.dm.debtease.model.DebtCase;
-import com.dm.debtease.model.DebtCaseStatus;
-import com.dm.debtease.repository.DebtCaseRepository;
-import com.dm.debtease.service.DebtCaseService;
-import com.dm.debtease.service.EmailService;
-import com.dm.debtease.utils.Constants;
+import com.dm.debtease.model.EmailDispatchSummary;
+import com.dm.debtease.model.InterestAccrualSummary;
+import com.dm.debtease.model.ScheduledJobRun;
+import com.dm.debtease.service.CompanyMatchingService;
+import com.dm.debtease.service.DebtCaseEnrichmentService;
+import com.dm.debtease.service.EmailOutboxService;
+import com.dm.debtease.service.InterestAccrualService;
+import com.dm.debtease.service.JobLockService;
+import com.dm.debtease.service.ReminderService;
+import com.dm.debtease.service.ScheduledJobRunService;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("unused")
 public class SchedulerTest {
     @Mock
-    private DebtCaseService debtCaseService;
+    private ReminderService reminderService;
     @Mock
-    private DebtCaseRepository debtCaseRepository;
+    private DebtCaseEnrichmentService debtCaseEnrichmentService;
     @Mock
-    private EmailService emailService;
+    private CompanyMatchingService companyMatchingService;
+    @Mock
+    private InterestAccrualService interestAccrualService;
+    @Mock
+    private EmailOutboxService emailOutboxService;
+    @Mock
+    private JobLockService jobLockService;
+    @Mock
+    private ScheduledJobRunService scheduledJobRunService;
     @InjectMocks
     private Scheduler scheduler;
-    @Captor
-    private ArgumentCaptor<DebtCase> debtCaseCaptor;
+    private final List<ScheduledJobRun> recordedRuns = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(scheduler, "monthlyInterestPartitions", 2);
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return true;
+        }).when(jobLockService).runExclusively(anyString(), any(Runnable.class));
+        lenient().doAnswer(invocation -> {
+            IntConsumer partitionJob = invocation.getArgument(2);
+            partitionJob.accept(0);
+            partitionJob.accept(1);
+            return 2;
+        }).when(jobLockService).runPartitioned(anyString(), anyInt(), any(IntConsumer.class));
+        lenient().doAnswer(invocation -> {
+            ScheduledJobRun run = new ScheduledJobRun();
+            run.setJobName(invocation.getArgument(0));
+            Consumer<ScheduledJobRun> job = invocation.getArgument(2);
+            job.accept(run);
+            recordedRuns.add(run);
+            return null;
+        }).when(scheduledJobRunService).record(anyString(), anyBoolean(), any());
+    }
 
     @Test
-    void emailNotificationForUpcomingDueDatePaymentScheduler_WhenDebtCasesPending_ShouldSendNotificationEmailForEachCase() {
-        String debtorUsername = "debtor";
-        String debtorName = "name";
-        String debtorSurname = "surname";
-        String debtorEmail = "email@gmail.com";
-        String debtorPhoneNumber = "+37067144213";
-        String creditorUsername = "creditor123";
-        String typeToMatch = "DEFAULT_DEBT";
-        LocalDateTime dueDate =
-                LocalDateTime.parse(LocalDateTime.now().plusDays(1).format(Constants.DATE_TIME_FORMATTER),
-                        Constants.DATE_TIME_FORMATTER);
-        double lateInterestRate = 10.0;
-        double debtInterestRate = 10.0;
-        BigDecimal amountOwed = BigDecimal.valueOf(35.53);
-        int id = 1;
-        List<DebtCase> expectedDebtCases =
-                List.of(TestUtils.setupDebtCaseTestData(creditorUsername, id, debtorName, debtorSurname, debtorEmail,
-                        debtorPhoneNumber, typeToMatch, DebtCaseStatus.NEW, dueDate, lateInterestRate, debtInterestRate,
-                        amountOwed, debtorUsername));
-        when(debtCaseService.getAllDebtCases()).thenReturn(expectedDebtCases);
-        when(debtCaseService.isDebtCasePending(any(DebtCase.class), any(LocalDateTime.class),
-                any(LocalDateTime.class))).thenReturn(true);
+    void emailNotificationForUpcomingDueDatePaymentScheduler_ShouldQueueRemindersForNextTenDays() {
+        when(reminderService.enqueueUpcomingDueDateReminders(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
 
         scheduler.emailNotificationForUpcomingDueDatePaymentScheduler();
 
-        verify(emailService, times(expectedDebtCases.size())).sendNotificationEmail(any(DebtCase.class));
+        verify(reminderService, times(1)).enqueueUpcomingDueDateReminders(
+                argThat(startDate -> !startDate.isAfter(LocalDateTime.now())),
+                argThat(endDate -> endDate.isAfter(LocalDateTime.now().plusDays(9))));
     }
 
     @Test
-    void emailNotificationEachMonth20DayScheduler_WhenCalled_ShouldSendNotificationEmailForEachCase() {
-        String debtorUsername = "debtor";
-        String debtorName = "name";
-        String debtorSurname = "surname";
-        String debtorEmail = "email@gmail.com";
-        String debtorPhoneNumber = "+37067144213";
-        String creditorUsername = "creditor123";
-        String typeToMatch = "DEFAULT_DEBT";
-        LocalDateTime dueDate =
-                LocalDateTime.parse(LocalDateTime.now().plusDays(1).format(Constants.DATE_TIME_FORMATTER),
-                        Constants.DATE_TIME_FORMATTER);
-        double lateInterestRate = 10.0;
-        double debtInterestRate = 10.0;
-        BigDecimal amountOwed = BigDecimal.valueOf(35.53);
-        int id = 1;
-        List<DebtCase> expectedDebtCases =
-                List.of(TestUtils.setupDebtCaseTestData(creditorUsername, id, debtorName, debtorSurname, debtorEmail,
-                        debtorPhoneNumber, typeToMatch, DebtCaseStatus.NEW, dueDate, lateInterestRate, debtInterestRate,
-                        amountOwed, debtorUsername));
-        when(debtCaseService.getAllDebtCases()).thenReturn(expectedDebtCases);
+    void emailNotificationEachMonth20DayScheduler_WhenCalled_ShouldQueueRemindersForOpenDebtCases() {
+        when(reminderService.enqueueOpenDebtCaseReminders()).thenReturn(0);
 
         scheduler.emailNotificationEachMonth20DayScheduler();
 
-        verify(emailService, times(expectedDebtCases.size())).sendNotificationEmail(any(DebtCase.class));
+        verify(reminderService, times(1)).enqueueOpenDebtCaseReminders();
+    }
+
+    @Test
+    void drainEmailOutboxScheduler_WhenCalled_ShouldDrainOutboxAndRecordEmailsSent() {
+        EmailDispatchSummary summary = new EmailDispatchSummary();
+        summary.addResult(true);
+        summary.addResult(false);
+        when(emailOutboxService.drainOutbox()).thenReturn(summary);
+
+        scheduler.drainEmailOutboxScheduler();
+
+        verify(emailOutboxService, times(1)).drainOutbox();
+        verify(scheduledJobRunService).record(eq("emailOutboxDrain"), eq(false), any());
+        Assertions.assertEquals(1, recordedRuns.get(0).getEmailsSent());
+        Assertions.assertEquals(1, recordedRuns.get(0).getFailures());
     }
 
     @Test
-    void calculateOutstandingBalanceScheduler_WhenDueDatePassed_ShouldCalculateOutstandingBalanceForEachCase() {
-        String debtorUsername = "debtor";
-        String debtorName = "name";
-        String debtorSurname = "surname";
-        String debtorEmail = "email@gmail.com";
-        String debtorPhoneNumber = "+37067144213";
-        String creditorUsername = "creditor123";
-        String typeToMatch = "DEFAULT_DEBT";
-        LocalDateTime currentDate = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
-        LocalDateTime dueDate =
-                LocalDateTime.parse(LocalDateTime.now().plusDays(1).format(Constants.DATE_TIME_FORMATTER),
-                        Constants.DATE_TIME_FORMATTER);
-        double lateInterestRate = 10.0;
-        double debtInterestRate = 10.0;
-        BigDecimal amountOwed = BigDecimal.valueOf(35.53);
-        int id = 1;
-        List<DebtCase> expectedDebtCases =
-                List.of(TestUtils.setupDebtCaseTestData(creditorUsername, id, debtorName, debtorSurname, debtorEmail,
-                        debtorPhoneNumber, typeToMatch, DebtCaseStatus.NEW, dueDate, lateInterestRate, debtInterestRate,
-                        amountOwed, debtorUsername));
-        when(debtCaseRepository.findByDueDateLessThanEqual(currentDate)).thenReturn(Optional.of(expectedDebtCases));
+    void purgeScheduledJobRunsScheduler_WhenCalled_ShouldPurgeHistory() {
+        when(scheduledJobRunService.purgeHistory()).thenReturn(12);
+
+        scheduler.purgeScheduledJobRunsScheduler();
+
+        Assertions.assertEquals(12, recordedRuns.get(0).getRowsUpdated());
+    }
+
+    @Test
+    void calculateOutstandingBalanceScheduler_WhenDueDatePassed_ShouldAccrueLateInterestForCurrentDate() {
+        when(interestAccrualService.accrueLateInterest(any(LocalDate.class))).thenReturn(new InterestAccrualSummary());
 
         scheduler.calculateOutstandingBalanceScheduler();
 
-        verify(debtCaseRepository, times(expectedDebtCases.size())).save(debtCaseCaptor.capture());
-        List<DebtCase> capturedDebtCases = debtCaseCaptor.getAllValues();
-        Assertions.assertEquals(amountOwed.multiply(BigDecimal.valueOf(lateInterestRate / 100.0)).add(amountOwed),
-                capturedDebtCases.get(0).getAmountOwed());
+        verify(interestAccrualService, times(1)).accrueLateInterest(LocalDate.now());
+        Assertions.assertEquals("lateInterestAccrual", recordedRuns.get(0).getJobName());
     }
 
     @Test
-    void calculateOutstandingBalanceWithInterestRateScheduler_EachMonth_ShouldCalculateOutstandingBalanceForEachCase() {
-        String debtorUsername = "debtor";
-        String debtorName = "name";
-        String debtorSurname = "surname";
-        String debtorEmail = "email@gmail.com";
-        String debtorPhoneNumber = "+37067144213";
-        String creditorUsername = "creditor123";
-        String typeToMatch = "DEFAULT_DEBT";
-        LocalDateTime currentDate = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
-        LocalDateTime dueDate =
-                LocalDateTime.parse(LocalDateTime.now().plusDays(1).format(Constants.DATE_TIME_FORMATTER),
-                        Constants.DATE_TIME_FORMATTER);
-        double lateInterestRate = 10.0;
-        double debtInterestRate = 10.0;
-        BigDecimal amountOwed = BigDecimal.valueOf(35.53);
-        int id = 1;
-        List<DebtCase> expectedDebtCases =
-                List.of(TestUtils.setupDebtCaseTestData(creditorUsername, id, debtorName, debtorSurname, debtorEmail,
-                        debtorPhoneNumber, typeToMatch, DebtCaseStatus.NEW, dueDate, lateInterestRate, debtInterestRate,
-                        amountOwed, debtorUsername));
-        when(debtCaseRepository.findAll()).thenReturn((expectedDebtCases));
+    void calculateOutstandingBalanceWithInterestRateScheduler_EachMonth_ShouldAccrueEveryPartitionForCurrentDate() {
+        InterestAccrualSummary summary = new InterestAccrualSummary();
+        when(interestAccrualService.accrueMonthlyInterest(any(LocalDate.class), anyInt(), eq(2))).thenReturn(summary);
 
         scheduler.calculateOutstandingBalanceWithInterestRateScheduler();
 
-        verify(debtCaseRepository, times(expectedDebtCases.size())).save(debtCaseCaptor.capture());
-        List<DebtCase> capturedDebtCases = debtCaseCaptor.getAllValues();
-        Assertions.assertEquals(amountOwed.multiply(BigDecimal.valueOf((debtInterestRate / 12) / 100.0)).add(amountOwed),
-                capturedDebtCases.get(0).getAmountOwed());
+        verify(interestAccrualService, times(1)).accrueMonthlyInterest(LocalDate.now(), 0, 2);
+        verify(interestAccrualService, times(1)).accrueMonthlyInterest(LocalDate.now(), 1, 2);
+    }
+
+    @Test
+    void calculateOutstandingBalanceScheduler_WhenAnotherReplicaHoldsLock_ShouldNotAccrueInterest() {
+        when(jobLockService.runExclusively(anyString(), any(Runnable.class))).thenReturn(false);
+
+        scheduler.calculateOutstandingBalanceScheduler();
+
+        verifyNoInteractions(interestAccrualService);
+    }
+
+    @Test
+    void reEnrichPendingDebtCasesScheduler_ShouldDelegateToEnrichmentService() {
+        scheduler.reEnrichPendingDebtCasesScheduler();
+
+        verify(debtCaseEnrichmentService, times(1)).reEnrichPendingDebtCases();
+    }
+
+    @Test
+    void init_WhenMonthlyInterestPartitionsIsZero_ShouldFailStartup() {
+        ReflectionTestUtils.setField(scheduler, "monthlyInterestPartitions", 0);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> scheduler.init());
     }
 }
@@ -2,7 +2,9 @@ package com.dm.debtease.service;
 
 import com.dm.debtease.TestUtils;
 import com.dm.debtease.exception.InvalidFileFormatException;
+import com.dm.debtease.model.CsvIngestionSummary;
 import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseStatus;
 import com.dm.debtease.model.Debtor;
 import com.dm.debtease.service.impl.CSVServiceImpl;
 import com.dm.debtease.utils.Constants;
@@ -11,15 +13,22 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Optional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.Mockito.*;
 
@@ -42,6 +51,8 @@ public class CSVServiceTest {
 
     @BeforeEach
     void setup() {
+        ReflectionTestUtils.setField(csvService, "topicName", "not-enriched-debt-cases");
+        ReflectionTestUtils.setField(csvService, "chunkSize", 500);
         file = new MockMultipartFile("file", "test.csv", "text/csv",
                 ("""
                         Name;Surname;Email;PhoneNumber;DebtType;AmountOwed;LateInterestRate;DebtInterestRate;DueDate
@@ -56,13 +67,19 @@ public class CSVServiceTest {
         String username = "username";
         String debtorName = TestUtils.INDICATOR[3];
         String debtorSurname = TestUtils.INDICATOR[4];
-        when(debtorService.getDebtorByNameAndSurname(debtorName, debtorSurname)).thenReturn(new Debtor());
-        when(debtCaseService.findExistingDebtCase(username, TestUtils.INDICATOR)).thenReturn(Optional.empty());
+        Debtor debtor = TestUtils.setupEditedDebtorTestData(debtorName, debtorSurname, "tadas@gmail.com",
+                "+37068821345");
+        when(debtorService.getDebtorsByNamesAndSurnames(anyCollection(), anyCollection())).thenReturn(List.of(debtor));
+        when(debtCaseService.findExistingDebtCases(eq(username), anyCollection())).thenReturn(List.of());
         when(debtCaseTypeService.getTypeToMatch("tax")).thenReturn("TAX_DEBT");
+        when(kafkaTemplate.send(anyString(), any(DebtCase.class))).thenReturn(CompletableFuture.completedFuture(null));
 
-        csvService.readCsvDataAndSendToKafka(file, "username");
+        CsvIngestionSummary summary = csvService.readCsvDataAndSendToKafka(file, "username");
 
+        verify(debtorService, never()).createDebtors(anyList());
         verify(kafkaTemplate, times(1)).send(anyString(), any(DebtCase.class));
+        Assertions.assertEquals(1, summary.getRowsPublished());
+        Assertions.assertEquals(1, summary.getChunks());
     }
 
     @Test
@@ -72,14 +89,51 @@ public class CSVServiceTest {
         String username = "username";
         String debtorName = TestUtils.INDICATOR[3];
         String debtorSurname = TestUtils.INDICATOR[4];
-        when(debtorService.getDebtorByNameAndSurname(debtorName, debtorSurname)).thenReturn(null);
-        when(debtCaseService.findExistingDebtCase(username, TestUtils.INDICATOR)).thenReturn(
-                Optional.of(new DebtCase()));
+        Debtor debtor = TestUtils.setupEditedDebtorTestData(debtorName, debtorSurname, "tadas@gmail.com",
+                "+37068821345");
+        DebtCase existingDebtCase = TestUtils.setupDebtCaseTestData(username, 1, debtorName, debtorSurname,
+                "tadas@gmail.com", "+37068821345", TestUtils.INDICATOR[2], DebtCaseStatus.NEW,
+                LocalDateTime.parse(TestUtils.INDICATOR[1], Constants.DATE_TIME_FORMATTER), 5, 5,
+                new BigDecimal(TestUtils.INDICATOR[0]), "debtor");
+        existingDebtCase.setDebtor(debtor);
+        when(debtorService.getDebtorsByNamesAndSurnames(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(debtorService.createDebtors(anyList())).thenReturn(List.of(debtor));
+        when(debtCaseService.findExistingDebtCases(eq(username), anyCollection())).thenReturn(
+                List.of(existingDebtCase));
         when(debtCaseTypeService.getTypeToMatch("tax")).thenReturn("TAX_DEBT");
+        when(kafkaTemplate.send(anyString(), any(DebtCase.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         csvService.readCsvDataAndSendToKafka(file, "username");
 
-        verify(kafkaTemplate, times(1)).send(anyString(), any(DebtCase.class));
+        verify(debtorService, times(1)).createDebtors(anyList());
+        verify(kafkaTemplate, times(1)).send(anyString(), same(existingDebtCase));
+        Assertions.assertNotNull(existingDebtCase.getModifiedDate());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readCsvDataAndSendToKafka_WhenResumedAfterRecordSpanningLines_ShouldSkipWholeRecords() throws Exception {
+        String username = "username";
+        byte[] csv = ("""
+                Name;Surname;Email;PhoneNumber;DebtType;AmountOwed;LateInterestRate;DebtInterestRate;DueDate
+                "Tadas
+                Jr";Tadaitis;tadas@gmail.com;+37068821345;tax;84.35;5;5;2024-12-12 23:00:00
+                Jonas;Jonaitis;jonas@gmail.com;+37068821346;tax;12.50;5;5;2024-12-12 23:00:00
+                """).getBytes();
+        Debtor debtor = TestUtils.setupEditedDebtorTestData("Jonas", "Jonaitis", "jonas@gmail.com", "+37068821346");
+        when(debtorService.getDebtorsByNamesAndSurnames(anyCollection(), anyCollection())).thenReturn(List.of(debtor));
+        when(debtCaseService.findExistingDebtCases(eq(username), anyCollection())).thenReturn(List.of());
+        when(debtCaseTypeService.getTypeToMatch("tax")).thenReturn("TAX_DEBT");
+        when(kafkaTemplate.send(anyString(), any(DebtCase.class))).thenReturn(CompletableFuture.completedFuture(null));
+        ArgumentCaptor<Collection<String>> names = ArgumentCaptor.forClass(Collection.class);
+
+        CsvIngestionSummary summary = csvService.readCsvDataAndSendToKafka(new ByteArrayInputStream(csv), username,
+                1, (chunkSummary, committedRowOffset) -> Assertions.assertEquals(2, committedRowOffset));
+
+        verify(debtorService).getDebtorsByNamesAndSurnames(names.capture(), anyCollection());
+        Assertions.assertEquals(List.of("Jonas"), List.copyOf(names.getValue()));
+        Assertions.assertEquals(1, summary.getRowsRead());
+        Assertions.assertEquals(1, summary.getRowsPublished());
     }
 
     @Test
@@ -0,0 +1,139 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.Company;
+import com.dm.debtease.model.CompanyIndexSignature;
+import com.dm.debtease.repository.CompanyRepository;
+import com.dm.debtease.service.impl.CompanyMatchingServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class CompanyMatchingServiceTest {
+    @Mock
+    private CompanyRepository companyRepository;
+    @InjectMocks
+    private CompanyMatchingServiceImpl companyMatchingService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(companyMatchingService, "maxIndexedCompanies", 100L);
+        ReflectionTestUtils.setField(companyMatchingService, "memoSize", 100L);
+        companyMatchingService.init();
+    }
+
+    @Test
+    void findBestMatchingCompany_WhenSeveralCompaniesContainName_ShouldPreferExactThenShortestName() {
+        Company telia = setupCompany(2, "Telia");
+        mockCompanies(List.of(
+                new Object[]{1, "Telia Lietuva AB"},
+                new Object[]{2, "Telia"},
+                new Object[]{3, "Telia Company"}));
+        when(companyRepository.findById(2)).thenReturn(Optional.of(telia));
+
+        companyMatchingService.refreshCompanyIndex();
+        Company first = companyMatchingService.findBestMatchingCompany("TELIA");
+        Company second = companyMatchingService.findBestMatchingCompany(" telia ");
+
+        Assertions.assertSame(telia, first);
+        Assertions.assertSame(telia, second);
+        verify(companyRepository, times(1)).findById(2);
+        verify(companyRepository, never()).findByNameContainingIgnoreCase(anyString());
+    }
+
+    @Test
+    void findBestMatchingCompany_WhenNameIsContainedInCompanyName_ShouldMatchSubstring() {
+        Company lietuva = setupCompany(1, "Telia Lietuva AB");
+        mockCompanies(List.of(
+                new Object[]{1, "Telia Lietuva AB"},
+                new Object[]{2, "Bite Lietuva"}));
+        when(companyRepository.findById(1)).thenReturn(Optional.of(lietuva));
+
+        companyMatchingService.refreshCompanyIndex();
+
+        Assertions.assertSame(lietuva, companyMatchingService.findBestMatchingCompany("lia lietuva"));
+        Assertions.assertNull(companyMatchingService.findBestMatchingCompany("Tele2"));
+    }
+
+    @Test
+    void refreshCompanyIndex_WhenCompaniesDidNotChange_ShouldNotReloadNames() {
+        mockCompanies(List.<Object[]>of(new Object[]{1, "Telia"}));
+
+        companyMatchingService.refreshCompanyIndex();
+        companyMatchingService.refreshCompanyIndex();
+
+        verify(companyRepository, times(1)).findAllIdsAndNames();
+    }
+
+    @Test
+    void findBestMatchingCompany_WhenIndexIsNotBuilt_ShouldFallBackToRepository() {
+        Company telia = setupCompany(2, "Telia");
+        when(companyRepository.findByNameContainingIgnoreCase("telia")).thenReturn(telia);
+
+        Assertions.assertSame(telia, companyMatchingService.findBestMatchingCompany("Telia"));
+        verify(companyRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void refreshCompanyIndex_WhenCompanyIsRenamed_ShouldRebuildIndexAndForgetMatches() {
+        Company telia = setupCompany(1, "Telia");
+        Company bite = setupCompany(1, "Bite");
+        mockCompanies(List.<Object[]>of(new Object[]{1, "Telia"}));
+        when(companyRepository.findById(1)).thenReturn(Optional.of(telia), Optional.of(bite));
+
+        companyMatchingService.refreshCompanyIndex();
+        Assertions.assertSame(telia, companyMatchingService.findBestMatchingCompany("Telia"));
+        mockCompanies(List.<Object[]>of(new Object[]{1, "Bite"}));
+        companyMatchingService.refreshCompanyIndex();
+
+        Assertions.assertNull(companyMatchingService.findBestMatchingCompany("Telia"));
+        Assertions.assertSame(bite, companyMatchingService.findBestMatchingCompany("Bite"));
+        verify(companyRepository, times(2)).findAllIdsAndNames();
+    }
+
+    @Test
+    void refreshCompanyIndex_WhenCompanyIsReplacedKeepingCountAndMaxId_ShouldRebuildIndex() {
+        Company bite = setupCompany(1, "Bite");
+        mockCompanies(List.of(new Object[]{1, "Telia"}, new Object[]{3, "Tele2"}));
+        when(companyRepository.findById(1)).thenReturn(Optional.of(bite));
+
+        companyMatchingService.refreshCompanyIndex();
+        mockCompanies(List.of(new Object[]{1, "Bite"}, new Object[]{3, "Tele2"}));
+        companyMatchingService.refreshCompanyIndex();
+
+        Assertions.assertSame(bite, companyMatchingService.findBestMatchingCompany("bite"));
+        verify(companyRepository, times(2)).findAllIdsAndNames();
+    }
+
+    private void mockCompanies(List<Object[]> idsAndNames) {
+        int maxCompanyId = idsAndNames.stream().mapToInt(idAndName -> (int) idAndName[0]).max().orElse(0);
+        long nameChecksum = idsAndNames.stream().mapToLong(idAndName -> (idAndName[0] + "|" + idAndName[1]).hashCode())
+                .sum();
+        CompanyIndexSignature signature = mock(CompanyIndexSignature.class);
+        when(signature.getCompanyCount()).thenReturn((long) idsAndNames.size());
+        when(signature.getMaxCompanyId()).thenReturn(maxCompanyId);
+        when(signature.getNameChecksum()).thenReturn(nameChecksum);
+        when(companyRepository.findIndexSignature()).thenReturn(signature);
+        when(companyRepository.findAllIdsAndNames()).thenReturn(idsAndNames);
+    }
+
+    private Company setupCompany(int id, String name) {
+        Company company = new Company();
+        ReflectionTestUtils.setField(company, "id", id);
+        ReflectionTestUtils.setField(company, "name", name);
+        return company;
+    }
+}
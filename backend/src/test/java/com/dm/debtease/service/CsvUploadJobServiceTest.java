@@ -0,0 +1,163 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.exception.CsvUploadJobRejectedException;
+import com.dm.debtease.model.CsvIngestionSummary;
+import com.dm.debtease.model.CsvUploadJob;
+import com.dm.debtease.model.CsvUploadJobStatus;
+import com.dm.debtease.repository.CsvUploadJobRepository;
+import com.dm.debtease.service.impl.CsvUploadJobServiceImpl;
+import com.dm.debtease.utils.Constants;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class CsvUploadJobServiceTest {
+    @Mock
+    private CsvUploadJobRepository csvUploadJobRepository;
+    @Mock
+    private CSVService csvService;
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private ThreadPoolTaskExecutor csvUploadJobExecutor;
+    @InjectMocks
+    private CsvUploadJobServiceImpl csvUploadJobService;
+    @TempDir
+    Path spoolDirectory;
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(csvUploadJobService, "spoolDirectory", spoolDirectory.toString());
+        file = new MockMultipartFile("file", "test.csv", "text/csv",
+                ("""
+                        Name;Surname;Email;PhoneNumber;DebtType;AmountOwed;LateInterestRate;DebtInterestRate;DueDate
+                        Tadas;Tadaitis;tadas@gmail.com;+37068821345;tax;84.35;5;5;2024-12-12 23:00:00
+                        """).getBytes());
+    }
+
+    @Test
+    void submitCsvUploadJob_WhenFileIsValid_ShouldSpoolFileAndProcessItInBackground() throws Exception {
+        String username = "creditor";
+        when(csvUploadJobRepository.save(any(CsvUploadJob.class))).thenAnswer(invocation -> {
+            CsvUploadJob csvUploadJob = invocation.getArgument(0);
+            csvUploadJob.setId(1);
+            return csvUploadJob;
+        });
+        CsvIngestionSummary summary = new CsvIngestionSummary();
+        summary.addChunk(1, 0, 5);
+        when(csvService.readCsvDataAndSendToKafka(any(InputStream.class), eq(username), eq(0L), any()))
+                .thenAnswer(invocation -> {
+                    CsvIngestionListener listener = invocation.getArgument(3);
+                    listener.onChunkPublished(summary, 1);
+                    return summary;
+                });
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(csvUploadJobExecutor).execute(any(Runnable.class));
+
+        CsvUploadJob csvUploadJob = csvUploadJobService.submitCsvUploadJob(file, username);
+
+        verify(csvService).validateCsvFile(file);
+        ArgumentCaptor<CsvUploadJob> notifiedJob = ArgumentCaptor.forClass(CsvUploadJob.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSendToUser(eq(username), eq("/topic/csv-upload-jobs"),
+                notifiedJob.capture());
+        CsvUploadJob processedJob = notifiedJob.getValue();
+        Assertions.assertNotSame(csvUploadJob, processedJob);
+        Assertions.assertEquals(CsvUploadJobStatus.QUEUED, csvUploadJob.getStatus());
+        Assertions.assertEquals(0, csvUploadJob.getRowsPublished());
+        Assertions.assertEquals(1, processedJob.getId());
+        Assertions.assertEquals(CsvUploadJobStatus.COMPLETED, processedJob.getStatus());
+        Assertions.assertEquals(1, processedJob.getRowsPublished());
+        Assertions.assertEquals(1, processedJob.getCommittedRowOffset());
+        Assertions.assertFalse(Files.exists(Path.of(csvUploadJob.getSpoolPath())));
+    }
+
+    @Test
+    void submitCsvUploadJob_WhenWorkerQueueIsFull_ShouldThrowCsvUploadJobRejectedException() throws Exception {
+        when(csvUploadJobRepository.save(any(CsvUploadJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new TaskRejectedException("full")).when(csvUploadJobExecutor).execute(any(Runnable.class));
+
+        CsvUploadJobRejectedException thrown = Assertions.assertThrows(
+                CsvUploadJobRejectedException.class,
+                () -> csvUploadJobService.submitCsvUploadJob(file, "creditor"),
+                "Expected submitCsvUploadJob to throw, but it didn't"
+        );
+
+        Assertions.assertEquals(Constants.CSV_UPLOAD_QUEUE_FULL, thrown.getMessage());
+        try (var spooledFiles = Files.list(spoolDirectory)) {
+            Assertions.assertEquals(0, spooledFiles.count());
+        }
+    }
+
+    @Test
+    void resumeUnfinishedCsvUploadJobs_WhenSpooledFileExists_ShouldResumeFromCommittedOffset() throws Exception {
+        String username = "creditor";
+        Path spoolPath = Files.writeString(spoolDirectory.resolve("upload.csv"), "header");
+        CsvUploadJob csvUploadJob = new CsvUploadJob();
+        csvUploadJob.setId(2);
+        csvUploadJob.setCreditorUsername(username);
+        csvUploadJob.setSpoolPath(spoolPath.toString());
+        csvUploadJob.setStatus(CsvUploadJobStatus.RUNNING);
+        csvUploadJob.setRowsParsed(500);
+        csvUploadJob.setRowsPublished(500);
+        csvUploadJob.setCommittedRowOffset(500);
+        CsvUploadJob otherNodeJob = new CsvUploadJob();
+        otherNodeJob.setId(3);
+        otherNodeJob.setSpoolPath(spoolDirectory.resolve("missing.csv").toString());
+        when(csvUploadJobRepository.findByStatusIn(anyCollection())).thenReturn(List.of(csvUploadJob, otherNodeJob));
+        CsvIngestionSummary summary = new CsvIngestionSummary();
+        summary.addChunk(200, 0, 5);
+        when(csvService.readCsvDataAndSendToKafka(any(InputStream.class), eq(username), eq(500L), any()))
+                .thenReturn(summary);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(csvUploadJobExecutor).execute(any(Runnable.class));
+
+        csvUploadJobService.resumeUnfinishedCsvUploadJobs();
+
+        verify(csvUploadJobExecutor, times(1)).execute(any(Runnable.class));
+        Assertions.assertEquals(CsvUploadJobStatus.COMPLETED, csvUploadJob.getStatus());
+        Assertions.assertEquals(700, csvUploadJob.getRowsPublished());
+    }
+
+    @Test
+    void getCsvUploadJobByIdAndUsername_WhenJobDoesNotExist_ShouldThrowEntityNotFoundException() {
+        int id = 1;
+        String username = "creditor";
+        when(csvUploadJobRepository.findByIdAndCreditorUsername(id, username)).thenReturn(Optional.empty());
+
+        EntityNotFoundException thrown = Assertions.assertThrows(
+                EntityNotFoundException.class,
+                () -> csvUploadJobService.getCsvUploadJobByIdAndUsername(id, username),
+                "Expected getCsvUploadJobByIdAndUsername to throw, but it didn't"
+        );
+
+        Assertions.assertEquals(String.format(Constants.CSV_UPLOAD_JOB_NOT_FOUND, id, username), thrown.getMessage());
+    }
+}
@@ -0,0 +1,155 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.TestUtils;
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.EnrichmentStatus;
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+import com.dm.debtease.repository.DebtCaseJdbcRepository;
+import com.dm.debtease.repository.DebtCaseRepository;
+import com.dm.debtease.resilience.CircuitBreaker;
+import com.dm.debtease.service.impl.DebtCaseEnrichmentServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class DebtCaseEnrichmentServiceTest {
+    @Mock
+    private CompanyMatchingService companyMatchingService;
+    @Mock
+    private DebtCaseRepository debtCaseRepository;
+    @Mock
+    private DebtCaseJdbcRepository debtCaseJdbcRepository;
+    @Mock
+    private PhoneNumberVerificationService phoneNumberVerificationService;
+    @Mock
+    private CircuitBreaker numverifyCircuitBreaker;
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+    @InjectMocks
+    private DebtCaseEnrichmentServiceImpl debtCaseEnrichmentService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(debtCaseEnrichmentService, "reEnrichmentBatchSize", 100);
+    }
+
+    @Test
+    void enrichDebtCases_WhenPhoneNumberCannotBeVerified_ShouldMarkDebtCasePending() {
+        DebtCase verifiedDebtCase = setupDebtCase("+37068821345");
+        DebtCase unverifiedDebtCase = setupDebtCase("+37061234567");
+        VerifiedPhoneNumberInformation verifiedInformation = new VerifiedPhoneNumberInformation();
+        when(phoneNumberVerificationService.normalizePhoneNumber(anyString()))
+                .thenAnswer(invocation -> ((String) invocation.getArgument(0)).substring(1));
+        when(phoneNumberVerificationService.getVerifiedPhoneNumberInformation(anyCollection()))
+                .thenReturn(Map.of("37068821345", verifiedInformation));
+
+        debtCaseEnrichmentService.enrichDebtCases(List.of(verifiedDebtCase, unverifiedDebtCase));
+
+        Assertions.assertEquals(EnrichmentStatus.ENRICHED, verifiedDebtCase.getEnrichmentStatus());
+        Assertions.assertSame(verifiedInformation, verifiedDebtCase.getDebtor().getVerifiedPhoneNumberInformation());
+        Assertions.assertEquals(EnrichmentStatus.PENDING, unverifiedDebtCase.getEnrichmentStatus());
+        verify(companyMatchingService, times(2)).findBestMatchingCompany(any());
+    }
+
+    @Test
+    void reEnrichPendingDebtCases_WhenProviderRecovered_ShouldPersistAndNotifyEnrichedDebtCases() {
+        DebtCase pendingDebtCase = setupDebtCase("+37068821345");
+        pendingDebtCase.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        when(phoneNumberVerificationService.normalizePhoneNumber(anyString())).thenReturn("37068821345");
+        when(phoneNumberVerificationService.getVerifiedPhoneNumberInformation(anyCollection()))
+                .thenReturn(Map.of("37068821345", new VerifiedPhoneNumberInformation()));
+        when(debtCaseRepository.findByEnrichmentStatusAndIdGreaterThanOrderByIdAsc(eq(EnrichmentStatus.PENDING),
+                eq(0), any(Limit.class))).thenReturn(List.of(pendingDebtCase));
+        when(debtCaseRepository.findByEnrichmentStatusAndIdGreaterThanOrderByIdAsc(eq(EnrichmentStatus.PENDING),
+                eq(pendingDebtCase.getId()), any(Limit.class))).thenReturn(List.of());
+        when(debtCaseJdbcRepository.saveReEnrichedDebtCases(List.of(pendingDebtCase)))
+                .thenReturn(Set.of(pendingDebtCase.getId()));
+
+        int enrichedDebtCases = debtCaseEnrichmentService.reEnrichPendingDebtCases();
+
+        Assertions.assertEquals(1, enrichedDebtCases);
+        Assertions.assertEquals(EnrichmentStatus.ENRICHED, pendingDebtCase.getEnrichmentStatus());
+        verify(debtCaseJdbcRepository, never()).saveEnrichedDebtCases(anyList());
+        verify(messagingTemplate).convertAndSendToUser("creditor", "/topic/enriched-debt-cases", pendingDebtCase);
+    }
+
+    @Test
+    void reEnrichPendingDebtCases_WhenDebtCaseNoLongerPending_ShouldNotNotifyCreditor() {
+        DebtCase pendingDebtCase = setupDebtCase("+37068821345");
+        pendingDebtCase.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        when(phoneNumberVerificationService.normalizePhoneNumber(anyString())).thenReturn("37068821345");
+        when(phoneNumberVerificationService.getVerifiedPhoneNumberInformation(anyCollection()))
+                .thenReturn(Map.of("37068821345", new VerifiedPhoneNumberInformation()));
+        when(debtCaseRepository.findByEnrichmentStatusAndIdGreaterThanOrderByIdAsc(eq(EnrichmentStatus.PENDING),
+                eq(0), any(Limit.class))).thenReturn(List.of(pendingDebtCase));
+        when(debtCaseRepository.findByEnrichmentStatusAndIdGreaterThanOrderByIdAsc(eq(EnrichmentStatus.PENDING),
+                eq(pendingDebtCase.getId()), any(Limit.class))).thenReturn(List.of());
+        when(debtCaseJdbcRepository.saveReEnrichedDebtCases(List.of(pendingDebtCase))).thenReturn(Set.of());
+
+        int enrichedDebtCases = debtCaseEnrichmentService.reEnrichPendingDebtCases();
+
+        Assertions.assertEquals(0, enrichedDebtCases);
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void reEnrichPendingDebtCases_WhenWebSocketSendFails_ShouldContinueWithNextPage() {
+        DebtCase firstDebtCase = setupDebtCase("+37068821345");
+        firstDebtCase.setId(1);
+        firstDebtCase.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        DebtCase secondDebtCase = setupDebtCase("+37068821345");
+        secondDebtCase.setId(2);
+        secondDebtCase.setEnrichmentStatus(EnrichmentStatus.PENDING);
+        when(phoneNumberVerificationService.normalizePhoneNumber(anyString())).thenReturn("37068821345");
+        when(phoneNumberVerificationService.getVerifiedPhoneNumberInformation(anyCollection()))
+                .thenReturn(Map.of("37068821345", new VerifiedPhoneNumberInformation()));
+        when(debtCaseRepository.findByEnrichmentStatusAndIdGreaterThanOrderByIdAsc(eq(EnrichmentStatus.PENDING),
+                anyInt(), any(Limit.class)))
+                .thenReturn(List.of(firstDebtCase), List.of(secondDebtCase), List.of());
+        when(debtCaseJdbcRepository.saveReEnrichedDebtCases(anyList())).thenReturn(Set.of(1), Set.of(2));
+        doThrow(new MessagingException("broker unavailable")).doNothing()
+                .when(messagingTemplate).convertAndSendToUser(anyString(), anyString(), any(Object.class));
+
+        int enrichedDebtCases = debtCaseEnrichmentService.reEnrichPendingDebtCases();
+
+        Assertions.assertEquals(2, enrichedDebtCases);
+        verify(debtCaseJdbcRepository, times(2)).saveReEnrichedDebtCases(anyList());
+        verify(messagingTemplate).convertAndSendToUser("creditor", "/topic/enriched-debt-cases", secondDebtCase);
+    }
+
+    @Test
+    void reEnrichPendingDebtCases_WhenCircuitIsOpen_ShouldNotLoadPendingDebtCases() {
+        when(numverifyCircuitBreaker.isOpen()).thenReturn(true);
+
+        int enrichedDebtCases = debtCaseEnrichmentService.reEnrichPendingDebtCases();
+
+        Assertions.assertEquals(0, enrichedDebtCases);
+        verifyNoInteractions(debtCaseRepository, debtCaseJdbcRepository);
+    }
+
+    private DebtCase setupDebtCase(String debtorPhoneNumber) {
+        return TestUtils.setupDebtCaseTestData("creditor", 1, "name", "surname", "email@gmail.com",
+                debtorPhoneNumber, "DEFAULT_DEBT", DebtCaseStatus.NEW, LocalDateTime.now().plusDays(1), 10.0, 10.0,
+                BigDecimal.valueOf(35.53), "debtor");
+    }
+}
@@ -0,0 +1,123 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.DebtCaseExportFormat;
+import com.dm.debtease.model.DebtCaseExportRow;
+import com.dm.debtease.repository.DebtCaseJdbcRepository;
+import com.dm.debtease.service.impl.DebtCaseExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class DebtCaseExportServiceTest {
+    @Mock
+    private DebtCaseJdbcRepository debtCaseJdbcRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private DebtCaseExportServiceImpl debtCaseExportService;
+
+    @BeforeEach
+    void setup() {
+        debtCaseExportService = new DebtCaseExportServiceImpl(debtCaseJdbcRepository, objectMapper);
+        ReflectionTestUtils.setField(debtCaseExportService, "fetchSize", 2);
+    }
+
+    @Test
+    void exportDebtCasesByCreditorUsername_WhenCsvRequested_ShouldWriteUploadFormat() throws IOException {
+        String username = "creditor123";
+        streamRows(username, List.of(
+                setupDebtCaseExportRow(1, "MyName", "tax", new BigDecimal("84.35")),
+                setupDebtCaseExportRow(2, "Other; Name", "loan", new BigDecimal("1200.00"))));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exportedRows =
+                debtCaseExportService.exportDebtCasesByCreditorUsername(username, DebtCaseExportFormat.CSV, outputStream);
+
+        Assertions.assertEquals(2, exportedRows);
+        Assertions.assertEquals(
+                "Name;Surname;Email;PhoneNumber;DebtType;AmountOwed;LateInterestRate;DebtInterestRate;DueDate\n" +
+                        "MyName;MySurname;myemail@gmail.com;+37068821345;tax;84.35;5.0;7.0;2024-12-12 23:00:00\n" +
+                        "\"Other; Name\";MySurname;myemail@gmail.com;+37068821345;loan;1200.00;5.0;7.0;" +
+                        "2024-12-12 23:00:00\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+        verify(debtCaseJdbcRepository).streamDebtCaseExportRowsByCreditorUsername(eq(username), eq(2), any());
+    }
+
+    @Test
+    void exportDebtCasesByCreditorUsername_WhenNdjsonRequested_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        String username = "creditor123";
+        streamRows(username, List.of(
+                setupDebtCaseExportRow(1, "MyName", "tax", new BigDecimal("84.35")),
+                setupDebtCaseExportRow(2, "Other", "loan", new BigDecimal("1200.00"))));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exportedRows = debtCaseExportService.exportDebtCasesByCreditorUsername(username,
+                DebtCaseExportFormat.NDJSON, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n", -1);
+        Assertions.assertEquals(2, exportedRows);
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertEquals("", lines[2]);
+        JsonNode secondRow = objectMapper.readTree(lines[1]);
+        Assertions.assertEquals(2, secondRow.get("id").asInt());
+        Assertions.assertEquals("loan", secondRow.get("debtType").asText());
+        Assertions.assertTrue(lines[1].contains("\"amountOwed\":1200.00"));
+        Assertions.assertEquals("2024-12-12 23:00:00", secondRow.get("dueDate").asText());
+    }
+
+    @Test
+    void exportDebtCasesByCreditorUsername_WhenNoDebtCases_ShouldWriteEmptyNdjson() throws IOException {
+        streamRows("creditor123", List.of());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exportedRows = debtCaseExportService.exportDebtCasesByCreditorUsername("creditor123",
+                DebtCaseExportFormat.NDJSON, outputStream);
+
+        Assertions.assertEquals(0, exportedRows);
+        Assertions.assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    void exportDebtCasesByCreditorUsername_WhenClientDisconnects_ShouldStopAndThrowIOException() throws IOException {
+        streamRows("creditor123", List.of(
+                setupDebtCaseExportRow(1, "MyName", "tax", new BigDecimal("84.35"))));
+        OutputStream outputStream = mock(OutputStream.class);
+        doThrow(new IOException("Broken pipe")).when(outputStream).write(any(byte[].class), anyInt(), anyInt());
+
+        Assertions.assertThrows(IOException.class, () -> debtCaseExportService.exportDebtCasesByCreditorUsername(
+                "creditor123", DebtCaseExportFormat.CSV, outputStream));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows(String username, List<DebtCaseExportRow> rows) {
+        doAnswer(invocation -> {
+            rows.forEach(invocation.getArgument(2, Consumer.class));
+            return null;
+        }).when(debtCaseJdbcRepository).streamDebtCaseExportRowsByCreditorUsername(eq(username), anyInt(), any());
+    }
+
+    private static DebtCaseExportRow setupDebtCaseExportRow(int id, String name, String debtType,
+                                                            BigDecimal amountOwed) {
+        return new DebtCaseExportRow(id, "NEW", name, "MySurname", "myemail@gmail.com", "+37068821345", debtType,
+                amountOwed, 5, 7, LocalDateTime.of(2024, 12, 12, 23, 0));
+    }
+}
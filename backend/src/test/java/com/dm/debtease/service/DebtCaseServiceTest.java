@@ -1,23 +1,35 @@
 package com.dm.debtease.service;
 
 import com.dm.debtease.TestUtils;
+import com.dm.debtease.exception.InvalidDebtCaseCursorException;
 import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseSortField;
 import com.dm.debtease.model.DebtCaseStatus;
 import com.dm.debtease.model.DebtCaseType;
+import com.dm.debtease.model.DebtPaymentProjection;
 import com.dm.debtease.model.DebtPaymentStrategy;
 import com.dm.debtease.model.dto.DebtCaseDTO;
+import com.dm.debtease.model.dto.DebtCasePageRequestDTO;
 import com.dm.debtease.model.dto.DebtPaymentStrategyDTO;
 import com.dm.debtease.model.dto.PaymentRequestDTO;
+import com.dm.debtease.model.view.DebtCaseCursor;
+import com.dm.debtease.model.view.DebtCaseView;
+import com.dm.debtease.model.view.DebtCaseViewPage;
 import com.dm.debtease.repository.DebtCaseRepository;
+import com.dm.debtease.repository.DebtCaseViewRepository;
+import com.dm.debtease.repository.DebtorRepository;
 import com.dm.debtease.service.impl.DebtCaseServiceImpl;
 import com.dm.debtease.utils.Constants;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -34,9 +46,22 @@ public class DebtCaseServiceTest {
     DebtCaseTypeService debtCaseTypeService;
     @Mock
     DebtCaseRepository debtCaseRepository;
+    @Mock
+    DebtorRepository debtorRepository;
+    @Mock
+    DebtCaseViewRepository debtCaseViewRepository;
     @InjectMocks
     DebtCaseServiceImpl debtCaseService;
 
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(debtCaseService, "defaultPageSize", 100);
+        ReflectionTestUtils.setField(debtCaseService, "maxPageSize", 500);
+        ReflectionTestUtils.setField(debtCaseService, "strategyCacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(debtCaseService, "strategyCacheTtlMinutes", 30L);
+        debtCaseService.init();
+    }
+
     @Test
     void getAllDebtCases_WhenDebtCasesExist_ShouldReturnNonEmptyList() {
         when(debtCaseRepository.findAll()).thenReturn(List.of(new DebtCase()));
@@ -158,6 +183,115 @@ public class DebtCaseServiceTest {
         }
     }
 
+    @Test
+    void getDebtCaseViewsByCreditorUsername_WhenLastPage_ShouldReturnViewsWithoutNextCursor() {
+        String creditorUsername = "creditor123";
+        DebtCasePageRequestDTO debtCasePageRequestDTO = new DebtCasePageRequestDTO();
+        debtCasePageRequestDTO.setLimit(100);
+        DebtCaseView expectedDebtCaseView = setupDebtCaseViewTestData(creditorUsername, "userWithDebts");
+        when(debtCaseViewRepository.findPage(creditorUsername, null, debtCasePageRequestDTO, null, 101))
+                .thenReturn(List.of(expectedDebtCaseView));
+
+        DebtCaseViewPage actualDebtCaseViewPage =
+                debtCaseService.getDebtCaseViewsByCreditorUsername(creditorUsername, debtCasePageRequestDTO);
+
+        Assertions.assertEquals(1, actualDebtCaseViewPage.getDebtCases().size());
+        Assertions.assertEquals(creditorUsername,
+                actualDebtCaseViewPage.getDebtCases().get(0).getCreditor().getUser().getUsername());
+        Assertions.assertNull(actualDebtCaseViewPage.getDebtCases().get(0).getCreditor().getCompany());
+        Assertions.assertNull(actualDebtCaseViewPage.getNextCursor());
+    }
+
+    @Test
+    void getDebtCaseViewsByCreditorUsername_WhenNoPageRequested_ShouldReturnWholeListingWithoutLimit() {
+        String creditorUsername = "creditor123";
+        DebtCasePageRequestDTO debtCasePageRequestDTO = new DebtCasePageRequestDTO();
+        List<DebtCaseView> expectedDebtCaseViews = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            expectedDebtCaseViews.add(setupDebtCaseViewTestData(creditorUsername, "userWithDebts"));
+        }
+        when(debtCaseViewRepository.findPage(creditorUsername, null, debtCasePageRequestDTO, null, null))
+                .thenReturn(expectedDebtCaseViews);
+
+        DebtCaseViewPage actualDebtCaseViewPage =
+                debtCaseService.getDebtCaseViewsByCreditorUsername(creditorUsername, debtCasePageRequestDTO);
+
+        Assertions.assertEquals(150, actualDebtCaseViewPage.getDebtCases().size());
+        Assertions.assertNull(actualDebtCaseViewPage.getNextCursor());
+    }
+
+    @Test
+    void getDebtCaseViews_WhenOnlyCursorRequested_ShouldUseDefaultPageSize() {
+        DebtCasePageRequestDTO debtCasePageRequestDTO = new DebtCasePageRequestDTO();
+        debtCasePageRequestDTO.setCursor(
+                new DebtCaseCursor(DebtCaseSortField.ID, Sort.Direction.ASC, null, 42).encode());
+        when(debtCaseViewRepository.findPage(isNull(), isNull(), eq(debtCasePageRequestDTO), any(DebtCaseCursor.class),
+                eq(101))).thenReturn(List.of());
+
+        DebtCaseViewPage actualDebtCaseViewPage = debtCaseService.getDebtCaseViews(debtCasePageRequestDTO);
+
+        Assertions.assertTrue(actualDebtCaseViewPage.getDebtCases().isEmpty());
+    }
+
+    @Test
+    void getDebtCaseViewsByDebtorUsername_WhenMoreRowsThanLimit_ShouldTrimPageAndReturnNextCursor() {
+        String debtorUsername = "userWithDebts";
+        DebtCasePageRequestDTO debtCasePageRequestDTO = new DebtCasePageRequestDTO();
+        debtCasePageRequestDTO.setSort(DebtCaseSortField.AMOUNT_OWED);
+        debtCasePageRequestDTO.setDirection(Sort.Direction.DESC);
+        debtCasePageRequestDTO.setLimit(1);
+        DebtCaseView debtCaseView = setupDebtCaseViewTestData("creditor123", debtorUsername);
+        when(debtCaseViewRepository.findPage(null, debtorUsername, debtCasePageRequestDTO, null, 2))
+                .thenReturn(List.of(debtCaseView, debtCaseView));
+
+        DebtCaseViewPage actualDebtCaseViewPage =
+                debtCaseService.getDebtCaseViewsByDebtorUsername(debtorUsername, debtCasePageRequestDTO);
+
+        Assertions.assertEquals(1, actualDebtCaseViewPage.getDebtCases().size());
+        DebtCaseCursor nextCursor = DebtCaseCursor.decode(actualDebtCaseViewPage.getNextCursor(),
+                DebtCaseSortField.AMOUNT_OWED, Sort.Direction.DESC);
+        Assertions.assertEquals(debtCaseView.getId(), nextCursor.getId());
+        Assertions.assertEquals(debtCaseView.getAmountOwed(), nextCursor.getSortValue());
+    }
+
+    @Test
+    void getDebtCaseViews_WhenLimitExceedsMaximum_ShouldClampLimitAndPassDecodedCursor() {
+        LocalDateTime dueDate = LocalDateTime.of(2024, 5, 1, 12, 30);
+        DebtCasePageRequestDTO debtCasePageRequestDTO = new DebtCasePageRequestDTO();
+        debtCasePageRequestDTO.setSort(DebtCaseSortField.DUE_DATE);
+        debtCasePageRequestDTO.setLimit(10_000);
+        debtCasePageRequestDTO.setCursor(
+                new DebtCaseCursor(DebtCaseSortField.DUE_DATE, Sort.Direction.ASC, dueDate, 42).encode());
+        when(debtCaseViewRepository.findPage(isNull(), isNull(), eq(debtCasePageRequestDTO),
+                argThat(cursor -> cursor.getId() == 42 && dueDate.equals(cursor.getSortValue())), eq(501)))
+                .thenReturn(List.of());
+
+        DebtCaseViewPage actualDebtCaseViewPage = debtCaseService.getDebtCaseViews(debtCasePageRequestDTO);
+
+        Assertions.assertTrue(actualDebtCaseViewPage.getDebtCases().isEmpty());
+        Assertions.assertNull(actualDebtCaseViewPage.getNextCursor());
+    }
+
+    @Test
+    void getDebtCaseViews_WhenCursorIssuedForDifferentSort_ShouldThrowInvalidDebtCaseCursorException() {
+        DebtCasePageRequestDTO debtCasePageRequestDTO = new DebtCasePageRequestDTO();
+        debtCasePageRequestDTO.setCursor(
+                new DebtCaseCursor(DebtCaseSortField.ID, Sort.Direction.DESC, null, 42).encode());
+
+        Assertions.assertThrows(InvalidDebtCaseCursorException.class,
+                () -> debtCaseService.getDebtCaseViews(debtCasePageRequestDTO));
+        verifyNoInteractions(debtCaseViewRepository);
+    }
+
+    @Test
+    void getDebtCaseViews_WhenCursorMalformed_ShouldThrowInvalidDebtCaseCursorException() {
+        DebtCasePageRequestDTO debtCasePageRequestDTO = new DebtCasePageRequestDTO();
+        debtCasePageRequestDTO.setCursor("not a cursor");
+
+        Assertions.assertThrows(InvalidDebtCaseCursorException.class,
+                () -> debtCaseService.getDebtCaseViews(debtCasePageRequestDTO));
+    }
+
     @Test
     void editDebtCaseByIdAndCreditorId_WhenDebtCaseExists_ShouldReturnEditedDebtCase() {
         LocalDateTime editedDueDate = LocalDateTime.now();
@@ -337,6 +471,7 @@ public class DebtCaseServiceTest {
         Assertions.assertNotNull(actualDebtCase);
         Assertions.assertEquals(BigDecimal.ZERO, actualDebtCase.getAmountOwed());
         Assertions.assertEquals(DebtCaseStatus.CLOSED, actualDebtCase.getDebtCaseStatus());
+        verify(debtorRepository).incrementDebtVersion(expectedDebtCase.getDebtor().getId());
     }
 
     @Test
@@ -440,6 +575,53 @@ public class DebtCaseServiceTest {
                 .get(debtPaymentStrategy.getAvalancheBalanceEachMonth().size() - 1).compareTo(BigDecimal.ZERO));
     }
 
+    @Test
+    void calculateDebtPaymentProjections_WhenPayoffExceedsSimulationHorizon_ShouldProjectMonthsAndInterest() {
+        String debtorUsername = "userWithDebts";
+        ReflectionTestUtils.setField(debtCaseService, "projectionMaxMonths", 1200);
+        DebtPaymentStrategyDTO debtPaymentStrategyDTO =
+                TestUtils.setupDebtPaymentStrategyDTO(BigDecimal.valueOf(60), BigDecimal.valueOf(20));
+        DebtCase smallDebtCase = new DebtCase();
+        smallDebtCase.setAmountOwed(BigDecimal.valueOf(500));
+        smallDebtCase.setDebtInterestRate(5.0);
+        DebtCase largeDebtCase = new DebtCase();
+        largeDebtCase.setAmountOwed(BigDecimal.valueOf(15000));
+        largeDebtCase.setDebtInterestRate(3.0);
+        when(debtCaseRepository.findByDebtor_User_Username(debtorUsername))
+                .thenReturn(List.of(largeDebtCase, smallDebtCase));
+
+        DebtPaymentProjection debtPaymentProjection =
+                debtCaseService.calculateDebtPaymentProjections(debtPaymentStrategyDTO, debtorUsername);
+
+        Assertions.assertTrue(debtPaymentProjection.getSnowball().getMonthsToPayoff() > 240);
+        Assertions.assertTrue(debtPaymentProjection.getAvalanche().getMonthsToPayoff() > 240);
+        Assertions.assertEquals(1, debtPaymentProjection.getSnowball().getTotalInterest().signum());
+        Assertions.assertEquals(0, debtPaymentProjection.getSnowball().getBalanceSeries().get(0).getTotalBalance()
+                .compareTo(BigDecimal.valueOf(15500)));
+    }
+
+    @Test
+    void calculateDebtPaymentStrategies_WhenInputsAndDebtVersionRepeat_ShouldServeResultFromCache() {
+        String debtorUsername = "userWithDebts";
+        DebtCase debtCase = new DebtCase();
+        debtCase.setAmountOwed(BigDecimal.valueOf(100));
+        debtCase.setDebtInterestRate(5.0);
+        when(debtorRepository.findDebtVersionByUserUsername(debtorUsername))
+                .thenReturn(Optional.of(3L), Optional.of(3L), Optional.of(4L));
+        when(debtCaseRepository.findByDebtor_User_Username(debtorUsername)).thenReturn(List.of(debtCase));
+
+        DebtPaymentStrategy first = debtCaseService.calculateDebtPaymentStrategies(
+                TestUtils.setupDebtPaymentStrategyDTO(BigDecimal.valueOf(5), BigDecimal.valueOf(2)), debtorUsername);
+        DebtPaymentStrategy cached = debtCaseService.calculateDebtPaymentStrategies(
+                TestUtils.setupDebtPaymentStrategyDTO(new BigDecimal("5.00"), new BigDecimal("2.0")), debtorUsername);
+        DebtPaymentStrategy recalculated = debtCaseService.calculateDebtPaymentStrategies(
+                TestUtils.setupDebtPaymentStrategyDTO(BigDecimal.valueOf(5), BigDecimal.valueOf(2)), debtorUsername);
+
+        Assertions.assertSame(first, cached);
+        Assertions.assertNotSame(first, recalculated);
+        verify(debtCaseRepository, times(2)).findByDebtor_User_Username(debtorUsername);
+    }
+
     @Test
     void calculateDebtPaymentStrategies_WhenDebtCaseDoesNotExist_ShouldThrowException() {
         String debtorUsername = "userWithDebts";
@@ -456,4 +638,10 @@ public class DebtCaseServiceTest {
 
         Assertions.assertTrue(thrown.getMessage().contains(String.format(Constants.DEBT_CASES_EMPTY, debtorUsername)));
     }
+
+    private static DebtCaseView setupDebtCaseViewTestData(String creditorUsername, String debtorUsername) {
+        return TestUtils.setupDebtCaseViewTestData(creditorUsername, 1, "name", "surname", "email@gmail.com",
+                "+37067144213", "DEFAULT_DEBT", DebtCaseStatus.NEW, LocalDateTime.now(), 10.0, 10.0,
+                BigDecimal.valueOf(35.53), debtorUsername);
+    }
 }
@@ -2,29 +2,34 @@ package com.dm.debtease.service;
 
 import com.dm.debtease.TestUtils;
 import com.dm.debtease.model.DebtCaseType;
+import com.dm.debtease.repository.DebtCaseTypeRegistry;
 import com.dm.debtease.repository.DebtCaseTypeRepository;
 import com.dm.debtease.service.impl.DebtCaseTypeServiceImpl;
 import com.dm.debtease.utils.Constants;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
 
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class DebtCaseTypeServiceTest {
     @Mock
     private DebtCaseTypeRepository debtCaseTypeRepository;
-    @InjectMocks
     private DebtCaseTypeServiceImpl debtCaseTypeService;
 
+    @BeforeEach
+    void setup() {
+        debtCaseTypeService = new DebtCaseTypeServiceImpl(new DebtCaseTypeRegistry(debtCaseTypeRepository));
+    }
+
     @Test
     void getAllDebtCaseTypes_WhenTypesExist_ShouldReturnListOfTypes() {
         when(debtCaseTypeRepository.findAll()).thenReturn(List.of(new DebtCaseType()));
@@ -87,6 +92,23 @@ public class DebtCaseTypeServiceTest {
         Assertions.assertEquals(debtCaseType, actualMatchedDebtCaseType.getType());
     }
 
+    @Test
+    void findMatchingDebtCaseType_WhenCalledRepeatedly_ShouldReadTypesOnce() {
+        DebtCaseType taxDebtCaseType = TestUtils.setupDebtCaseTypeTestData("TAX_DEBT");
+        taxDebtCaseType.setId(3);
+        DebtCaseType defaultDebtCaseType = TestUtils.setupDebtCaseTypeTestData("DEFAULT_DEBT");
+        when(debtCaseTypeRepository.findAll()).thenReturn(List.of(defaultDebtCaseType, taxDebtCaseType));
+
+        DebtCaseType first = debtCaseTypeService.findMatchingDebtCaseType("TAX_DEBT");
+        DebtCaseType second = debtCaseTypeService.findMatchingDebtCaseType("TAX_DEBT");
+        DebtCaseType fallback = debtCaseTypeService.findMatchingDebtCaseType("CAR_DEBT");
+
+        Assertions.assertSame(taxDebtCaseType, first);
+        Assertions.assertSame(taxDebtCaseType, second);
+        Assertions.assertSame(defaultDebtCaseType, fallback);
+        verify(debtCaseTypeRepository, times(1)).findAll();
+    }
+
     @Test
     void getDefaultDebtCaseType_WhenDefaultTypeExists_ShouldReturnDefaultDebtCaseType() {
         String typeToMatch = "DEFAULT_DEBT";
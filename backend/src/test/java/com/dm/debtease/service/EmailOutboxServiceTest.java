@@ -0,0 +1,188 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.TestUtils;
+import com.dm.debtease.model.*;
+import com.dm.debtease.repository.DebtCaseRepository;
+import com.dm.debtease.repository.EmailOutboxJdbcRepository;
+import com.dm.debtease.service.impl.EmailOutboxServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class EmailOutboxServiceTest {
+    @Mock
+    private EmailOutboxJdbcRepository emailOutboxJdbcRepository;
+    @Mock
+    private DebtCaseRepository debtCaseRepository;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private ThreadPoolTaskExecutor mailDispatchExecutor;
+    @InjectMocks
+    private EmailOutboxServiceImpl emailOutboxService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(emailOutboxService, "batchSize", 10);
+        ReflectionTestUtils.setField(emailOutboxService, "messagesPerConnection", 2);
+        ReflectionTestUtils.setField(emailOutboxService, "maxAttempts", 5);
+        ReflectionTestUtils.setField(emailOutboxService, "retryBaseDelaySeconds", 30L);
+        ReflectionTestUtils.setField(emailOutboxService, "retryMaxDelaySeconds", 3600L);
+        ReflectionTestUtils.setField(emailOutboxService, "claimTimeoutMinutes", 10L);
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(mailDispatchExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueue_WhenCalled_ShouldBuildDedupKeysPerNotificationType() {
+        DebtCase debtCase = setupDebtCase(7, 3);
+        when(emailOutboxJdbcRepository.enqueue(anyList())).thenReturn(1);
+
+        int enqueued = emailOutboxService.enqueue(List.of(debtCase), NotificationType.MONTHLY_REMINDER);
+
+        ArgumentCaptor<List<EmailOutboxMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailOutboxJdbcRepository).enqueue(captor.capture());
+        EmailOutboxMessage message = captor.getValue().get(0);
+        Assertions.assertEquals(1, enqueued);
+        Assertions.assertEquals(3, message.getDebtorId());
+        Assertions.assertEquals(String.format("MONTHLY_REMINDER:7:%s", LocalDateTime.now().toLocalDate()),
+                message.getDedupKey());
+    }
+
+    @Test
+    void drainOutbox_WhenDebtorHasSeveralMessages_ShouldSendOneDigest() {
+        DebtCase first = setupDebtCase(1, 3);
+        DebtCase second = setupDebtCase(2, 3);
+        when(emailOutboxJdbcRepository.claimDueMessages(any(LocalDateTime.class), eq(10)))
+                .thenReturn(List.of(setupMessage(11, first), setupMessage(12, second), setupMessage(13, first)));
+        when(debtCaseRepository.findByIdIn(anyCollection())).thenReturn(List.of(first, second));
+        when(emailService.sendDigestEmails(anyList())).thenReturn(List.of(true));
+
+        EmailDispatchSummary summary = emailOutboxService.drainOutbox();
+
+        Assertions.assertEquals(1, summary.getSent());
+        verify(emailService, times(1)).sendDigestEmails(argThat(digests -> digests.size() == 1
+                && digests.get(0).getDebtCases().equals(List.of(first, second))));
+        verify(emailOutboxJdbcRepository).markSent(eq(List.of(11, 12, 13)), any(LocalDateTime.class));
+        verify(emailOutboxJdbcRepository, never()).markForRetry(anyCollection(), anyString(), anyInt(), anyLong(),
+                anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void drainOutbox_WhenManyDebtorsAreDue_ShouldShareConnectionsBetweenDigests() {
+        DebtCase first = setupDebtCase(1, 3);
+        DebtCase second = setupDebtCase(2, 4);
+        DebtCase third = setupDebtCase(3, 5);
+        when(emailOutboxJdbcRepository.claimDueMessages(any(LocalDateTime.class), eq(10)))
+                .thenReturn(List.of(setupMessage(11, first), setupMessage(12, second), setupMessage(13, third)));
+        when(debtCaseRepository.findByIdIn(anyCollection())).thenReturn(List.of(first, second, third));
+        when(emailService.sendDigestEmails(anyList())).thenReturn(List.of(true, false), List.of(true));
+
+        EmailDispatchSummary summary = emailOutboxService.drainOutbox();
+
+        Assertions.assertEquals(2, summary.getSent());
+        Assertions.assertEquals(1, summary.getFailed());
+        verify(emailService, times(2)).sendDigestEmails(anyList());
+        verify(emailOutboxJdbcRepository).markSent(eq(List.of(11, 13)), any(LocalDateTime.class));
+        verify(emailOutboxJdbcRepository).markForRetry(eq(List.of(12)), anyString(), eq(5), eq(30L), eq(3600L),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    void drainOutbox_WhenDebtorDigestIsDue_ShouldSendAllOpenDebtCasesOfDebtorOnce() {
+        DebtCase first = setupDebtCase(1, 3);
+        DebtCase second = setupDebtCase(2, 3);
+        EmailOutboxMessage digestMessage = setupMessage(11, first);
+        digestMessage.setDebtCaseId(null);
+        digestMessage.setNotificationType(NotificationType.MONTHLY_REMINDER);
+        when(emailOutboxJdbcRepository.claimDueMessages(any(LocalDateTime.class), eq(10)))
+                .thenReturn(List.of(digestMessage, setupMessage(12, second)));
+        when(debtCaseRepository.findByIdIn(Set.of(2))).thenReturn(List.of(second));
+        when(debtCaseRepository.findOpenDebtCasesByDebtorIds(Set.of(3))).thenReturn(List.of(first, second));
+        when(emailService.sendDigestEmails(anyList())).thenReturn(List.of(true));
+
+        EmailDispatchSummary summary = emailOutboxService.drainOutbox();
+
+        Assertions.assertEquals(1, summary.getSent());
+        verify(emailService).sendDigestEmails(argThat(digests -> digests.size() == 1
+                && digests.get(0).getDebtCases().size() == 2));
+        verify(emailOutboxJdbcRepository).markSent(eq(List.of(11, 12)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void enqueueOpenDebtorDigests_WhenCalled_ShouldUseDailyDebtorDedupKey() {
+        when(emailOutboxJdbcRepository.enqueueOpenDebtorDigests(eq(NotificationType.MONTHLY_REMINDER),
+                eq("MONTHLY_REMINDER:debtor:"), eq(String.format(":%s", LocalDateTime.now().toLocalDate())),
+                any(LocalDateTime.class))).thenReturn(4);
+
+        int enqueued = emailOutboxService.enqueueOpenDebtorDigests(NotificationType.MONTHLY_REMINDER);
+
+        Assertions.assertEquals(4, enqueued);
+    }
+
+    @Test
+    void drainOutbox_WhenSendingFails_ShouldScheduleRetry() {
+        DebtCase debtCase = setupDebtCase(1, 3);
+        when(emailOutboxJdbcRepository.claimDueMessages(any(LocalDateTime.class), eq(10)))
+                .thenReturn(List.of(setupMessage(11, debtCase)));
+        when(debtCaseRepository.findByIdIn(anyCollection())).thenReturn(List.of(debtCase));
+        when(emailService.sendDigestEmails(anyList())).thenThrow(new IllegalStateException("smtp down"));
+
+        EmailDispatchSummary summary = emailOutboxService.drainOutbox();
+
+        Assertions.assertEquals(1, summary.getFailed());
+        verify(emailOutboxJdbcRepository).markForRetry(eq(List.of(11)), anyString(), eq(5), eq(30L), eq(3600L),
+                any(LocalDateTime.class));
+        verify(emailOutboxJdbcRepository, never()).markSent(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void drainOutbox_WhenOutboxIsEmpty_ShouldNotLoadDebtCases() {
+        when(emailOutboxJdbcRepository.claimDueMessages(any(LocalDateTime.class), eq(10))).thenReturn(List.of());
+
+        EmailDispatchSummary summary = emailOutboxService.drainOutbox();
+
+        Assertions.assertEquals(0, summary.getSent());
+        verify(emailOutboxJdbcRepository).releaseStaleClaims(any(LocalDateTime.class));
+        verifyNoInteractions(debtCaseRepository, emailService);
+    }
+
+    private DebtCase setupDebtCase(int id, int debtorId) {
+        DebtCase debtCase = TestUtils.setupDebtCaseTestData("creditor", 1, "name", "surname", "email@gmail.com",
+                "+37067144213", "DEFAULT_DEBT", DebtCaseStatus.NEW, LocalDateTime.now().plusDays(1), 10.0, 10.0,
+                BigDecimal.valueOf(35.53), "debtor");
+        debtCase.setId(id);
+        debtCase.getDebtor().setId(debtorId);
+        return debtCase;
+    }
+
+    private EmailOutboxMessage setupMessage(int id, DebtCase debtCase) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId(id);
+        message.setDebtCaseId(debtCase.getId());
+        message.setDebtorId(debtCase.getDebtor().getId());
+        message.setNotificationType(NotificationType.NEW_DEBT_CASE);
+        return message;
+    }
+}
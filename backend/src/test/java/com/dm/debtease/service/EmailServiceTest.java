@@ -3,18 +3,25 @@ package com.dm.debtease.service;
 import com.dm.debtease.TestUtils;
 import com.dm.debtease.model.DebtCase;
 import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.EmailDigest;
 import com.dm.debtease.service.impl.EmailServiceImpl;
 import com.dm.debtease.utils.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -23,10 +30,16 @@ import static org.mockito.Mockito.*;
 public class EmailServiceTest {
     @Mock
     private JavaMailSender javaMailSender;
-
-    @InjectMocks
+    private MeterRegistry meterRegistry;
     private EmailServiceImpl emailService;
 
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        emailService = new EmailServiceImpl(javaMailSender, meterRegistry);
+        emailService.init();
+    }
+
     @Test
     void sendNotificationEmail_WhenCalled_ShouldSendEmailNotification() {
         int creditorId = 1;
@@ -52,6 +65,46 @@ public class EmailServiceTest {
 
         emailService.sendNotificationEmail(expectedDebtCase);
 
-        verify(javaMailSender).send(any(MimeMessage.class));
+        verify(javaMailSender).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void sendDigestEmail_WhenDebtorHasSeveralDebtCases_ShouldSendSingleEmail() {
+        DebtCase first = setupDebtCase(BigDecimal.valueOf(35.53));
+        DebtCase second = setupDebtCase(BigDecimal.valueOf(12.10));
+        MimeMessage mimeMessage = mock(MimeMessage.class);
+        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
+
+        boolean sent = emailService.sendDigestEmail(first.getDebtor(), List.of(first, second));
+
+        Assertions.assertTrue(sent);
+        verify(javaMailSender, times(1)).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void sendDigestEmails_WhenOneMessageIsRejected_ShouldSendBatchOnceAndReportPerDigest() {
+        DebtCase first = setupDebtCase(BigDecimal.valueOf(35.53));
+        DebtCase second = setupDebtCase(BigDecimal.valueOf(12.10));
+        MimeMessage firstMessage = mock(MimeMessage.class);
+        MimeMessage secondMessage = mock(MimeMessage.class);
+        when(javaMailSender.createMimeMessage()).thenReturn(firstMessage, secondMessage);
+        doThrow(new MailSendException(Map.of(secondMessage, new IllegalStateException("mailbox unavailable"))))
+                .when(javaMailSender).send(any(MimeMessage[].class));
+
+        List<Boolean> results = emailService.sendDigestEmails(List.of(
+                new EmailDigest(first.getDebtor(), List.of(first)),
+                new EmailDigest(second.getDebtor(), List.of(second))));
+
+        Assertions.assertEquals(List.of(true, false), results);
+        verify(javaMailSender, times(1)).send(any(MimeMessage[].class));
+        Assertions.assertEquals(2, meterRegistry.get("mail.send").timer().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("mail.messages").tag("result", "sent").counter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("mail.messages").tag("result", "failed").counter().count());
+    }
+
+    private DebtCase setupDebtCase(BigDecimal amountOwed) {
+        return TestUtils.setupDebtCaseTestData("creditor123", 1, "name", "surname", "email@gmail.com",
+                "+37067144213", "DEFAULT_DEBT", DebtCaseStatus.NEW, LocalDateTime.now(), 10.0, 10.0,
+                amountOwed, "userWithDebts");
     }
 }
@@ -0,0 +1,119 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.InterestAccrualSummary;
+import com.dm.debtease.repository.DebtCaseJdbcRepository;
+import com.dm.debtease.service.impl.InterestAccrualServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class InterestAccrualServiceTest {
+    @Mock
+    private DebtCaseJdbcRepository debtCaseJdbcRepository;
+    @Mock
+    private ThreadPoolTaskExecutor interestAccrualExecutor;
+    @InjectMocks
+    private InterestAccrualServiceImpl interestAccrualService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(interestAccrualService, "chunkSize", 100);
+        ReflectionTestUtils.setField(interestAccrualService, "lateInterestPageSize", 2);
+        ReflectionTestUtils.setField(interestAccrualService, "parallelism", 2);
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(interestAccrualExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void accrueMonthlyInterest_WhenCasesAreAccruable_ShouldUpdateThemInIdRangeChunks() {
+        LocalDate accrualDate = LocalDate.of(2024, 5, 1);
+        when(debtCaseJdbcRepository.findAccruableDebtCaseIdRange(accrualDate)).thenReturn(new int[]{51, 250});
+        when(debtCaseJdbcRepository.accrueMonthlyInterest(anyInt(), anyInt(), eq(accrualDate))).thenReturn(40);
+
+        InterestAccrualSummary summary = interestAccrualService.accrueMonthlyInterest(accrualDate);
+
+        verify(debtCaseJdbcRepository).accrueMonthlyInterest(51, 99, accrualDate);
+        verify(debtCaseJdbcRepository).accrueMonthlyInterest(100, 199, accrualDate);
+        verify(debtCaseJdbcRepository).accrueMonthlyInterest(200, 250, accrualDate);
+        Assertions.assertEquals(3, summary.getChunks());
+        Assertions.assertEquals(120, summary.getRowsUpdated());
+        Assertions.assertEquals(2, summary.getSlices().size());
+        verify(interestAccrualExecutor, times(2)).execute(any(Runnable.class));
+        Assertions.assertEquals(accrualDate, summary.getAccrualDate());
+    }
+
+    @Test
+    void accrueMonthlyInterest_WhenPartitioned_ShouldOnlyUpdateChunksOfThatPartition() {
+        LocalDate accrualDate = LocalDate.of(2024, 5, 1);
+        when(debtCaseJdbcRepository.findAccruableDebtCaseIdRange(accrualDate)).thenReturn(new int[]{51, 450});
+        when(debtCaseJdbcRepository.accrueMonthlyInterest(anyInt(), anyInt(), eq(accrualDate))).thenReturn(100);
+
+        InterestAccrualSummary summary = interestAccrualService.accrueMonthlyInterest(accrualDate, 1, 2);
+
+        verify(debtCaseJdbcRepository).accrueMonthlyInterest(100, 199, accrualDate);
+        verify(debtCaseJdbcRepository).accrueMonthlyInterest(300, 399, accrualDate);
+        verify(debtCaseJdbcRepository, times(2)).accrueMonthlyInterest(anyInt(), anyInt(), eq(accrualDate));
+        Assertions.assertEquals(200, summary.getRowsUpdated());
+    }
+
+    @Test
+    void accrueMonthlyInterest_WhenAllCasesWereAlreadyCharged_ShouldNotUpdateAnything() {
+        LocalDate accrualDate = LocalDate.of(2024, 5, 1);
+        when(debtCaseJdbcRepository.findAccruableDebtCaseIdRange(accrualDate)).thenReturn(new int[0]);
+
+        InterestAccrualSummary summary = interestAccrualService.accrueMonthlyInterest(accrualDate);
+
+        verify(debtCaseJdbcRepository, never()).accrueMonthlyInterest(anyInt(), anyInt(), eq(accrualDate));
+        Assertions.assertEquals(0, summary.getRowsUpdated());
+    }
+
+    @Test
+    void accrueLateInterest_WhenSeveralPagesAreOverdue_ShouldContinueAfterLastChargedIdWithinChunk() {
+        LocalDate accrualDate = LocalDate.of(2024, 5, 2);
+        when(debtCaseJdbcRepository.findDebtCaseIdRange()).thenReturn(new int[]{1, 150});
+        when(debtCaseJdbcRepository.accrueLateInterestPage(accrualDate, 0, 99, 2)).thenReturn(List.of(3, 7));
+        when(debtCaseJdbcRepository.accrueLateInterestPage(accrualDate, 7, 99, 2)).thenReturn(List.of(9));
+        when(debtCaseJdbcRepository.accrueLateInterestPage(accrualDate, 99, 150, 2)).thenReturn(List.of());
+
+        InterestAccrualSummary summary = interestAccrualService.accrueLateInterest(accrualDate);
+
+        verify(debtCaseJdbcRepository, times(3)).accrueLateInterestPage(eq(accrualDate), anyInt(), anyInt(), eq(2));
+        Assertions.assertEquals(3, summary.getRowsUpdated());
+        Assertions.assertEquals(2, summary.getChunks());
+    }
+
+    @Test
+    void accrueMonthlyInterest_WhenSliceFails_ShouldFinishOtherSlicesAndRethrow() {
+        LocalDate accrualDate = LocalDate.of(2024, 5, 1);
+        when(debtCaseJdbcRepository.findAccruableDebtCaseIdRange(accrualDate)).thenReturn(new int[]{0, 299});
+        when(debtCaseJdbcRepository.accrueMonthlyInterest(0, 99, accrualDate))
+                .thenThrow(new IllegalStateException("deadlock detected"));
+        when(debtCaseJdbcRepository.accrueMonthlyInterest(100, 199, accrualDate)).thenReturn(100);
+        when(debtCaseJdbcRepository.accrueMonthlyInterest(200, 299, accrualDate)).thenReturn(100);
+
+        IllegalStateException thrown = Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> interestAccrualService.accrueMonthlyInterest(accrualDate),
+                "Expected accrueMonthlyInterest to throw, but it didn't"
+        );
+
+        Assertions.assertEquals("deadlock detected", thrown.getMessage());
+        verify(debtCaseJdbcRepository).accrueMonthlyInterest(200, 299, accrualDate);
+    }
+}
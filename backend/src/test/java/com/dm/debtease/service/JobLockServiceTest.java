@@ -0,0 +1,93 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.repository.ScheduledJobLockJdbcRepository;
+import com.dm.debtease.service.impl.JobLockServiceImpl;
+import com.dm.debtease.utils.Constants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class JobLockServiceTest {
+    @Mock
+    private ScheduledJobLockJdbcRepository scheduledJobLockJdbcRepository;
+    @InjectMocks
+    private JobLockServiceImpl jobLockService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(jobLockService, "nodeId", "node-1");
+        ReflectionTestUtils.setField(jobLockService, "lockAtMostForSeconds", 3600L);
+        ReflectionTestUtils.setField(jobLockService, "lockAtLeastForSeconds", 30L);
+    }
+
+    @Test
+    void runExclusively_WhenLockIsFree_ShouldRunJobAndReleaseLock() {
+        when(scheduledJobLockJdbcRepository.tryAcquire("job", 3600L, "node-1")).thenReturn(true);
+        Runnable job = mock(Runnable.class);
+
+        boolean ran = jobLockService.runExclusively("job", job);
+
+        Assertions.assertTrue(ran);
+        verify(job).run();
+        verify(scheduledJobLockJdbcRepository).release("job", 30L, "node-1");
+    }
+
+    @Test
+    void runExclusively_WhenJobFails_ShouldStillReleaseLock() {
+        when(scheduledJobLockJdbcRepository.tryAcquire("job", 3600L, "node-1")).thenReturn(true);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> jobLockService.runExclusively("job", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        verify(scheduledJobLockJdbcRepository).release("job", 30L, "node-1");
+    }
+
+    @Test
+    void runExclusively_WhenAnotherReplicaHoldsLock_ShouldSkipJob() {
+        when(scheduledJobLockJdbcRepository.tryAcquire("job", 3600L, "node-1")).thenReturn(false);
+        Runnable job = mock(Runnable.class);
+
+        boolean ran = jobLockService.runExclusively("job", job);
+
+        Assertions.assertFalse(ran);
+        verifyNoInteractions(job);
+        verify(scheduledJobLockJdbcRepository, never()).release(anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    void runPartitioned_WhenSomePartitionsAreLocked_ShouldRunOnlyFreePartitions() {
+        when(scheduledJobLockJdbcRepository.tryAcquire(anyString(), eq(3600L), eq("node-1")))
+                .thenAnswer(invocation -> !invocation.getArgument(0).equals("job:1/3"));
+        List<Integer> partitionsRun = new ArrayList<>();
+
+        int count = jobLockService.runPartitioned("job", 3, partitionsRun::add);
+
+        Assertions.assertEquals(2, count);
+        Assertions.assertTrue(partitionsRun.containsAll(List.of(0, 2)));
+        Assertions.assertFalse(partitionsRun.contains(1));
+    }
+
+    @Test
+    void runPartitioned_WhenPartitionsIsZero_ShouldThrowIllegalArgumentException() {
+        IllegalArgumentException thrown = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> jobLockService.runPartitioned("job", 0, partition -> {
+                }));
+
+        Assertions.assertEquals(String.format(Constants.JOB_PARTITIONS_INVALID, "job", 0), thrown.getMessage());
+        verifyNoInteractions(scheduledJobLockJdbcRepository);
+    }
+}
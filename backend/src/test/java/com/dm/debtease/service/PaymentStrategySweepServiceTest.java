@@ -0,0 +1,143 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.exception.InvalidPaymentStrategySweepException;
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.DebtPaymentStrategySweep;
+import com.dm.debtease.model.dto.DebtPaymentStrategySweepDTO;
+import com.dm.debtease.service.impl.PaymentStrategySweepServiceImpl;
+import com.dm.debtease.simulation.PaymentStrategySimulator;
+import com.dm.debtease.utils.Constants;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentStrategySweepServiceTest {
+    @Mock
+    private DebtCaseService debtCaseService;
+    private ForkJoinPool paymentStrategySweepPool;
+    private PaymentStrategySweepServiceImpl paymentStrategySweepService;
+
+    @BeforeEach
+    void setup() {
+        paymentStrategySweepPool = new ForkJoinPool(2);
+        paymentStrategySweepService = new PaymentStrategySweepServiceImpl(debtCaseService, paymentStrategySweepPool);
+        ReflectionTestUtils.setField(paymentStrategySweepService, "maxGridSize", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentStrategySweepPool.shutdown();
+    }
+
+    @Test
+    void calculateDebtPaymentStrategySweep_WhenRangesAreValid_ShouldMatchSingleSimulationForEveryCell() {
+        String username = "debtor";
+        DebtCase smallDebt = debtCase(new BigDecimal("350.00"), 8.5, DebtCaseStatus.NEW);
+        DebtCase largeDebt = debtCase(new BigDecimal("4200.50"), 24.0, DebtCaseStatus.NEW);
+        DebtCase closedDebt = debtCase(new BigDecimal("100.00"), 5.0, DebtCaseStatus.CLOSED);
+        when(debtCaseService.getDebtCasesByDebtorUsername(username))
+                .thenReturn(List.of(largeDebt, closedDebt, smallDebt));
+
+        DebtPaymentStrategySweep sweep = paymentStrategySweepService.calculateDebtPaymentStrategySweep(
+                sweepDTO("100", "300", "100", "100", "250", "50"), username);
+
+        Assertions.assertEquals(3, sweep.getMinimalMonthlyPayments().size());
+        Assertions.assertEquals(4, sweep.getExtraMonthlyPayments().size());
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 4; column++) {
+                BigDecimal minimalPayment = sweep.getMinimalMonthlyPayments().get(row);
+                BigDecimal extraPayment = sweep.getExtraMonthlyPayments().get(column);
+                List<BigDecimal> snowball = PaymentStrategySimulator.simulateBalanceEachMonth(
+                        List.of(smallDebt, largeDebt), extraPayment, minimalPayment);
+                List<BigDecimal> avalanche = PaymentStrategySimulator.simulateBalanceEachMonth(
+                        List.of(largeDebt, smallDebt), extraPayment, minimalPayment);
+                Assertions.assertEquals(snowball.size() - 1, sweep.getSnowballMonthsToPayoff()[row][column]);
+                Assertions.assertEquals(avalanche.size() - 1, sweep.getAvalancheMonthsToPayoff()[row][column]);
+                Assertions.assertEquals(1, sweep.getSnowballTotalInterest()[row][column].signum());
+            }
+        }
+    }
+
+    @Test
+    void calculateDebtPaymentStrategySweep_WhenDebtsAreNotPaidOff_ShouldReturnNullMonths() {
+        String username = "debtor";
+        when(debtCaseService.getDebtCasesByDebtorUsername(username))
+                .thenReturn(List.of(debtCase(new BigDecimal("100000.00"), 20.0, DebtCaseStatus.NEW)));
+
+        DebtPaymentStrategySweep sweep = paymentStrategySweepService.calculateDebtPaymentStrategySweep(
+                sweepDTO("1", "1", "1", "1", "1", "1"), username);
+
+        Assertions.assertNull(sweep.getSnowballMonthsToPayoff()[0][0]);
+        Assertions.assertNull(sweep.getAvalancheMonthsToPayoff()[0][0]);
+    }
+
+    @Test
+    void calculateDebtPaymentStrategySweep_WhenGridExceedsLimit_ShouldThrowWithoutLoadingDebtCases() {
+        InvalidPaymentStrategySweepException thrown = Assertions.assertThrows(
+                InvalidPaymentStrategySweepException.class,
+                () -> paymentStrategySweepService.calculateDebtPaymentStrategySweep(
+                        sweepDTO("1", "1000", "1", "1", "5", "1"), "debtor"),
+                "Expected calculateDebtPaymentStrategySweep to throw, but it didn't"
+        );
+
+        Assertions.assertEquals(String.format(Constants.PAYMENT_STRATEGY_SWEEP_TOO_LARGE, 505, 100),
+                thrown.getMessage());
+        verifyNoInteractions(debtCaseService);
+    }
+
+    @Test
+    void calculateDebtPaymentStrategySweep_WhenStepIsNotWholeCents_ShouldThrowInvalidRange() {
+        Assertions.assertThrows(
+                InvalidPaymentStrategySweepException.class,
+                () -> paymentStrategySweepService.calculateDebtPaymentStrategySweep(
+                        sweepDTO("1", "2", "0.005", "1", "5", "1"), "debtor"),
+                "Expected calculateDebtPaymentStrategySweep to throw, but it didn't"
+        );
+    }
+
+    @Test
+    void calculateDebtPaymentStrategySweep_WhenDebtorHasNoDebtCases_ShouldThrowEntityNotFoundException() {
+        when(debtCaseService.getDebtCasesByDebtorUsername("debtor")).thenReturn(List.of());
+
+        Assertions.assertThrows(
+                EntityNotFoundException.class,
+                () -> paymentStrategySweepService.calculateDebtPaymentStrategySweep(
+                        sweepDTO("1", "2", "1", "1", "2", "1"), "debtor"),
+                "Expected calculateDebtPaymentStrategySweep to throw, but it didn't"
+        );
+    }
+
+    private DebtCase debtCase(BigDecimal amountOwed, double debtInterestRate, DebtCaseStatus debtCaseStatus) {
+        DebtCase debtCase = new DebtCase();
+        debtCase.setAmountOwed(amountOwed);
+        debtCase.setDebtInterestRate(debtInterestRate);
+        debtCase.setDebtCaseStatus(debtCaseStatus);
+        return debtCase;
+    }
+
+    private DebtPaymentStrategySweepDTO sweepDTO(String minimalFrom, String minimalTo, String minimalStep,
+                                                 String extraFrom, String extraTo, String extraStep) {
+        DebtPaymentStrategySweepDTO debtPaymentStrategySweepDTO = new DebtPaymentStrategySweepDTO();
+        debtPaymentStrategySweepDTO.setMinimalMonthlyPaymentFrom(new BigDecimal(minimalFrom));
+        debtPaymentStrategySweepDTO.setMinimalMonthlyPaymentTo(new BigDecimal(minimalTo));
+        debtPaymentStrategySweepDTO.setMinimalMonthlyPaymentStep(new BigDecimal(minimalStep));
+        debtPaymentStrategySweepDTO.setExtraMonthlyPaymentFrom(new BigDecimal(extraFrom));
+        debtPaymentStrategySweepDTO.setExtraMonthlyPaymentTo(new BigDecimal(extraTo));
+        debtPaymentStrategySweepDTO.setExtraMonthlyPaymentStep(new BigDecimal(extraStep));
+        return debtPaymentStrategySweepDTO;
+    }
+}
@@ -0,0 +1,124 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.client.PhoneVerificationClient;
+import com.dm.debtease.model.VerifiedPhoneNumberInformation;
+import com.dm.debtease.repository.VerifiedPhoneNumberInformationRepository;
+import com.dm.debtease.resilience.CircuitBreaker;
+import com.dm.debtease.resilience.RateLimiter;
+import com.dm.debtease.service.impl.PhoneNumberVerificationServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class PhoneNumberVerificationServiceTest {
+    @Mock
+    private VerifiedPhoneNumberInformationRepository verifiedPhoneNumberInformationRepository;
+    @Mock
+    private PhoneVerificationClient phoneVerificationClient;
+    @Mock
+    private RateLimiter numverifyRateLimiter;
+    private CircuitBreaker numverifyCircuitBreaker;
+    private MeterRegistry meterRegistry;
+    private PhoneNumberVerificationServiceImpl phoneNumberVerificationService;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        numverifyCircuitBreaker = new CircuitBreaker(1, Duration.ofMinutes(1));
+        phoneNumberVerificationService = new PhoneNumberVerificationServiceImpl(verifiedPhoneNumberInformationRepository,
+                phoneVerificationClient, numverifyRateLimiter, numverifyCircuitBreaker, meterRegistry);
+        ReflectionTestUtils.setField(phoneNumberVerificationService, "cacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(phoneNumberVerificationService, "cacheTtlHours", 24L);
+        phoneNumberVerificationService.init();
+    }
+
+    @Test
+    void getVerifiedPhoneNumberInformation_WhenNumberIsStored_ShouldLoadItOnceAndServeRepeatsFromCache() throws Exception {
+        VerifiedPhoneNumberInformation storedInformation = createVerifiedPhoneNumberInformation("37068821345");
+        storedInformation.setId(1);
+        when(verifiedPhoneNumberInformationRepository.findByPhoneNumberIn(Set.of("37068821345")))
+                .thenReturn(List.of(storedInformation));
+
+        VerifiedPhoneNumberInformation first =
+                phoneNumberVerificationService.getVerifiedPhoneNumberInformation("+37068821345");
+        VerifiedPhoneNumberInformation second =
+                phoneNumberVerificationService.getVerifiedPhoneNumberInformation("37068821345");
+
+        Assertions.assertSame(storedInformation, first);
+        Assertions.assertSame(storedInformation, second);
+        verify(verifiedPhoneNumberInformationRepository, times(1)).findByPhoneNumberIn(anyCollection());
+        verify(numverifyRateLimiter, never()).acquire();
+        verifyNoInteractions(phoneVerificationClient);
+        Assertions.assertEquals(1.0, meterRegistry.get("phone.verification.lookups")
+                .tag("source", "database").counter().count());
+        Assertions.assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "verifiedPhoneNumbers").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void getVerifiedPhoneNumberInformation_WhenNumbersAreUnknown_ShouldVerifyEachDistinctNumberOnce() throws Exception {
+        VerifiedPhoneNumberInformation verifiedInformation = createVerifiedPhoneNumberInformation("37068821345");
+        when(verifiedPhoneNumberInformationRepository.findByPhoneNumberIn(anyCollection())).thenReturn(List.of());
+        when(phoneVerificationClient.verify("37068821345"))
+                .thenReturn(CompletableFuture.completedFuture(verifiedInformation));
+        when(phoneVerificationClient.verify("37061234567"))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("timeout")));
+
+        Map<String, VerifiedPhoneNumberInformation> result = phoneNumberVerificationService
+                .getVerifiedPhoneNumberInformation(List.of("+37068821345", "37068821345", "+37061234567"));
+
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertSame(verifiedInformation, result.get("37068821345"));
+        verify(numverifyRateLimiter, times(2)).acquire();
+        verify(phoneVerificationClient, times(1)).verify("37068821345");
+        Assertions.assertEquals(2.0, meterRegistry.get("phone.verification.lookups")
+                .tag("source", "provider").counter().count());
+    }
+
+    @Test
+    void getVerifiedPhoneNumberInformation_WhenCircuitIsOpen_ShouldSkipProviderWithoutWaiting() throws Exception {
+        when(verifiedPhoneNumberInformationRepository.findByPhoneNumberIn(anyCollection())).thenReturn(List.of());
+        numverifyCircuitBreaker.onFailure();
+
+        Map<String, VerifiedPhoneNumberInformation> result = phoneNumberVerificationService
+                .getVerifiedPhoneNumberInformation(List.of("37068821345", "37061234567"));
+
+        Assertions.assertTrue(result.isEmpty());
+        verify(numverifyRateLimiter, never()).acquire();
+        verifyNoInteractions(phoneVerificationClient);
+        Assertions.assertEquals(2.0, meterRegistry.get("phone.verification.lookups")
+                .tag("source", "circuit-open").counter().count());
+    }
+
+    @Test
+    void getVerifiedPhoneNumberInformation_WhenNumberIsMissing_ShouldReturnNull() {
+        Assertions.assertNull(phoneNumberVerificationService.getVerifiedPhoneNumberInformation((String) null));
+        Assertions.assertNull(phoneNumberVerificationService.getVerifiedPhoneNumberInformation(" "));
+        verifyNoInteractions(verifiedPhoneNumberInformationRepository);
+    }
+
+    private VerifiedPhoneNumberInformation createVerifiedPhoneNumberInformation(String phoneNumber) {
+        VerifiedPhoneNumberInformation verifiedPhoneNumberInformation = new VerifiedPhoneNumberInformation();
+        verifiedPhoneNumberInformation.setPhoneNumber(phoneNumber);
+        verifiedPhoneNumberInformation.setValid("Yes");
+        return verifiedPhoneNumberInformation;
+    }
+}
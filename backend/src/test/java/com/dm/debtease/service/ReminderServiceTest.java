@@ -0,0 +1,92 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.TestUtils;
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.DebtCaseStatus;
+import com.dm.debtease.model.NotificationType;
+import com.dm.debtease.repository.DebtCaseRepository;
+import com.dm.debtease.service.impl.ReminderServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class ReminderServiceTest {
+    @Mock
+    private DebtCaseRepository debtCaseRepository;
+    @Mock
+    private EmailOutboxService emailOutboxService;
+    @InjectMocks
+    private ReminderServiceImpl reminderService;
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(reminderService, "pageSize", 2);
+    }
+
+    @Test
+    void enqueueUpcomingDueDateReminders_WhenSeveralPagesExist_ShouldPageByIdAndQueueEachPage() {
+        LocalDateTime now = LocalDateTime.now();
+        DebtCase first = setupDebtCase(1);
+        DebtCase second = setupDebtCase(2);
+        DebtCase third = setupDebtCase(3);
+        when(debtCaseRepository.findOpenDebtCasesDueBetween(eq(now), eq(now.plusDays(10)), eq(0),
+                any(Pageable.class))).thenReturn(List.of(first, second));
+        when(debtCaseRepository.findOpenDebtCasesDueBetween(eq(now), eq(now.plusDays(10)), eq(2),
+                any(Pageable.class))).thenReturn(List.of(third));
+        when(emailOutboxService.enqueue(List.of(first, second), NotificationType.UPCOMING_DUE_DATE)).thenReturn(2);
+        // the third case was already queued today, so the outbox skips it
+        when(emailOutboxService.enqueue(List.of(third), NotificationType.UPCOMING_DUE_DATE)).thenReturn(0);
+
+        int enqueued = reminderService.enqueueUpcomingDueDateReminders(now, now.plusDays(10));
+
+        Assertions.assertEquals(2, enqueued);
+        verify(debtCaseRepository, times(2)).findOpenDebtCasesDueBetween(any(LocalDateTime.class),
+                any(LocalDateTime.class), anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void enqueueOpenDebtCaseReminders_WhenCalled_ShouldQueueOneDigestPerDebtor() {
+        when(emailOutboxService.enqueueOpenDebtorDigests(NotificationType.MONTHLY_REMINDER)).thenReturn(3);
+
+        int enqueued = reminderService.enqueueOpenDebtCaseReminders();
+
+        Assertions.assertEquals(3, enqueued);
+        verifyNoInteractions(debtCaseRepository);
+    }
+
+    @Test
+    void enqueueUpcomingDueDateReminders_WhenNoDebtCasesAreDue_ShouldNotQueueEmails() {
+        LocalDateTime now = LocalDateTime.now();
+        when(debtCaseRepository.findOpenDebtCasesDueBetween(eq(now), eq(now.plusDays(10)), eq(0),
+                any(Pageable.class))).thenReturn(List.of());
+
+        int enqueued = reminderService.enqueueUpcomingDueDateReminders(now, now.plusDays(10));
+
+        Assertions.assertEquals(0, enqueued);
+        verifyNoInteractions(emailOutboxService);
+    }
+
+    private DebtCase setupDebtCase(int id) {
+        DebtCase debtCase = TestUtils.setupDebtCaseTestData("creditor", 1, "name", "surname", "email@gmail.com",
+                "+37067144213", "DEFAULT_DEBT", DebtCaseStatus.NEW, LocalDateTime.now().plusDays(1), 10.0, 10.0,
+                BigDecimal.valueOf(35.53), "debtor");
+        debtCase.setId(id);
+        return debtCase;
+    }
+}
@@ -0,0 +1,101 @@
+package com.dm.debtease.service;
+
+import com.dm.debtease.model.ScheduledJobRun;
+import com.dm.debtease.model.ScheduledJobRunStatus;
+import com.dm.debtease.repository.ScheduledJobRunRepository;
+import com.dm.debtease.service.impl.ScheduledJobRunServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unused")
+public class ScheduledJobRunServiceTest {
+    @Mock
+    private ScheduledJobRunRepository scheduledJobRunRepository;
+    @Mock
+    private JobLockService jobLockService;
+    private MeterRegistry meterRegistry;
+    private ScheduledJobRunServiceImpl scheduledJobRunService;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduledJobRunService = new ScheduledJobRunServiceImpl(scheduledJobRunRepository, jobLockService,
+                meterRegistry);
+        ReflectionTestUtils.setField(scheduledJobRunService, "retentionDays", 30);
+        ReflectionTestUtils.setField(scheduledJobRunService, "maxPageSize", 100);
+        lenient().when(jobLockService.getNodeId()).thenReturn("node-1");
+    }
+
+    @Test
+    void record_WhenJobSucceeds_ShouldSaveRunAndRecordMetrics() {
+        scheduledJobRunService.record("lateInterestAccrual", true, run -> {
+            run.setRowsScanned(200);
+            run.setRowsUpdated(150);
+        });
+
+        ArgumentCaptor<ScheduledJobRun> captor = ArgumentCaptor.forClass(ScheduledJobRun.class);
+        verify(scheduledJobRunRepository).save(captor.capture());
+        ScheduledJobRun run = captor.getValue();
+        Assertions.assertEquals(ScheduledJobRunStatus.SUCCEEDED, run.getStatus());
+        Assertions.assertEquals("node-1", run.getNodeId());
+        Assertions.assertEquals(150, run.getRowsUpdated());
+        Assertions.assertNotNull(run.getFinishedAt());
+        Assertions.assertEquals(1, meterRegistry.get("scheduled.job.duration").tag("job", "lateInterestAccrual")
+                .tag("status", "SUCCEEDED").timer().count());
+        Assertions.assertEquals(150.0, meterRegistry.get("scheduled.job.rows.updated")
+                .tag("job", "lateInterestAccrual").counter().count());
+    }
+
+    @Test
+    void record_WhenJobFails_ShouldSaveFailedRunAndRethrow() {
+        IllegalStateException thrown = Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> scheduledJobRunService.record("monthlyReminders", true, run -> {
+                    throw new IllegalStateException("database down");
+                }),
+                "Expected record to throw, but it didn't"
+        );
+
+        ArgumentCaptor<ScheduledJobRun> captor = ArgumentCaptor.forClass(ScheduledJobRun.class);
+        verify(scheduledJobRunRepository).save(captor.capture());
+        Assertions.assertEquals("database down", thrown.getMessage());
+        Assertions.assertEquals(ScheduledJobRunStatus.FAILED, captor.getValue().getStatus());
+        Assertions.assertEquals("database down", captor.getValue().getErrorMessage());
+        Assertions.assertEquals(1, captor.getValue().getFailures());
+    }
+
+    @Test
+    void record_WhenPollingRunIsIdle_ShouldOnlyRecordMetrics() {
+        scheduledJobRunService.record("emailOutboxDrain", false, run -> {
+        });
+
+        verify(scheduledJobRunRepository, never()).save(any(ScheduledJobRun.class));
+        Assertions.assertEquals(1, meterRegistry.get("scheduled.job.duration").tag("job", "emailOutboxDrain")
+                .timer().count());
+    }
+
+    @Test
+    void getRecentRuns_WhenLimitIsTooLarge_ShouldCapItAtMaxPageSize() {
+        when(scheduledJobRunRepository.findAllByOrderByStartedAtDesc(Limit.of(100))).thenReturn(List.of());
+
+        List<ScheduledJobRun> runs = scheduledJobRunService.getRecentRuns(null, 10000);
+
+        Assertions.assertTrue(runs.isEmpty());
+        verify(scheduledJobRunRepository).findAllByOrderByStartedAtDesc(Limit.of(100));
+    }
+}
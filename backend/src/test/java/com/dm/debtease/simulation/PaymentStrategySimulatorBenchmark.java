@@ -0,0 +1,61 @@
+package com.dm.debtease.simulation;
+
+import com.dm.debtease.model.DebtCase;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cents simulator with the {@link BigDecimal} reference. Not run by the test suite; run {@link #main}
+ * from the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentStrategySimulatorBenchmark {
+    @Param({"5", "50"})
+    private int debtCount;
+    private List<DebtCase> debtCases;
+    private final BigDecimal extraPayment = BigDecimal.valueOf(150);
+    private final BigDecimal minimalPayment = BigDecimal.valueOf(25);
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        debtCases = new ArrayList<>();
+        for (int i = 0; i < debtCount; i++) {
+            DebtCase debtCase = new DebtCase();
+            debtCase.setAmountOwed(BigDecimal.valueOf(10_000 + random.nextInt(500_000), 2));
+            debtCase.setDebtInterestRate(random.nextInt(3000) / 100.0);
+            debtCases.add(debtCase);
+        }
+        debtCases.sort(Comparator.comparing(DebtCase::getAmountOwed));
+    }
+
+    @Benchmark
+    public List<BigDecimal> bigDecimalSimulation() {
+        return BigDecimalPaymentStrategySimulator.simulate(debtCases, extraPayment, minimalPayment);
+    }
+
+    @Benchmark
+    public List<BigDecimal> centsSimulation() {
+        return PaymentStrategySimulator.simulateBalanceEachMonth(debtCases, extraPayment, minimalPayment);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PaymentStrategySimulatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
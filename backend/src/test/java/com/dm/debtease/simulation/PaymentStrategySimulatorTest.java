@@ -0,0 +1,92 @@
+package com.dm.debtease.simulation;
+
+import com.dm.debtease.model.DebtCase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class PaymentStrategySimulatorTest {
+    @Test
+    void simulateBalanceEachMonth_WhenInputsAreRandom_ShouldMatchBigDecimalSimulation() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            List<DebtCase> debtCases = new ArrayList<>();
+            int debtCount = 1 + random.nextInt(12);
+            for (int i = 0; i < debtCount; i++) {
+                debtCases.add(debtCase(BigDecimal.valueOf(random.nextInt(5_000_000), 2),
+                        random.nextInt(4000) / 100.0));
+            }
+            BigDecimal extraPayment = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+            BigDecimal minimalPayment = BigDecimal.valueOf(1 + random.nextInt(10_000), 2);
+
+            assertSameBalances(debtCases, extraPayment, minimalPayment);
+        }
+    }
+
+    @Test
+    void simulateBalanceEachMonth_WhenInterestExceedsPayments_ShouldStopAfterMaxMonths() {
+        List<DebtCase> debtCases = List.of(debtCase(BigDecimal.valueOf(10_000_000.55), 35.0),
+                debtCase(BigDecimal.valueOf(35.53), 10.0));
+
+        List<BigDecimal> balances = PaymentStrategySimulator.simulateBalanceEachMonth(debtCases,
+                BigDecimal.valueOf(5), BigDecimal.valueOf(2));
+
+        Assertions.assertEquals(PaymentStrategySimulator.MAX_MONTHS, balances.size());
+        assertSameBalances(debtCases, BigDecimal.valueOf(5), BigDecimal.valueOf(2));
+    }
+
+    @Test
+    void simulateBalanceEachMonth_WhenBalancesExceedExactRange_ShouldMatchBigDecimalSimulation() {
+        List<DebtCase> debtCases = List.of(debtCase(new BigDecimal("98765432109.87"), 23.99),
+                debtCase(new BigDecimal("0.01"), 0.0001),
+                debtCase(new BigDecimal("1234.56"), 1.0E-7));
+
+        assertSameBalances(debtCases, new BigDecimal("1000000000"), new BigDecimal("50000.5"));
+    }
+
+    @Test
+    void simulateBalanceEachMonth_WhenAmountIsNotWholeCents_ShouldFallBackToBigDecimalSimulation() {
+        List<DebtCase> debtCases = List.of(debtCase(new BigDecimal("100.005"), 12.0));
+
+        List<BigDecimal> balances = PaymentStrategySimulator.simulateBalanceEachMonth(debtCases,
+                BigDecimal.valueOf(10), BigDecimal.valueOf(5));
+
+        Assertions.assertEquals(new BigDecimal("100.005"), balances.get(0));
+        assertSameBalances(debtCases, BigDecimal.valueOf(10), BigDecimal.valueOf(5));
+    }
+
+    @Test
+    void simulate_WhenDebtsArePaidOff_ShouldNotModifyInputBalances() {
+        long[] balanceCents = {3553, 3553};
+
+        PaymentSimulation simulation = PaymentStrategySimulator.simulate(balanceCents, new double[]{10.0, 10.0},
+                500, 200);
+
+        Assertions.assertTrue(simulation.isPaidOff());
+        Assertions.assertEquals(7106, simulation.getTotalBalanceCents(0));
+        Assertions.assertArrayEquals(new long[]{3553, 3553}, balanceCents);
+    }
+
+    private void assertSameBalances(List<DebtCase> debtCases, BigDecimal extraPayment, BigDecimal minimalPayment) {
+        List<BigDecimal> expected = BigDecimalPaymentStrategySimulator.simulate(debtCases, extraPayment,
+                minimalPayment);
+        List<BigDecimal> actual = PaymentStrategySimulator.simulateBalanceEachMonth(debtCases, extraPayment,
+                minimalPayment);
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(0, expected.get(i).compareTo(actual.get(i)),
+                    String.format("Month %d: expected %s but was %s", i, expected.get(i), actual.get(i)));
+        }
+    }
+
+    private DebtCase debtCase(BigDecimal amountOwed, double debtInterestRate) {
+        DebtCase debtCase = new DebtCase();
+        debtCase.setAmountOwed(amountOwed);
+        debtCase.setDebtInterestRate(debtInterestRate);
+        return debtCase;
+    }
+}
@@ -0,0 +1,80 @@
+package com.dm.debtease.simulation;
+
+import com.dm.debtease.model.DebtCase;
+import com.dm.debtease.model.PayoffProjection;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class PayoffProjectorTest {
+    @Test
+    void project_WhenDebtsArePaidOffWithinSimulationHorizon_ShouldMatchSimulation() {
+        Random random = new Random(7);
+        for (int run = 0; run < 200; run++) {
+            List<DebtCase> debtCases = new ArrayList<>();
+            int debtCount = 1 + random.nextInt(8);
+            for (int i = 0; i < debtCount; i++) {
+                debtCases.add(debtCase(BigDecimal.valueOf(10_000 + random.nextInt(1_000_000), 2),
+                        random.nextInt(3000) / 100.0));
+            }
+            BigDecimal extraPayment = BigDecimal.valueOf(20_000 + random.nextInt(50_000), 2);
+            BigDecimal minimalPayment = BigDecimal.valueOf(5_000 + random.nextInt(10_000), 2);
+            PaymentSimulation simulation = PaymentStrategySimulator.simulate(
+                    PaymentStrategySimulator.toBalanceCents(debtCases), PaymentStrategySimulator.toAnnualRates(debtCases),
+                    PaymentStrategySimulator.toCents(extraPayment), PaymentStrategySimulator.toCents(minimalPayment));
+            if (!simulation.isPaidOff()) {
+                continue;
+            }
+
+            PayoffProjection projection = PayoffProjector.project(debtCases, extraPayment, minimalPayment, 1200);
+
+            Assertions.assertNotNull(projection.getMonthsToPayoff());
+            Assertions.assertTrue(Math.abs(simulation.getMonthsToPayoff() - projection.getMonthsToPayoff()) <= 1,
+                    String.format("Run %d: simulated %d months but projected %d", run,
+                            simulation.getMonthsToPayoff(), projection.getMonthsToPayoff()));
+            BigDecimal interestDifference = BigDecimal.valueOf(simulation.getTotalInterestCents(), 2)
+                    .subtract(projection.getTotalInterest()).abs();
+            Assertions.assertTrue(interestDifference.compareTo(BigDecimal.valueOf(debtCount)) <= 0,
+                    String.format("Run %d: interest differs by %s", run, interestDifference));
+        }
+    }
+
+    @Test
+    void project_WhenPayoffTakesLongerThanSimulationHorizon_ShouldProjectBeyondIt() {
+        List<DebtCase> debtCases = List.of(debtCase(new BigDecimal("200000.00"), 6.0));
+
+        PayoffProjection projection = PayoffProjector.project(debtCases, new BigDecimal("1199.11"),
+                new BigDecimal("1199.11"), 1200);
+
+        Assertions.assertEquals(360, projection.getMonthsToPayoff());
+        Assertions.assertTrue(projection.getTotalInterest().compareTo(new BigDecimal("231670")) > 0
+                && projection.getTotalInterest().compareTo(new BigDecimal("231680")) < 0,
+                projection.getTotalInterest().toPlainString());
+        Assertions.assertEquals(2, projection.getBalanceSeries().size());
+    }
+
+    @Test
+    void project_WhenPaymentDoesNotCoverInterest_ShouldStopAtHorizonWithoutPayoff() {
+        List<DebtCase> debtCases = List.of(debtCase(new BigDecimal("10000.00"), 24.0),
+                debtCase(new BigDecimal("50.00"), 5.0));
+
+        PayoffProjection projection = PayoffProjector.project(debtCases, new BigDecimal("100"),
+                new BigDecimal("10"), 600);
+
+        Assertions.assertNull(projection.getMonthsToPayoff());
+        Assertions.assertEquals(600, projection.getBalanceSeries().get(projection.getBalanceSeries().size() - 1)
+                .getMonth());
+        Assertions.assertEquals(3, projection.getBalanceSeries().size());
+    }
+
+    private DebtCase debtCase(BigDecimal amountOwed, double debtInterestRate) {
+        DebtCase debtCase = new DebtCase();
+        debtCase.setAmountOwed(amountOwed);
+        debtCase.setDebtInterestRate(debtInterestRate);
+        return debtCase;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dm.debtease.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EmailTemplateTest {
+    @Test
+    void render_WhenPlaceholdersRepeat_ShouldSubstituteValuesByName() {
+        EmailTemplate template = EmailTemplate.compile("<p>{{name}} owes {{amount}}, {{ name }}!</p>",
+                "amount", "name");
+
+        String rendered = template.render("12.50", "Tadas");
+
+        Assertions.assertEquals("<p>Tadas owes 12.50, Tadas!</p>", rendered);
+    }
+
+    @Test
+    void compile_WhenPlaceholderIsUnknown_ShouldThrowIllegalArgumentException() {
+        IllegalArgumentException thrown = Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> EmailTemplate.compile("<p>{{missing}}</p>", "name"),
+                "Expected compile to throw, but it didn't"
+        );
+
+        Assertions.assertEquals("Unknown placeholder missing", thrown.getMessage());
+    }
+}